@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.plugin.AsyncC10NPlugin;
+import com.github.rodionmoiseev.c10n.plugin.AsyncPluginPolicy;
+import com.github.rodionmoiseev.c10n.plugin.InvocationRecord;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Queues invocation records for {@link AsyncC10NPlugin}s, and delivers them
+ * on the executor of the {@link AsyncPluginPolicy}.
+ *
+ * <p>The queue is non-blocking, bounded by a semaphore holding one permit per
+ * free queue slot. At most one delivery task is scheduled at a time,
+ * so records are delivered in the order they were queued.
+ *
+ * <p>Callers never wait when waiting could not end: records queued by
+ * plugins on the delivery thread itself are dropped when the queue is full,
+ * and queued records are dropped when the executor rejects the delivery task.
+ * Dropped records are counted.
+ *
+ * @author rodion
+ */
+final class AsyncPluginDispatcher {
+    private final Executor executor;
+    private final boolean blockOnOverflow;
+    private final Queue<Delivery> queue = new ConcurrentLinkedQueue<>();
+    private final Semaphore freeSlots;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    //thread currently delivering records, if any
+    private volatile Thread deliveryThread;
+    private final AtomicLong dropped = new AtomicLong();
+
+    AsyncPluginDispatcher(AsyncPluginPolicy policy) {
+        this.executor = policy.getExecutor();
+        this.blockOnOverflow = policy.getOverflow() == AsyncPluginPolicy.Overflow.BLOCK;
+        this.freeSlots = new Semaphore(policy.getCapacity());
+    }
+
+    /**
+     * <p>Queues the record for delivery to the given plugins, waiting for
+     * space in the queue or dropping the record, depending on the policy.
+     * A caller interrupted while waiting drops the record, and keeps its
+     * interrupt status.
+     */
+    void dispatch(AsyncC10NPlugin[] plugins, InvocationRecord record) {
+        if (!acquireSlot()) {
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.add(new Delivery(plugins, record));
+        schedule();
+    }
+
+    /**
+     * @return number of records dropped because the queue was full,
+     * or because they could not be delivered
+     */
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private boolean acquireSlot() {
+        //the delivery thread would wait for itself
+        if (!blockOnOverflow || Thread.currentThread() == deliveryThread) {
+            return freeSlots.tryAcquire();
+        }
+        try {
+            freeSlots.acquire();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void schedule() {
+        while (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+                return;
+            } catch (RejectedExecutionException e) {
+                //executor shut down, drop queued records to release waiting callers
+                while (null != queue.poll()) {
+                    freeSlots.release();
+                    dropped.incrementAndGet();
+                }
+                scheduled.set(false);
+                //records queued before the flag was cleared
+                if (queue.isEmpty()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void drain() {
+        deliveryThread = Thread.currentThread();
+        Delivery delivery;
+        while (null != (delivery = queue.poll())) {
+            freeSlots.release();
+            delivery.deliver();
+        }
+        deliveryThread = null;
+        scheduled.set(false);
+        //records queued after the last poll, but before the flag was cleared
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private static final class Delivery {
+        final AsyncC10NPlugin[] plugins;
+        final InvocationRecord record;
+
+        Delivery(AsyncC10NPlugin[] plugins, InvocationRecord record) {
+            this.plugins = plugins;
+            this.record = record;
+        }
+
+        void deliver() {
+            for (AsyncC10NPlugin plugin : plugins) {
+                try {
+                    plugin.observe(record);
+                } catch (Throwable e) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+        }
+    }
+}
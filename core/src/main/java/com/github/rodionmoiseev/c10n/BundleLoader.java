@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>Loads resource bundles of a configuration ahead of their first use,
+ * and selects the locale to render messages in according
+ * to the configured {@link BundleLoadingPolicy}.
+ *
+ * @author rodion
+ */
+final class BundleLoader {
+    private final ConfiguredC10NModule conf;
+    private final BundleLoadingPolicy policy;
+    private final ConcurrentMap<Locale, CompletableFuture<Void>> loads = new ConcurrentHashMap<>();
+
+    BundleLoader(ConfiguredC10NModule conf) {
+        this.conf = conf;
+        this.policy = conf.getBundleLoadingPolicy();
+    }
+
+    /**
+     * <p>Starts loading all bundles bound for the given locale,
+     * unless they are already loaded or being loaded.
+     *
+     * <p>A failed load is remembered, so that it is not resubmitted on
+     * every call. A load rejected by the executor is not remembered,
+     * and is retried on the next call.
+     *
+     * @param locale locale to load bundles for
+     * @param executor executor to load bundles on
+     * @return future completing once the bundles have been loaded
+     */
+    CompletableFuture<Void> load(Locale locale, Executor executor) {
+        CompletableFuture<Void> res = loads.get(locale);
+        if (null == res) {
+            CompletableFuture<Void> load = new CompletableFuture<>();
+            res = loads.putIfAbsent(locale, load);
+            if (null == res) {
+                res = load;
+                try {
+                    executor.execute(() -> {
+                        try {
+                            conf.getAllBundleBindings(locale);
+                            load.complete(null);
+                        } catch (Throwable e) {
+                            load.completeExceptionally(e);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    //allow loading to be retried
+                    loads.remove(locale, load);
+                    load.completeExceptionally(e);
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * <p>Starts loading bundles for the given locale, using the policy
+     * executor. If the policy is blocking, bundles are loaded by the calling
+     * thread, as bundle I/O should not tie up shared pools.
+     */
+    CompletableFuture<Void> load(Locale locale) {
+        Executor executor = policy.getExecutor();
+        return load(locale, null != executor ? executor : Runnable::run);
+    }
+
+    /**
+     * <p>Selects the locale messages should be rendered in, when
+     * the given locale is requested.
+     *
+     * @param locale requested locale
+     * @return the requested locale, or the fallback locale if the asynchronous
+     * policy is used and bundles for the requested locale are still loading.
+     * Once loading has failed or could not be started, the requested locale is
+     * returned, and the bundles are loaded by the calling thread.
+     */
+    Locale renderingLocale(Locale locale) {
+        if (!policy.isAsync() || null == locale || locale.equals(policy.getFallbackLocale())) {
+            return locale;
+        }
+        CompletableFuture<Void> load = load(locale, policy.getExecutor());
+        //done exceptionally: the calling thread loads the bundles itself, and sees the failure
+        return load.isDone() ? locale : policy.getFallbackLocale();
+    }
+}
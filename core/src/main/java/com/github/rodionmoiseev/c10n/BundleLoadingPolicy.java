@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.share.utils.Preconditions;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Policy deciding what happens when a message is requested in a locale
+ * whose resource bundles have not been loaded yet.
+ *
+ * <p>By default ({@link #blocking()}), bundles are loaded by the calling thread
+ * on first use. With {@link #fallbackWhileLoading(Executor)}, the first request
+ * in a new locale starts loading the bundles on the given executor, and messages
+ * are rendered in the fallback locale until loading completes:
+ * <pre><code>
+ *   setBundleLoadingPolicy(BundleLoadingPolicy.fallbackWhileLoading(executor));
+ * </code></pre>
+ *
+ * @author rodion
+ * @see C10NMsgFactory#loadLocaleAsync(Locale)
+ */
+public final class BundleLoadingPolicy {
+    private static final BundleLoadingPolicy BLOCKING = new BundleLoadingPolicy(null, null);
+
+    private final Executor executor;
+    private final Locale fallbackLocale;
+
+    private BundleLoadingPolicy(Executor executor, Locale fallbackLocale) {
+        this.executor = executor;
+        this.fallbackLocale = fallbackLocale;
+    }
+
+    /**
+     * <p>Bundles are loaded by the thread requesting the message (default).
+     *
+     * @return blocking loading policy
+     */
+    public static BundleLoadingPolicy blocking() {
+        return BLOCKING;
+    }
+
+    /**
+     * <p>Bundles are loaded on the given executor, while messages are rendered
+     * using {@link C10N#FALLBACK_LOCALE} translations.
+     *
+     * @param executor executor to load bundles on (not-null)
+     * @return asynchronous loading policy
+     */
+    public static BundleLoadingPolicy fallbackWhileLoading(Executor executor) {
+        return fallbackWhileLoading(executor, C10N.FALLBACK_LOCALE);
+    }
+
+    /**
+     * <p>Bundles are loaded on the given executor, while messages are rendered
+     * in the given fallback locale. Bundles for the fallback locale itself
+     * are loaded by the requesting thread.
+     *
+     * @param executor       executor to load bundles on (not-null)
+     * @param fallbackLocale locale to render messages in while loading (not-null)
+     * @return asynchronous loading policy
+     */
+    public static BundleLoadingPolicy fallbackWhileLoading(Executor executor, Locale fallbackLocale) {
+        Preconditions.assertNotNull(executor, "executor");
+        Preconditions.assertNotNull(fallbackLocale, "fallbackLocale");
+        return new BundleLoadingPolicy(executor, fallbackLocale);
+    }
+
+    boolean isAsync() {
+        return null != executor;
+    }
+
+    /**
+     * @return executor to load bundles on, or {@code null} for the blocking policy
+     */
+    Executor getExecutor() {
+        return executor;
+    }
+
+    Locale getFallbackLocale() {
+        return fallbackLocale;
+    }
+}
@@ -16,7 +16,13 @@
 
 package com.github.rodionmoiseev.c10n;
 
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static com.github.rodionmoiseev.c10n.share.utils.Preconditions.assertNotNull;
 
 /**
  * <p>
@@ -103,6 +109,72 @@ public final class C10N {
         return root.get(c10nInterface, locale);
     }
 
+    /**
+     * <p>Render one message for each of the given locales, using the root factory.
+     *
+     * @param c10nInterface c10n interface declaring the method (not null)
+     * @param locales       locales to render the message for (not null)
+     * @param call          function calling the c10n method to render (not null)
+     * @param <T>           c10n interface type
+     * @return rendered messages, in the same order as the given locales
+     * @see C10NMsgFactory#renderAll(Class, List, Function)
+     */
+    public static <T> String[] renderAll(Class<T> c10nInterface, List<Locale> locales, Function<? super T, ?> call) {
+        return root.renderAll(c10nInterface, locales, call);
+    }
+
+    /**
+     * <p>Load resource bundles for the given locale in the background, using the root factory.
+     *
+     * @param locale locale to load bundles for (not null)
+     * @return future completing once all bundles for the locale have been loaded
+     * @see C10NMsgFactory#loadLocaleAsync(Locale)
+     */
+    public static CompletableFuture<Void> loadLocaleAsync(Locale locale) {
+        return root.loadLocaleAsync(locale);
+    }
+
+    /**
+     * <p>Runs the given operation with the current locale set to the given locale.
+     *
+     * <p>The locale is visible to configurations using the default locale provider
+     * or {@link LocaleProviders#scoped()}. Bindings may be nested, in which case
+     * the innermost one applies.
+     *
+     * @param locale locale to bind (not null)
+     * @param op     operation to run (not null)
+     */
+    public static void withLocale(Locale locale, Runnable op) {
+        assertNotNull(op, "op");
+        try {
+            withLocale(locale, () -> {
+                op.run();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            //Runnable cannot throw checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * <p>Calls the given operation with the current locale set to the given locale.
+     *
+     * @param locale locale to bind (not null)
+     * @param op     operation to call (not null)
+     * @param <T>    operation result type
+     * @return result of the operation
+     * @throws Exception any exception thrown by the operation
+     * @see #withLocale(Locale, Runnable)
+     */
+    public static <T> T withLocale(Locale locale, Callable<T> op) throws Exception {
+        assertNotNull(locale, "locale");
+        assertNotNull(op, "op");
+        return ScopedLocale.call(locale, op);
+    }
+
     public static ConfiguredC10NModule configure(C10NConfigBase conf) {
         rootConfiguredModule = coreModule.resolve(conf);
         root = coreModule.defaultC10NMsgFactory(rootConfiguredModule);
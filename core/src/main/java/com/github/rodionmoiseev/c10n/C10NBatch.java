@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * <p>Renders the same c10n message for large numbers of argument tuples, for
+ * instance when generating reports or exports. Obtained from {@link C10NMsgFactory#batch(Class, java.util.Locale)}.
+ *
+ * <p>Sample usage:
+ * <pre>
+ *   C10NBatch&lt;Messages&gt; batch = factory.batch(Messages.class, Locale.JAPANESE);
+ *   Stream&lt;String&gt; lines = batch.render(orders.stream(), (m, order) -&gt; m.csvLine(order.id, order.total));
+ * </pre>
+ *
+ * <p>Templates, argument filters and compiled formatters are resolved
+ * once per method and reused for each of the rows. Rendering runs in parallel
+ * (using the fork/join split of the stream) when the given stream is parallel.
+ *
+ * @param <T> c10n interface type
+ * @author rodion
+ */
+public interface C10NBatch<T> {
+    /**
+     * <p>Lazily render each of the rows. The rendering function must call
+     * exactly one method on the given c10n interface instance per row, and
+     * should return its result as-is, since the call is only recorded.
+     *
+     * @param rows rows to render (not null)
+     * @param call function calling the c10n method with arguments taken from the row (not null)
+     * @param <R>  row type
+     * @return stream of rendered messages (<code>toString()</code> of the method return values),
+     * in the encounter order of the rows
+     */
+    <R> Stream<String> render(Stream<R> rows, BiFunction<? super T, ? super R, ?> call);
+
+    /**
+     * <p>Render each of the rows into the given buffer, appending the
+     * separator after each of the rendered messages.
+     *
+     * <p>If the stream of rows is parallel, each of the fork/join subtasks
+     * renders into its own buffer, and the buffers are appended to
+     * the output in the encounter order of the rows.
+     *
+     * @param out       buffer to render to (not null)
+     * @param separator separator to append after each message, e.g. a line break (not null)
+     * @param rows      rows to render (not null)
+     * @param call      function calling the c10n method with arguments taken from the row (not null)
+     * @param <R>       row type
+     * @return the given buffer
+     */
+    default <R> StringBuilder renderTo(StringBuilder out,
+                                       CharSequence separator,
+                                       Stream<R> rows,
+                                       BiFunction<? super T, ? super R, ?> call) {
+        Stream<String> rendered = render(rows, call);
+        if (rendered.isParallel()) {
+            StringBuilder parallelOut = rendered.collect(StringBuilder::new,
+                    (sb, msg) -> sb.append(msg).append(separator),
+                    StringBuilder::append);
+            return out.append(parallelOut);
+        }
+        rendered.forEachOrdered(msg -> out.append(msg).append(separator));
+        return out;
+    }
+}
@@ -16,21 +16,80 @@
 
 package com.github.rodionmoiseev.c10n;
 
+import com.github.rodionmoiseev.c10n.share.BundleFormat;
+import com.github.rodionmoiseev.c10n.share.BundleWatcher;
+import com.github.rodionmoiseev.c10n.share.utils.Preconditions;
+
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * <p>Binding of a resource bundle, or of a partitioned bundle. Bundles are consulted
+ * before catalogs and translation sources, see {@link C10NTranslationBinder}.
+ *
+ * @author rodion
+ */
 public class C10NBundleBinder {
     private final String charsetName;
+    private final BundleFormat format;
     private final List<Class<?>> boundInterfaces = new ArrayList<Class<?>>();
+    private BundleWatcher watcher = null;
+    private WatchedBundles watchedBundles = null;
 
     public C10NBundleBinder(String charsetName) {
+        this(charsetName, BundleFormat.PROPERTIES);
+    }
+
+    public C10NBundleBinder(String charsetName, BundleFormat format) {
         this.charsetName = charsetName;
+        this.format = format;
     }
 
     public String getCharsetName() {
         return charsetName;
     }
 
+    public BundleFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * <p>Reload the bundle when its files are modified, using the
+     * {@link BundleWatcher#shared()} watcher.
+     * <pre><code>
+     *   bindBundle("com.example.Messages").reloadable().to(Messages.class);
+     * </code></pre>
+     *
+     * @return this binder
+     */
+    public C10NBundleBinder reloadable() {
+        return reloadable(BundleWatcher.shared());
+    }
+
+    /**
+     * <p>Reload the bundle when the given watcher detects its files have been modified.
+     *
+     * @param watcher watcher tracking bundle files (not-null)
+     * @return this binder
+     */
+    public C10NBundleBinder reloadable(BundleWatcher watcher) {
+        Preconditions.assertNotNull(watcher, "watcher");
+        this.watcher = watcher;
+        this.watchedBundles = new WatchedBundles(watcher);
+        return this;
+    }
+
+    BundleWatcher getWatcher() {
+        return watcher;
+    }
+
+    /**
+     * @return bundles looked up through the watcher, or <code>null</code> if not reloadable
+     */
+    WatchedBundles getWatchedBundles() {
+        return watchedBundles;
+    }
+
     public void to(Class<?> c10nInterface) {
         boundInterfaces.add(c10nInterface);
     }
@@ -17,12 +17,20 @@
 package com.github.rodionmoiseev.c10n;
 
 import com.github.rodionmoiseev.c10n.formatters.MessageFormatter;
+import com.github.rodionmoiseev.c10n.plugin.AsyncC10NPlugin;
+import com.github.rodionmoiseev.c10n.plugin.AsyncPluginPolicy;
 import com.github.rodionmoiseev.c10n.plugin.C10NPlugin;
+import com.github.rodionmoiseev.c10n.share.BundleFormat;
 import com.github.rodionmoiseev.c10n.share.EncodedResourceControl;
+import com.github.rodionmoiseev.c10n.share.catalog.C10NCatalog;
+import com.github.rodionmoiseev.c10n.share.gettext.GettextCatalog;
+import com.github.rodionmoiseev.c10n.share.gettext.MoFile;
 import com.github.rodionmoiseev.c10n.share.utils.Preconditions;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.Map.Entry;
 
@@ -34,17 +42,24 @@ public abstract class C10NConfigBase {
     private ClassLoader proxyClassLoader = C10N.class.getClassLoader();
     private UntranslatedMessageHandler untranslatedMessageHandler = coreModule.defaultUnknownMessageHandler();
     private final Map<String, C10NBundleBinder> bundleBinders = new HashMap<String, C10NBundleBinder>();
+    private final Map<C10NCatalog, C10NTranslationBinder> catalogBinders = new LinkedHashMap<C10NCatalog, C10NTranslationBinder>();
+    private final Map<GettextCatalog, C10NTranslationBinder> gettextBinders = new LinkedHashMap<GettextCatalog, C10NTranslationBinder>();
+    private final Map<String, PartitionedBundle> partitionedBundles = new LinkedHashMap<String, PartitionedBundle>();
+    private final Map<TranslationSourceBinding, C10NTranslationBinder> sourceBinders = new LinkedHashMap<TranslationSourceBinding, C10NTranslationBinder>();
     private final Map<Class<?>, C10NImplementationBinder<?>> binders = new HashMap<Class<?>, C10NImplementationBinder<?>>();
     private final Map<Class<? extends Annotation>, C10NAnnotationBinder> annotationBinders = new HashMap<Class<? extends Annotation>, C10NAnnotationBinder>();
     private final List<C10NFilterBinder<?>> filterBinders = new ArrayList<C10NFilterBinder<?>>();
     private final List<C10NConfigBase> childConfigs = new ArrayList<C10NConfigBase>();
     private final List<C10NPlugin> plugins = new ArrayList<C10NPlugin>();
+    private final List<AsyncC10NPlugin> asyncPlugins = new ArrayList<AsyncC10NPlugin>();
+    private AsyncPluginPolicy asyncPluginPolicy = AsyncPluginPolicy.defaultPolicy();
     private String keyPrefix = "";
 
     private boolean debug = false;
 
     private boolean configured = false;
     private MessageFormatter formatter = new DefaultMessageFormatter();
+    private BundleLoadingPolicy bundleLoadingPolicy = BundleLoadingPolicy.blocking();
 
     /**
      * <p>To be implemented by subclasses of {@link C10NConfigBase}.
@@ -53,12 +68,20 @@ public abstract class C10NConfigBase {
      * <ul>
      * <li>{@link #bindAnnotation(Class)} - binds annotation that holds translation for a specific locale.</li>
      * <li>{@link #bindBundle(String)} - binds a resource bundle containing translated messages.</li>
+     * <li>{@link #bindJsonBundle(String)}, {@link #bindYamlBundle(String)} - bind resource bundles
+     * read from JSON or YAML files.</li>
+     * <li>{@link #bindCatalog(Path)} - binds a precompiled binary catalog containing translated messages.</li>
+     * <li>{@link #bindPartitionedBundle(String)} - binds a resource bundle split into per-package partitions.</li>
+     * <li>{@link #bindGettext(Path, String)} - binds GNU gettext <code>.mo</code> files.</li>
+     * <li>{@link #bindSource(TranslationSource)} - binds a custom source of translations.</li>
      * <li>{@link #install(C10NConfigBase)} - includes configuration from another c10n configuration module</li>
      * <li>{@link #bind(Class)} - binds a custom class as an implementation for the given c10n interface</li>
      * <li>{@link #setLocaleProvider(LocaleProvider)} - customises the locale retrieval logic</li>
      * <li>{@link #setUntranslatedMessageHandler(UntranslatedMessageHandler)} - customises the placeholder for
      * unresolved translation mappings</li>
      * <li>{@link #setKeyPrefix(String)} - sets global key prefix to auto-prepend to all bundle keys</li>
+     * <li>{@link #setBundleLoadingPolicy(BundleLoadingPolicy)} - loads bundles of new locales in the background</li>
+     * <li>{@link #installAsyncPlugin(AsyncC10NPlugin)} - installs a plugin observing invocations in the background</li>
      * </ul>
      */
     protected abstract void configure();
@@ -107,6 +130,39 @@ public abstract class C10NConfigBase {
         return plugins;
     }
 
+    /**
+     * <p>Registers an asynchronous C10N extension plugin to this configuration module.
+     * The plugin observes invocations on the executor set with
+     * {@link #setAsyncPluginPolicy(AsyncPluginPolicy)}.
+     *
+     * @param plugin plugin to install (not-null)
+     * @see AsyncC10NPlugin
+     */
+    protected void installAsyncPlugin(AsyncC10NPlugin plugin) {
+        Preconditions.assertNotNull(plugin, "plugin");
+        asyncPlugins.add(plugin);
+    }
+
+    /**
+     * <p>Set the policy for delivering invocation records to asynchronous plugins.
+     * Only the policy of the root configuration is used.
+     *
+     * @param policy asynchronous plugin policy (not null)
+     * @see AsyncPluginPolicy
+     */
+    protected void setAsyncPluginPolicy(AsyncPluginPolicy policy) {
+        Preconditions.assertNotNull(policy, "policy");
+        this.asyncPluginPolicy = policy;
+    }
+
+    List<AsyncC10NPlugin> getAsyncPlugins() {
+        return asyncPlugins;
+    }
+
+    AsyncPluginPolicy getAsyncPluginPolicy() {
+        return asyncPluginPolicy;
+    }
+
     /**
      * <p>Install the given child c10n configuration module
      *
@@ -162,8 +218,10 @@ public abstract class C10NConfigBase {
      * <p>Because locale provider has to be consulted on every translation request
      * {@link com.github.rodionmoiseev.c10n.LocaleProvider#getLocale()} should avoid any CPU intensive processing
      *
-     * <p>Default locale provider implementation always returns the same result as
-     * {@link java.util.Locale#getDefault()}
+     * <p>Default locale provider implementation returns the locale bound with
+     * {@link C10N#withLocale(Locale, Runnable)}, or the same result as
+     * {@link java.util.Locale#getDefault()} outside of such scopes
+     * (see {@link LocaleProviders#scoped()})
      *
      * @param localeProvider custom locale provider (not-null)
      */
@@ -337,6 +395,22 @@ public abstract class C10NConfigBase {
         return formatter;
     }
 
+    /**
+     * <p>Set the policy for loading resource bundles of locales that
+     * have not been used yet. Only the policy of the root configuration is used.
+     *
+     * @param policy bundle loading policy (not null)
+     * @see BundleLoadingPolicy
+     */
+    protected void setBundleLoadingPolicy(BundleLoadingPolicy policy) {
+        Preconditions.assertNotNull(policy, "policy");
+        this.bundleLoadingPolicy = policy;
+    }
+
+    BundleLoadingPolicy getBundleLoadingPolicy() {
+        return bundleLoadingPolicy;
+    }
+
     List<C10NFilterBinder<?>> getFilterBinders() {
         return filterBinders;
     }
@@ -369,24 +443,282 @@ public abstract class C10NConfigBase {
     }
 
     protected C10NBundleBinder bindBundle(String baseName, String charsetName) {
-        C10NBundleBinder binder = new C10NBundleBinder(charsetName);
+        return putBundleBinder(baseName, new C10NBundleBinder(charsetName));
+    }
+
+    /**
+     * <p>Binds a resource bundle split into per-package partitions, for very
+     * large sets of translations.
+     *
+     * <p>Translations for a c10n interface are read from the partition named after
+     * its package, or after the value of its class-level {@link C10NKey} annotation,
+     * if present. For example, with the <code>i18n.messages</code> base name,
+     * translations of <code>com.example.billing.Invoices</code> are read from
+     * <code>i18n/messages/com/example/billing_ja.properties</code>, while those of
+     * an interface annotated with <code>&#64;C10NKey("billing")</code> are read from
+     * <code>i18n/messages/billing_ja.properties</code>.
+     *
+     * <p>Each partition is only loaded when an interface mapped to it is first used.
+     * Interfaces without a partition file fall back to other bindings.
+     *
+     * @param baseName base name of the partition bundles (not-null)
+     * @return bundle binding DSL object
+     */
+    protected C10NBundleBinder bindPartitionedBundle(String baseName) {
+        Preconditions.assertNotNull(baseName, "baseName");
+        C10NBundleBinder binder = new C10NBundleBinder("UTF-8");
+        partitionedBundles.put(baseName, new PartitionedBundle(baseName, binder));
+        return binder;
+    }
+
+    /**
+     * <p>Binds a resource bundle read from <code>.json</code> files, e.g.
+     * <code>com/example/Messages_ja.json</code> for the <code>com.example.Messages</code>
+     * base name. Files are expected to be UTF-8 encoded.
+     *
+     * <p>Nested objects are flattened into dotted bundle keys, so
+     * <code>{"Messages": {"greeting": "Hello!"}}</code> defines the
+     * <code>Messages.greeting</code> key.
+     *
+     * @param baseName bundle base name (not-null)
+     * @return bundle binding DSL object
+     * @throws C10NConfigException if the base name is already bound in another format
+     * @see BundleFormat#JSON
+     */
+    protected C10NBundleBinder bindJsonBundle(String baseName) {
+        return bindBundle(baseName, "UTF-8", BundleFormat.JSON);
+    }
+
+    /**
+     * <p>Binds a resource bundle read from <code>.yaml</code> (or <code>.yml</code>) files.
+     * Files are expected to be UTF-8 encoded, and nested mappings are flattened
+     * into dotted bundle keys.
+     *
+     * @param baseName bundle base name (not-null)
+     * @return bundle binding DSL object
+     * @throws C10NConfigException if the base name is already bound in another format
+     * @see BundleFormat#YAML
+     */
+    protected C10NBundleBinder bindYamlBundle(String baseName) {
+        return bindBundle(baseName, "UTF-8", BundleFormat.YAML);
+    }
+
+    private C10NBundleBinder bindBundle(String baseName, String charsetName, BundleFormat format) {
+        Preconditions.assertNotNull(baseName, "baseName");
+        return putBundleBinder(baseName, new C10NBundleBinder(charsetName, format));
+    }
+
+    private C10NBundleBinder putBundleBinder(String baseName, C10NBundleBinder binder) {
+        C10NBundleBinder bound = bundleBinders.get(baseName);
+        //resource bundles are cached by base name, regardless of the file format
+        if (null != bound && bound.getFormat() != binder.getFormat()) {
+            throw new C10NConfigException("Bundle '" + baseName + "' is already bound in the " +
+                    bound.getFormat() + " format, and cannot also be bound in the " + binder.getFormat() +
+                    " format. Please use a different base name for each format.");
+        }
         bundleBinders.put(baseName, binder);
         return binder;
     }
 
-    List<ResourceBundle> getBundlesForLocale(Class<?> c10nInterface, Locale locale) {
-        List<ResourceBundle> res = new ArrayList<ResourceBundle>();
+    /**
+     * <p>Binds a binary translation catalog, created using
+     * {@link com.github.rodionmoiseev.c10n.share.catalog.C10NCatalogWriter}.
+     *
+     * <p>The catalog file is memory-mapped rather than parsed, so translations
+     * are only paged in when they are looked up, and the mapped pages are shared
+     * between all JVMs reading the same file.
+     *
+     * <p>Catalogs are consulted after bundles and partitioned bundles (see
+     * {@link C10NTranslationBinder} for the lookup order), and can be restricted to
+     * specific c10n interfaces in the same way:
+     * <pre><code>
+     *   bindCatalog(Paths.get("/opt/app/messages.c10n")).to(Messages.class);
+     * </code></pre>
+     *
+     * @param catalogFile path to the catalog file (not-null)
+     * @return catalog binding DSL object
+     * @throws C10NConfigException if the catalog file cannot be opened
+     */
+    protected C10NTranslationBinder bindCatalog(Path catalogFile) {
+        Preconditions.assertNotNull(catalogFile, "catalogFile");
+        C10NCatalog catalog;
+        try {
+            catalog = C10NCatalog.open(catalogFile);
+        } catch (IOException e) {
+            throw new C10NConfigException("Failed to open c10n catalog file: " + catalogFile, e);
+        }
+        C10NTranslationBinder binder = new C10NTranslationBinder();
+        catalogBinders.put(catalog, binder);
+        return binder;
+    }
+
+    /**
+     * <p>Binds GNU gettext <code>.mo</code> files of the given text domain, laid out
+     * as <code>&lt;localeDir&gt;/&lt;locale&gt;/LC_MESSAGES/&lt;domain&gt;.mo</code>.
+     * Message ids are expected to be c10n bundle keys.
+     *
+     * <p>The files are memory-mapped and looked up through the hash table embedded
+     * in them, so no parsing takes place. Gettext catalogs are consulted after bundles
+     * and binary catalogs, and can be restricted to specific c10n interfaces
+     * in the same way:
+     * <pre><code>
+     *   bindGettext(Paths.get("/opt/app/locale"), "messages").to(Messages.class);
+     * </code></pre>
+     *
+     * @param localeDir root directory of the locale tree (not-null)
+     * @param domain    text domain name (not-null)
+     * @return catalog binding DSL object
+     * @throws C10NConfigException if any of the <code>.mo</code> files cannot be opened
+     */
+    protected C10NTranslationBinder bindGettext(Path localeDir, String domain) {
+        Preconditions.assertNotNull(localeDir, "localeDir");
+        Preconditions.assertNotNull(domain, "domain");
+        try {
+            return bindGettext(GettextCatalog.open(localeDir, domain));
+        } catch (IOException e) {
+            throw new C10NConfigException("Failed to open gettext catalog '" + domain + "' in: " + localeDir, e);
+        }
+    }
+
+    /**
+     * <p>Binds a single GNU gettext <code>.mo</code> file, containing
+     * translations for the given locale.
+     *
+     * @param moFile path to the <code>.mo</code> file (not-null)
+     * @param locale locale of the translations (not-null)
+     * @return catalog binding DSL object
+     * @throws C10NConfigException if the file cannot be opened
+     * @see #bindGettext(Path, String)
+     */
+    protected C10NTranslationBinder bindGettext(Path moFile, Locale locale) {
+        Preconditions.assertNotNull(moFile, "moFile");
+        Preconditions.assertNotNull(locale, "locale");
+        try {
+            return bindGettext(GettextCatalog.of(Collections.singletonMap(locale, MoFile.open(moFile))));
+        } catch (IOException e) {
+            throw new C10NConfigException("Failed to open gettext .mo file: " + moFile, e);
+        }
+    }
+
+    private C10NTranslationBinder bindGettext(GettextCatalog catalog) {
+        C10NTranslationBinder binder = new C10NTranslationBinder();
+        gettextBinders.put(catalog, binder);
+        return binder;
+    }
+
+    /**
+     * <p>Binds a custom source of translations, such as a database or a key-value store.
+     *
+     * <p>Translations are fetched in bulk for each c10n interface, and cached until
+     * the source reports a change. Sources are consulted after all other bundles
+     * and catalogs, and can be restricted to specific c10n interfaces in the same way:
+     * <pre><code>
+     *   bindSource(new MyDatabaseSource(dataSource)).to(Messages.class);
+     * </code></pre>
+     *
+     * @param source translation source (not-null)
+     * @return source binding DSL object
+     * @see TranslationSource
+     */
+    protected C10NTranslationBinder bindSource(TranslationSource source) {
+        Preconditions.assertNotNull(source, "source");
+        C10NTranslationBinder binder = new C10NTranslationBinder();
+        sourceBinders.put(new TranslationSourceBinding(source), binder);
+        return binder;
+    }
+
+    /**
+     * <p>Resolves the bundle bindings applying to the given c10n interface.
+     *
+     * @return sources of the bound bundles, in lookup order
+     */
+    List<BundleSource> getBundleSources(Class<?> c10nInterface, String keyPrefix) {
+        List<BundleSource> res = new ArrayList<BundleSource>();
         for (Entry<String, C10NBundleBinder> entry : bundleBinders.entrySet()) {
             C10NBundleBinder binder = entry.getValue();
-            if (binder.getBoundInterfaces().isEmpty()
-                    || binder.getBoundInterfaces().contains(c10nInterface)) {
-                res.add(ResourceBundle.getBundle(entry.getKey(), locale,
-                        new EncodedResourceControl(binder.getCharsetName())));
+            if (isBoundTo(binder.getBoundInterfaces(), c10nInterface)) {
+                String baseName = entry.getKey();
+                res.add(locale -> bundleFor(baseName, locale, binder));
             }
         }
+        for (PartitionedBundle partitioned : partitionedBundles.values()) {
+            if (isBoundTo(partitioned.getBinder().getBoundInterfaces(), c10nInterface)) {
+                res.add(locale -> partitioned.getBundle(c10nInterface, locale));
+            }
+        }
+        for (Entry<C10NCatalog, C10NTranslationBinder> entry : catalogBinders.entrySet()) {
+            if (isBoundTo(entry.getValue().getBoundInterfaces(), c10nInterface)) {
+                res.add(entry.getKey()::getBundle);
+            }
+        }
+        for (Entry<GettextCatalog, C10NTranslationBinder> entry : gettextBinders.entrySet()) {
+            if (isBoundTo(entry.getValue().getBoundInterfaces(), c10nInterface)) {
+                res.add(entry.getKey()::getBundle);
+            }
+        }
+        for (Entry<TranslationSourceBinding, C10NTranslationBinder> entry : sourceBinders.entrySet()) {
+            if (isBoundTo(entry.getValue().getBoundInterfaces(), c10nInterface)) {
+                TranslationSourceBinding source = entry.getKey();
+                res.add(locale -> source.getBundle(c10nInterface, locale, keyPrefix));
+            }
+        }
+        return res;
+    }
+
+    List<ResourceBundle> getAllBundlesForLocale(Locale locale) {
+        List<ResourceBundle> res = new ArrayList<ResourceBundle>();
+        for (Entry<String, C10NBundleBinder> entry : bundleBinders.entrySet()) {
+            res.add(bundleFor(entry.getKey(), locale, entry.getValue()));
+        }
+        for (PartitionedBundle partitioned : partitionedBundles.values()) {
+            //only partitions already in use, other partitions are loaded on first use
+            res.addAll(partitioned.getUsedBundles(locale));
+        }
+        for (C10NCatalog catalog : catalogBinders.keySet()) {
+            res.add(catalog.getBundle(locale));
+        }
+        for (GettextCatalog catalog : gettextBinders.keySet()) {
+            res.add(catalog.getBundle(locale));
+        }
+        for (TranslationSourceBinding source : sourceBinders.keySet()) {
+            res.add(source.loadAll(locale));
+        }
         return res;
     }
 
+    private static ResourceBundle bundleFor(String baseName, Locale locale, C10NBundleBinder binder) {
+        WatchedBundles watched = binder.getWatchedBundles();
+        if (null == watched) {
+            return ResourceBundle.getBundle(baseName, locale, controlFor(binder));
+        }
+        ResourceBundle bundle = watched.get(baseName, locale, controlFor(binder));
+        if (null == bundle) {
+            throw new MissingResourceException("Can't find bundle for base name " + baseName
+                    + ", locale " + locale, baseName + "_" + locale, "");
+        }
+        return bundle;
+    }
+
+    /*
+     * Bundle of one binding, looked up on each call so that
+     * bundle caching, reloading and partitioning work as configured
+     */
+    interface BundleSource {
+        /**
+         * @return the bundle for the given locale, or <code>null</code> if there is none
+         */
+        ResourceBundle bundleFor(Locale locale);
+    }
+
+    static ResourceBundle.Control controlFor(C10NBundleBinder binder) {
+        return new EncodedResourceControl(binder.getCharsetName(), binder.getWatcher(), binder.getFormat());
+    }
+
+    private static boolean isBoundTo(List<Class<?>> boundInterfaces, Class<?> c10nInterface) {
+        return boundInterfaces.isEmpty()
+                || boundInterfaces.contains(c10nInterface);
+    }
+
     /**
      * For each annotation bound in this configuration find all
      * locales it has been bound to.
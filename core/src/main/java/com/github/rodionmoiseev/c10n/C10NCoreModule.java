@@ -27,7 +27,7 @@ import java.util.Set;
  * @author rodion
  */
 public class C10NCoreModule {
-    private static final LocaleProvider defaultLocaleProvider = new DefaultLocaleProvider();
+    private static final LocaleProvider defaultLocaleProvider = LocaleProviders.scoped();
     private static final UntranslatedMessageHandler defaultUnknownMessageHandler = new DefaultUntranslatedMessageHandler();
     //DI
     private final ShareModule shareModule = new ShareModule();
@@ -47,8 +47,8 @@ public class C10NCoreModule {
     }
 
     /**
-     * <p>Locale provider that always delegates to
-     * {@link java.util.Locale#getDefault()}.
+     * <p>Locale provider that delegates to {@link java.util.Locale#getDefault()},
+     * unless a locale is bound with {@link C10N#withLocale(Locale, Runnable)}.
      * <p>The value may be changed by calling {@link Locale#setDefault(java.util.Locale)}
      *
      * @return current locale
@@ -61,13 +61,6 @@ public class C10NCoreModule {
         return defaultUnknownMessageHandler;
     }
 
-    private static final class DefaultLocaleProvider implements LocaleProvider {
-        @Override
-        public Locale getLocale() {
-            return Locale.getDefault();
-        }
-    }
-
     private static final class UnconfiguredC10NConfig extends C10NConfigBase {
         @Override
         protected void configure() {
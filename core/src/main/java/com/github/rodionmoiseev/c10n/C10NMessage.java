@@ -18,11 +18,13 @@ package com.github.rodionmoiseev.c10n;
 
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class C10NMessage {
     private final Locale currentLocale;
-    private final String currentLocaleMessage;
     private final Map<Locale, String> messages;
+    private volatile Supplier<String> currentLocaleMessageSupplier;
+    private String currentLocaleMessage;
 
     public C10NMessage(Locale currentLocale, String currentLocaleMessage, Map<Locale, String> messages) {
         this.currentLocale = currentLocale;
@@ -30,6 +32,17 @@ public class C10NMessage {
         this.messages = messages;
     }
 
+    /**
+     * Creates a message rendering the current locale translation
+     * on first call to {@link #get()}. Translations in {@code messages}
+     * are expected to be rendered on demand too.
+     */
+    C10NMessage(Locale currentLocale, Supplier<String> currentLocaleMessage, Map<Locale, String> messages) {
+        this.currentLocale = currentLocale;
+        this.currentLocaleMessageSupplier = currentLocaleMessage;
+        this.messages = messages;
+    }
+
     /**
      * Retrieves the translation matching the current user locale.
      * The value would be equivalent to the value returned
@@ -38,6 +51,16 @@ public class C10NMessage {
      * @return translation matching the current user locale, or {@code null} if none is present
      */
     public String get() {
+        //supplier is cleared (volatile write) after the message is stored
+        if (null != currentLocaleMessageSupplier) {
+            synchronized (this) {
+                Supplier<String> supplier = currentLocaleMessageSupplier;
+                if (null != supplier) {
+                    currentLocaleMessage = supplier.get();
+                    currentLocaleMessageSupplier = null;
+                }
+            }
+        }
         return currentLocaleMessage;
     }
 
@@ -69,6 +92,8 @@ public class C10NMessage {
      * All translation mappings for this method as a map.
      * <p>
      * <em>Note:</em> Map is not cloned, so modify at own risk.
+     * Maps of messages created by c10n are read-only, and render
+     * each translation the first time it is looked up.
      *
      * @return translation mapping
      */
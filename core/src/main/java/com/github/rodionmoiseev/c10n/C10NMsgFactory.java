@@ -16,10 +16,86 @@
 
 package com.github.rodionmoiseev.c10n;
 
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface C10NMsgFactory {
     <T> T get(Class<T> c10nInterface);
 
     <T> T get(Class<T> c10nInterface, Locale locale);
+
+    /**
+     * <p>Load resource bundles for the given locale in the background, on the
+     * executor of the {@link BundleLoadingPolicy}. With the blocking policy, bundles
+     * are loaded by the calling thread, and the returned future is already complete.
+     * Can be used to make sure a locale is ready before it is offered to users:
+     * <pre>
+     *   factory.loadLocaleAsync(Locale.JAPANESE).join();
+     * </pre>
+     *
+     * @param locale locale to load bundles for (not null)
+     * @return future completing once all bundles for the locale have been loaded
+     * @see BundleLoadingPolicy
+     */
+    default CompletableFuture<Void> loadLocaleAsync(Locale locale) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * <p>Render one message for each of the given locales.
+     *
+     * <pre>
+     *   String[] notifications = factory.renderAll(Messages.class,
+     *       List.of(Locale.ENGLISH, Locale.JAPANESE),
+     *       m -&gt; m.orderShipped(orderId));
+     * </pre>
+     *
+     * <p>The rendering function must call exactly one method on the given
+     * c10n interface instance. The call is recorded once and then rendered for
+     * each locale, sharing method metadata and argument filtering. The function
+     * should return the result of the call as-is, since it is invoked on a
+     * recording instance whose methods return <code>null</code>.
+     *
+     * @param c10nInterface c10n interface declaring the method (not null)
+     * @param locales       locales to render the message for (not null)
+     * @param call          function calling the c10n method to render (not null)
+     * @param <T>           c10n interface type
+     * @return rendered messages (<code>toString()</code> of the method return values),
+     * in the same order as the given locales
+     */
+    default <T> String[] renderAll(Class<T> c10nInterface, List<Locale> locales, Function<? super T, ?> call) {
+        String[] res = new String[locales.size()];
+        int i = 0;
+        for (Locale locale : locales) {
+            Object value = call.apply(get(c10nInterface, locale));
+            res[i++] = null != value ? value.toString() : null;
+        }
+        return res;
+    }
+
+    /**
+     * <p>Create a renderer for rendering the same message for many argument tuples.
+     *
+     * @param c10nInterface c10n interface declaring the methods to render (not null)
+     * @param locale        locale to render messages in (not null)
+     * @param <T>           c10n interface type
+     * @return batch renderer (not null)
+     * @see C10NBatch
+     */
+    default <T> C10NBatch<T> batch(Class<T> c10nInterface, Locale locale) {
+        T msg = get(c10nInterface, locale);
+        return new C10NBatch<T>() {
+            @Override
+            public <R> Stream<String> render(Stream<R> rows, BiFunction<? super T, ? super R, ?> call) {
+                return rows.map(row -> {
+                    Object value = call.apply(msg, row);
+                    return null != value ? value.toString() : null;
+                });
+            }
+        };
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Binding of a binary catalog, gettext catalog or translation source.
+ * Unlike bundles, these are not read through {@link java.util.ResourceBundle},
+ * so only the set of interfaces they apply to can be configured.
+ *
+ * <p>Within one configuration, bindings are consulted in a fixed order,
+ * regardless of the order they were declared in: bundles
+ * ({@link C10NConfigBase#bindBundle(String)} and the JSON/YAML variants),
+ * partitioned bundles, binary catalogs, gettext catalogs, and finally
+ * translation sources.
+ *
+ * @author rodion
+ */
+public class C10NTranslationBinder {
+    private final List<Class<?>> boundInterfaces = new ArrayList<Class<?>>();
+
+    /**
+     * <p>Restricts the binding to the given c10n interface. Can be called
+     * multiple times to bind more interfaces. If never called, the
+     * binding applies to all interfaces.
+     *
+     * @param c10nInterface c10n interface to bind to
+     */
+    public void to(Class<?> c10nInterface) {
+        boundInterfaces.add(c10nInterface);
+    }
+
+    List<Class<?>> getBoundInterfaces() {
+        return boundInterfaces;
+    }
+}
@@ -17,6 +17,8 @@
 package com.github.rodionmoiseev.c10n;
 
 import com.github.rodionmoiseev.c10n.formatters.MessageFormatter;
+import com.github.rodionmoiseev.c10n.plugin.AsyncC10NPlugin;
+import com.github.rodionmoiseev.c10n.plugin.AsyncPluginPolicy;
 import com.github.rodionmoiseev.c10n.plugin.C10NPlugin;
 
 import java.lang.annotation.Annotation;
@@ -37,6 +39,17 @@ public interface ConfiguredC10NModule {
 
     List<ResourceBundle> getBundleBindings(Class<?> c10nInterface, Locale locale);
 
+    /**
+     * <p>Loads all bundles bound for the given locale, irrespective of
+     * the c10n interfaces they are bound to.
+     *
+     * @param locale locale to load bundles for
+     * @return all bundles for the given locale
+     */
+    List<ResourceBundle> getAllBundleBindings(Locale locale);
+
+    BundleLoadingPolicy getBundleLoadingPolicy();
+
     String getUntranslatedMessageString(Class<?> c10nInterface, Method method, Object[] methodArgs);
 
     Map<AnnotatedClass, C10NFilterProvider<?>> getFilterBindings(Class<?> c10nInterface);
@@ -49,6 +62,10 @@ public interface ConfiguredC10NModule {
 
     List<C10NPlugin> getPlugins();
 
+    List<AsyncC10NPlugin> getAsyncPlugins();
+
+    AsyncPluginPolicy getAsyncPluginPolicy();
+
     MessageFormatter getMessageFormatter();
 
     ClassLoader getProxyClassLoader();
@@ -16,39 +16,49 @@
 
 package com.github.rodionmoiseev.c10n;
 
+import com.github.rodionmoiseev.c10n.formatters.CompiledMessage;
 import com.github.rodionmoiseev.c10n.formatters.MessageFormatter;
+import com.github.rodionmoiseev.c10n.plugin.AsyncC10NPlugin;
 import com.github.rodionmoiseev.c10n.plugin.C10NPlugin;
+import com.github.rodionmoiseev.c10n.plugin.InvocationRecord;
 import com.github.rodionmoiseev.c10n.plugin.PluginResult;
+import com.github.rodionmoiseev.c10n.share.catalog.C10NCatalog;
 import com.github.rodionmoiseev.c10n.share.Constants;
 import com.github.rodionmoiseev.c10n.share.LocaleMapping;
 import com.github.rodionmoiseev.c10n.share.utils.ReflectionUtils;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.CharBuffer;
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static com.github.rodionmoiseev.c10n.share.utils.Preconditions.assertNotNull;
 
 class DefaultC10NMsgFactory implements InternalC10NMsgFactory {
     private final ConfiguredC10NModule conf;
     private final LocaleMapping localeMapping;
+    private final BundleLoader bundleLoader;
+    //null if there are no asynchronous plugins
+    private final AsyncPluginDispatcher asyncPluginDispatcher;
+    private volatile LocaleIndex localeIndex = null;
 
     DefaultC10NMsgFactory(ConfiguredC10NModule conf, LocaleMapping localeMapping) {
         this.conf = conf;
         this.localeMapping = localeMapping;
+        this.bundleLoader = new BundleLoader(conf);
+        this.asyncPluginDispatcher = conf.getAsyncPlugins().isEmpty()
+                ? null : new AsyncPluginDispatcher(conf.getAsyncPluginPolicy());
     }
 
     @Override
@@ -73,12 +83,244 @@ class DefaultC10NMsgFactory implements InternalC10NMsgFactory {
                         delegatingValue,
                         conf,
                         localeProvider,
-                        localeMapping,
                         c10nInterface));
     }
 
+    @Override
+    public CompletableFuture<Void> loadLocaleAsync(Locale locale) {
+        assertNotNull(locale, "locale");
+        return bundleLoader.load(locale);
+    }
+
+    @Override
+    public <T> String[] renderAll(Class<T> c10nInterface, List<Locale> locales, Function<? super T, ?> call) {
+        assertNotNull(c10nInterface, "c10nInterface");
+        assertNotNull(locales, "locales");
+        assertNotNull(call, "call");
+        RecordingHandler recorder = new RecordingHandler();
+        call.apply(c10nInterface.cast(Proxy.newProxyInstance(conf.getProxyClassLoader(),
+                new Class<?>[]{c10nInterface},
+                recorder)));
+        if (null == recorder.method) {
+            throw new IllegalArgumentException("The rendering function did not call any of the "
+                    + c10nInterface.getSimpleName() + " methods.");
+        }
+
+        C10NInvocationHandler handler = C10NInvocationHandler.create(this,
+                null,
+                conf,
+                conf::getCurrentLocale,
+                c10nInterface);
+        Object proxy = Proxy.newProxyInstance(conf.getProxyClassLoader(),
+                new Class<?>[]{c10nInterface},
+                handler);
+        try {
+            return handler.renderAll(proxy, recorder.method, recorder.args, locales);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new C10NException("Failed to render " + recorder.method.getName() + " for locales " + locales, e);
+        }
+    }
+
+    @Override
+    public <T> C10NBatch<T> batch(Class<T> c10nInterface, Locale locale) {
+        assertNotNull(c10nInterface, "c10nInterface");
+        assertNotNull(locale, "locale");
+        C10NInvocationHandler handler = C10NInvocationHandler.create(this,
+                null,
+                conf,
+                LocaleProviders.fixed(locale),
+                c10nInterface);
+        Object proxy = Proxy.newProxyInstance(conf.getProxyClassLoader(),
+                new Class<?>[]{c10nInterface},
+                handler);
+        return new DefaultC10NBatch<>(c10nInterface, locale, handler, proxy);
+    }
+
+    /**
+     * <p>Get the locale index of this factory, making sure it
+     * contains all of the given locales. The index is seeded with all
+     * locales bound in the configuration, and only grows if locales
+     * outside of the configuration are encountered.
+     *
+     * @param locales locales required to be in the index
+     * @return locale index containing all of the given locales
+     */
+    private LocaleIndex localeIndex(Collection<Locale> locales) {
+        LocaleIndex index = localeIndex;
+        if (null == index || index.extend(locales) != index) {
+            synchronized (this) {
+                index = localeIndex;
+                if (null == index) {
+                    Set<Locale> seed = new HashSet<>(conf.getAllBoundLocales());
+                    seed.add(C10N.FALLBACK_LOCALE);
+                    index = LocaleIndex.create(localeMapping, seed);
+                }
+                index = index.extend(locales);
+                localeIndex = index;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * <p>Per-method data, resolved when the proxy is created
+     */
+    private static final class MethodMetadata {
+        final String bundleKey;
+        //translations declared in annotations indexed by locale id
+        final C10NString[] translations;
+        //filters to apply to each of the arguments (null if none)
+        final C10NFilterProvider<Object>[] argFilters;
+        //plugins applicable to the method, in installation order
+        final C10NPlugin[] plugins;
+        //asynchronous plugins observing the method, in installation order
+        final AsyncC10NPlugin[] asyncPlugins;
+
+        MethodMetadata(String bundleKey,
+                       C10NString[] translations,
+                       C10NFilterProvider<Object>[] argFilters,
+                       C10NPlugin[] plugins,
+                       AsyncC10NPlugin[] asyncPlugins) {
+            this.bundleKey = bundleKey;
+            this.translations = translations;
+            this.argFilters = argFilters;
+            this.plugins = plugins;
+            this.asyncPlugins = asyncPlugins;
+        }
+
+        /**
+         * @return {@code true} if any plugins need the rendered message
+         */
+        boolean hasPlugins() {
+            return plugins.length > 0 || asyncPlugins.length > 0;
+        }
+    }
+
+    /**
+     * <p>Method arguments of a single invocation. Filtered arguments are
+     * computed on first use, and shared between all messages formatted
+     * for the invocation (e.g. for each of the locales of {@link C10NMessage}).
+     * <p>Lazy {@link C10NMessage} instances may compute filtered arguments from
+     * any thread, hence the field is volatile.
+     */
+    private static final class InvocationArgs {
+        final Object[] args;
+        volatile Object[] filteredArgs = null;
+
+        InvocationArgs(Object[] args) {
+            this.args = args;
+        }
+    }
+
+    /**
+     * <p>A message prepared for rendering with different sets of arguments
+     */
+    private interface PreparedMessage {
+        String render(Object[] args) throws Throwable;
+    }
+
+    private final class DefaultC10NBatch<T> implements C10NBatch<T> {
+        private final Class<T> c10nInterface;
+        private final Locale locale;
+        private final C10NInvocationHandler handler;
+        private final Object proxy;
+        //compiled messages are not necessarily thread-safe, so each worker renders
+        //one row at a time. Idle workers are held by the batch, not by thread-locals,
+        //so that nothing is left behind on the (common pool) threads rendering the rows
+        private final Queue<BatchWorker> idleWorkers = new ConcurrentLinkedQueue<>();
+
+        DefaultC10NBatch(Class<T> c10nInterface, Locale locale, C10NInvocationHandler handler, Object proxy) {
+            this.c10nInterface = c10nInterface;
+            this.locale = locale;
+            this.handler = handler;
+            this.proxy = proxy;
+        }
+
+        @Override
+        public <R> Stream<String> render(Stream<R> rows, BiFunction<? super T, ? super R, ?> call) {
+            assertNotNull(rows, "rows");
+            assertNotNull(call, "call");
+            return rows.map(row -> {
+                BatchWorker worker = idleWorkers.poll();
+                if (null == worker) {
+                    worker = new BatchWorker();
+                }
+                try {
+                    return worker.render(row, call);
+                } finally {
+                    idleWorkers.offer(worker);
+                }
+            });
+        }
+
+        private final class BatchWorker {
+            private final RecordingHandler recorder = new RecordingHandler();
+            private final T recordingProxy = c10nInterface.cast(Proxy.newProxyInstance(conf.getProxyClassLoader(),
+                    new Class<?>[]{c10nInterface},
+                    recorder));
+            private final Map<Method, PreparedMessage> prepared = new HashMap<>();
+
+            <R> String render(R row, BiFunction<? super T, ? super R, ?> call) {
+                recorder.reset();
+                call.apply(recordingProxy, row);
+                Method method = recorder.method;
+                if (null == method) {
+                    throw new IllegalArgumentException("The rendering function did not call any of the "
+                            + c10nInterface.getSimpleName() + " methods.");
+                }
+                PreparedMessage message = prepared.get(method);
+                if (null == message) {
+                    message = handler.prepare(proxy, method, locale);
+                    prepared.put(method, message);
+                }
+                try {
+                    return message.render(recorder.args);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new C10NException("Failed to render " + method.getName() + " for row " + row, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Captures the single c10n method call made by a rendering function
+     */
+    private static final class RecordingHandler implements InvocationHandler {
+        Method method = null;
+        Object[] args = null;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (null != this.method) {
+                throw new IllegalArgumentException("Only one c10n method may be called by the rendering function, " +
+                        "but both " + this.method.getName() + " and " + method.getName() + " were called.");
+            }
+            this.method = method;
+            this.args = args;
+            return defaultValue(method.getReturnType());
+        }
+
+        void reset() {
+            this.method = null;
+            this.args = null;
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (!type.isPrimitive() || void.class.equals(type)) {
+                return null;
+            }
+            return java.lang.reflect.Array.get(java.lang.reflect.Array.newInstance(type, 1), 0);
+        }
+    }
+
     private static final class C10NString {
-        final String text;
+        //null for plain (non-resource) translations
+        private final TextResource resource;
+        private volatile String text;
         final boolean raw;
 
         public static C10NString def(String text) {
@@ -86,55 +328,80 @@ class DefaultC10NMsgFactory implements InternalC10NMsgFactory {
         }
 
         private C10NString(String text, boolean raw) {
+            this.resource = null;
             this.text = text;
             this.raw = raw;
         }
+
+        private C10NString(TextResource resource, boolean raw) {
+            this.resource = resource;
+            this.raw = raw;
+        }
+
+        String text() {
+            String res = text;
+            if (null == res) {
+                //read on first use, then kept for the lifetime of the proxy
+                res = resource.text();
+                text = res;
+            }
+            return res;
+        }
+
+        Reader openReader() {
+            String res = text;
+            return null != res ? new StringReader(res) : resource.openReader();
+        }
     }
 
     private static final class C10NInvocationHandler implements
             InvocationHandler {
         private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+        private static final C10NString[] NO_TRANSLATIONS = new C10NString[0];
+        private static final C10NPlugin[] NO_PLUGINS = new C10NPlugin[0];
+        private static final AsyncC10NPlugin[] NO_ASYNC_PLUGINS = new AsyncC10NPlugin[0];
         private final InternalC10NMsgFactory c10nFactory;
         private final String delegatingValue;
         private final ConfiguredC10NModule conf;
         private final LocaleProvider localeProvider;
-        private final LocaleMapping localeMapping;
+        private final LocaleIndex localeIndex;
         private final Class<?> proxiedClass;
-        private final Map<String, Map<Locale, C10NString>> translationsByMethod;
-        //private final Set<Locale> availableLocales;
-        private final Set<Locale> availableImplLocales;
-        private final Map<AnnotatedClass, C10NFilterProvider<?>> filters;
-        private final Map<Method, String> bundleKeys;
+        private final Map<Method, MethodMetadata> methods;
+        //implementation bindings indexed by locale id, or null if there are none
+        private final Class<?>[] implBindings;
         private final MessageFormatter formatter;
+        private final BundleLoader bundleLoader;
+        private final AsyncPluginDispatcher asyncPluginDispatcher;
 
         C10NInvocationHandler(InternalC10NMsgFactory c10nFactory,
                               String delegatingValue,
                               ConfiguredC10NModule conf,
                               LocaleProvider localeProvider,
-                              LocaleMapping localeMapping,
+                              LocaleIndex localeIndex,
                               Class<?> proxiedClass,
-                              Map<String, Map<Locale, C10NString>> translationsByMethod,
-                              Map<Method, String> bundleKeys) {
+                              Map<Method, MethodMetadata> methods,
+                              Class<?>[] implBindings,
+                              BundleLoader bundleLoader,
+                              AsyncPluginDispatcher asyncPluginDispatcher) {
             this.c10nFactory = c10nFactory;
             this.delegatingValue = delegatingValue;
             this.conf = conf;
             this.localeProvider = localeProvider;
-            this.localeMapping = localeMapping;
+            this.localeIndex = localeIndex;
             this.proxiedClass = proxiedClass;
-            this.translationsByMethod = translationsByMethod;
-            this.availableImplLocales = conf.getImplementationBindings(proxiedClass);
-            this.filters = conf.getFilterBindings(proxiedClass);
-            this.bundleKeys = bundleKeys;
+            this.methods = methods;
+            this.implBindings = implBindings;
             this.formatter = conf.getMessageFormatter();
+            this.bundleLoader = bundleLoader;
+            this.asyncPluginDispatcher = asyncPluginDispatcher;
         }
 
-        static C10NInvocationHandler create(InternalC10NMsgFactory c10nFactory,
+        static C10NInvocationHandler create(DefaultC10NMsgFactory c10nFactory,
                                             String delegatingValue,
                                             ConfiguredC10NModule conf,
                                             LocaleProvider localeProvider,
-                                            LocaleMapping localeMapping,
                                             Class<?> c10nInterface) {
-            Map<String, Map<Locale, C10NString>> translationsByMethod = new HashMap<>();
+            Map<Method, Map<Locale, C10NString>> translationsByMethod = new HashMap<>();
             Map<Method, String> bundleKeys = new HashMap<>();
 
             //Translations defined in @C10NDef annotation are
@@ -144,7 +411,7 @@ class DefaultC10NMsgFactory implements InternalC10NMsgFactory {
                 if (null != c10nDef) {
                     Map<Locale, C10NString> defMapping = new HashMap<>();
                     defMapping.put(C10N.FALLBACK_LOCALE, C10NString.def(c10nDef.value()));
-                    translationsByMethod.put(m.toString(), defMapping);
+                    translationsByMethod.put(m, defMapping);
                 }
                 String key = ReflectionUtils.getC10NKey(conf.getKeyPrefix(), m);
                 if (conf.isDebug()) {
@@ -155,18 +422,20 @@ class DefaultC10NMsgFactory implements InternalC10NMsgFactory {
             }
 
             // Process custom bound annotations
+            Set<Locale> usedLocales = new HashSet<>();
             for (Entry<Class<? extends Annotation>, Set<Locale>> entry : conf
                     .getAnnotationBindings(c10nInterface).entrySet()) {
                 Class<? extends Annotation> annotationClass = entry.getKey();
+                usedLocales.addAll(entry.getValue());
                 for (Method m : c10nInterface.getMethods()) {
                     Annotation a = m.getAnnotation(annotationClass);
                     if (null != a) {
                         try {
                             C10NString translation = getAnnotationValue(c10nInterface, annotationClass, a);
-                            Map<Locale, C10NString> translationsByLocale = translationsByMethod.get(m.toString());
+                            Map<Locale, C10NString> translationsByLocale = translationsByMethod.get(m);
                             if (null == translationsByLocale) {
                                 translationsByLocale = new HashMap<>();
-                                translationsByMethod.put(m.toString(), translationsByLocale);
+                                translationsByMethod.put(m, translationsByLocale);
                             }
                             for (Locale locale : entry.getValue()) {
                                 translationsByLocale.put(locale, translation);
@@ -186,14 +455,48 @@ class DefaultC10NMsgFactory implements InternalC10NMsgFactory {
                 }
             }
 
+            Map<AnnotatedClass, C10NFilterProvider<?>> filters = conf.getFilterBindings(c10nInterface);
+            Set<Locale> implLocales = conf.getImplementationBindings(c10nInterface);
+            usedLocales.addAll(implLocales);
+            LocaleIndex localeIndex = c10nFactory.localeIndex(usedLocales);
+
+            List<C10NPlugin> plugins = conf.getPlugins();
+            List<AsyncC10NPlugin> asyncPlugins = conf.getAsyncPlugins();
+            Map<Method, MethodMetadata> methods = new HashMap<>();
+            for (Entry<Method, String> entry : bundleKeys.entrySet()) {
+                Map<Locale, C10NString> translationsByLocale = translationsByMethod.get(entry.getKey());
+                C10NString[] translations = NO_TRANSLATIONS;
+                if (null != translationsByLocale) {
+                    translations = new C10NString[localeIndex.size()];
+                    for (Entry<Locale, C10NString> tr : translationsByLocale.entrySet()) {
+                        translations[localeIndex.idOf(tr.getKey())] = tr.getValue();
+                    }
+                }
+                methods.put(entry.getKey(), new MethodMetadata(entry.getValue(),
+                        translations,
+                        findArgFilters(entry.getKey(), filters),
+                        findPlugins(c10nInterface, entry.getKey(), plugins),
+                        findAsyncPlugins(c10nInterface, entry.getKey(), asyncPlugins)));
+            }
+
+            Class<?>[] implBindings = null;
+            if (!implLocales.isEmpty()) {
+                implBindings = new Class<?>[localeIndex.size()];
+                for (Locale locale : implLocales) {
+                    implBindings[localeIndex.idOf(locale)] = conf.getImplementationBinding(c10nInterface, locale);
+                }
+            }
+
             return new C10NInvocationHandler(c10nFactory,
                     delegatingValue,
                     conf,
                     localeProvider,
-                    localeMapping,
+                    localeIndex,
                     c10nInterface,
-                    translationsByMethod,
-                    bundleKeys);
+                    methods,
+                    implBindings,
+                    c10nFactory.bundleLoader,
+                    c10nFactory.asyncPluginDispatcher);
         }
 
         private static C10NString getAnnotationValue(Class<?> c10nInterface,
@@ -211,13 +514,35 @@ class DefaultC10NMsgFactory implements InternalC10NMsgFactory {
                                 c10nInterface.getCanonicalName() +
                                 " class does not have any of 'value' or 'extRes' or 'intRes' specified.");
                     }
-                    return new C10NString(readTextFromInternalResource(replaceSystemProps(String.valueOf(intRes))), raw);
+                    return new C10NString(TextResource.internal(c10nInterface, String.valueOf(intRes)), raw);
                 }
-                return new C10NString(readTextFromUrl(replaceSystemProps(String.valueOf(extRes))), raw);
+                return new C10NString(TextResource.external(c10nInterface, String.valueOf(extRes)), raw);
             }
             return new C10NString(String.valueOf(valueTranslation), raw);
         }
 
+        private static C10NPlugin[] findPlugins(Class<?> c10nInterface, Method method, List<C10NPlugin> plugins) {
+            List<C10NPlugin> res = new ArrayList<>(plugins.size());
+            for (C10NPlugin plugin : plugins) {
+                if (plugin.appliesTo(c10nInterface, method)) {
+                    res.add(plugin);
+                }
+            }
+            return res.toArray(NO_PLUGINS);
+        }
+
+        private static AsyncC10NPlugin[] findAsyncPlugins(Class<?> c10nInterface,
+                                                          Method method,
+                                                          List<AsyncC10NPlugin> plugins) {
+            List<AsyncC10NPlugin> res = new ArrayList<>(plugins.size());
+            for (AsyncC10NPlugin plugin : plugins) {
+                if (plugin.appliesTo(c10nInterface, method)) {
+                    res.add(plugin);
+                }
+            }
+            return res.toArray(NO_ASYNC_PLUGINS);
+        }
+
         @SuppressWarnings("unchecked")
         private static <R> R extractAnnotationValue(Class<? extends Annotation> annotationClass, String method,
                                                     Annotation annotation, R defaultValue) {
@@ -233,87 +558,112 @@ class DefaultC10NMsgFactory implements InternalC10NMsgFactory {
             }
         }
 
-        private static String replaceSystemProps(String string) {
-            if (null == string) {
-                return null;
-            }
-            String res = string;
-            Pattern p = Pattern.compile("\\$\\{.*?\\}");
-            Matcher m = p.matcher(string);
-            while (m.find()) {
-                String prop = string.substring(m.start() + 2, m.end() - 1);
-                String propValue = System.getProperty(prop);
-                if (propValue != null) {
-                    res = res.replace("${" + prop + "}", propValue);
-                }
+        @Override
+        public Object invoke(Object proxy, final Method method, final Object[] args) throws Throwable {
+            Locale locale = bundleLoader.renderingLocale(localeProvider.getLocale());
+            return invoke(proxy, method, new InvocationArgs(args), locale);
+        }
+
+        /**
+         * <p>Render the given method invocation for each of the locales.
+         * Method metadata and filtered arguments are shared between all locales.
+         *
+         * @return rendered values, in the same order as the locales
+         */
+        String[] renderAll(Object proxy, Method method, Object[] args, List<Locale> locales) throws Throwable {
+            InvocationArgs invocationArgs = new InvocationArgs(args);
+            String[] res = new String[locales.size()];
+            int i = 0;
+            for (Locale locale : locales) {
+                Object value = invoke(proxy, method, invocationArgs, locale);
+                res[i++] = null != value ? value.toString() : null;
             }
             return res;
         }
 
-        private static String readTextFromUrl(String urlString) {
-            try {
-                URL url = new URL(urlString);
-                InputStream is = null;
-                try {
-                    try {
-                        is = url.openStream();
-                        return readTextFromInputStream(is);
-                    } finally {
-                        if (is != null) {
-                            is.close();
-                        }
-                    }
-                } catch (IOException e) {
-                    throw new RuntimeException("Failed to read text data from URL: " + urlString, e);
+        /**
+         * <p>Prepare the method for rendering many times in the given locale.
+         * The template is resolved and compiled once. Methods that require the
+         * full invocation logic (plugins, implementation bindings, non-string
+         * return types) are rendered through the regular invocation path.
+         */
+        PreparedMessage prepare(Object proxy, Method method, Locale locale) {
+            MethodMetadata mt = methods.get(method);
+            boolean hasImplBinding = null != implBindings && localeIndex.findClosestMatch(implBindings, locale) >= 0;
+            if (null == mt
+                    || hasImplBinding
+                    || mt.hasPlugins()
+                    || !method.getReturnType().isAssignableFrom(String.class)) {
+                return args -> {
+                    Object value = invoke(proxy, method, new InvocationArgs(args), locale);
+                    return null != value ? value.toString() : null;
+                };
+            }
+
+            C10NString template = null;
+            CompiledMessage compiled = null;
+            for (ResourceBundle bundle : conf.getBundleBindings(proxiedClass, locale)) {
+                if (bundle.containsKey(mt.bundleKey)) {
+                    compiled = precompiled(bundle, mt.bundleKey);
+                    template = C10NString.def(bundle.getString(mt.bundleKey));
+                    break;
                 }
-            } catch (MalformedURLException e) {
-                throw new RuntimeException("Could not interpret external resource URL: " + urlString, e);
             }
+            if (null == template) {
+                template = findTranslationFromAnnotations(method, locale);
+            }
+            if (null == template) {
+                return args -> conf.getUntranslatedMessageString(proxiedClass, method, args);
+            }
+            if (template.raw) {
+                //Raw messages accept no parameters
+                String text = template.text();
+                return args -> text;
+            }
+            if (null == compiled) {
+                compiled = formatter.compile(method, template.text(), locale);
+            }
+            CompiledMessage message = compiled;
+            C10NFilterProvider<Object>[] argFilters = mt.argFilters;
+            if (argFilters.length == 0) {
+                return message::format;
+            }
+            return args -> message.format(applyArgFilters(argFilters, args));
         }
 
-        private static String readTextFromInternalResource(String path) {
-            InputStream is = null;
-            try {
-                try {
-                    is = C10N.class.getClassLoader().getResourceAsStream(path);
-                    if (null == is) {
-                        throw new RuntimeException("Internal resource: " + path + " does not exist");
-                    }
-                    return readTextFromInputStream(is);
-                } finally {
-                    if (null != is) {
-                        is.close();
-                    }
+        private Object invoke(Object proxy, Method method, InvocationArgs args, Locale currentLocale) throws Throwable {
+            C10NPlugin[] plugins = getPlugins(method);
+            AsyncC10NPlugin[] asyncPlugins = getAsyncPlugins(method);
+            boolean render = plugins.length > 0 || asyncPlugins.length > 0;
+            InvocationDetails invocationDetails = null;
+            for (C10NPlugin plugin : plugins) {
+                if (null == invocationDetails) {
+                    invocationDetails = new InvocationDetails(proxy, proxiedClass, method, args.args);
                 }
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to read text data from internal resource: " + path, e);
-            }
-        }
-
-        private static String readTextFromInputStream(InputStream is) throws IOException {
-            BufferedReader br = new BufferedReader(new InputStreamReader(is, "UTF8"), 1024 * 8);
-            CharBuffer buf = CharBuffer.allocate(64);
-            int read;
-            do {
-                read = br.read(buf);
-                if (read == 0 && !buf.hasRemaining()) {
-                    CharBuffer newBuf = CharBuffer.allocate(buf.capacity() * 2);
-                    buf.flip();
-                    newBuf.put(buf);
-                    buf = newBuf;
+                PluginResult early = plugin.beforeResolve(invocationDetails);
+                if (null != early) {
+                    //the plugin asks to skip message resolution altogether
+                    return early.getValue();
                 }
-            } while (read != -1);
-
-            buf.flip();
-            return buf.toString();
-        }
-
-        @Override
-        public Object invoke(Object proxy, final Method method, final Object[] args) throws Throwable {
-            Locale currentLocale = localeProvider.getLocale();
-            String stringValue = getStringValue(method, args, currentLocale);
-            PluginResult result = PluginResult.passOn(translate(method, args, stringValue, currentLocale));
-            for (C10NPlugin plugin : conf.getPlugins()) {
+            }
+            String stringValue;
+            Object value;
+            if (C10NMessage.class.equals(method.getReturnType())) {
+                C10NMessage message = message(method, args, currentLocale);
+                //plugins receive the current locale translation, so only render it if there are any
+                stringValue = render ? message.get() : null;
+                value = message;
+            } else if (Reader.class.equals(method.getReturnType())) {
+                Reader reader = reader(method, args, currentLocale);
+                //plugins receive the current locale translation, so only read it if there are any
+                stringValue = render && null != reader ? readFully(reader) : null;
+                value = null != stringValue ? new StringReader(stringValue) : reader;
+            } else {
+                stringValue = getStringValue(method, args, currentLocale);
+                value = translate(method, args, stringValue, currentLocale);
+            }
+            PluginResult result = PluginResult.passOn(value);
+            for (C10NPlugin plugin : plugins) {
                 if (result.isInterrupt()) {
                     //The last execution requests that
                     //no further plugin processing should take
@@ -324,7 +674,7 @@ class DefaultC10NMsgFactory implements InternalC10NMsgFactory {
                 PluginResult pluginResult = plugin.format(
                         stringValue,
                         result.getValue(),
-                        new InvocationDetails(proxy, proxiedClass, method, args));
+                        new InvocationDetails(proxy, proxiedClass, method, args.args));
                 if (null == pluginResult) {
                     //ignore the execution of this plugin
                     continue;
@@ -332,32 +682,80 @@ class DefaultC10NMsgFactory implements InternalC10NMsgFactory {
 
                 result = pluginResult;
             }
+            if (asyncPlugins.length > 0) {
+                asyncPluginDispatcher.dispatch(asyncPlugins, new InvocationRecord(proxiedClass,
+                        method, args.args, currentLocale, stringValue, System.currentTimeMillis()));
+            }
             return result.getValue();
         }
 
+        /**
+         * <p>Creates a message for a method returning {@link C10NMessage}.
+         * Translations are only rendered when (and if) requested.
+         */
+        private C10NMessage message(Method method, InvocationArgs args, Locale currentLocale) {
+            C10NString[] translations = getTranslations(method);
+            int currentLocaleId = localeIndex.findClosestMatch(translations, currentLocale);
+            Locale actualCurrentLocale = currentLocaleId >= 0 ? localeIndex.localeOf(currentLocaleId) : null;
+            return new C10NMessage(actualCurrentLocale,
+                    () -> getStringValue(method, args, currentLocale),
+                    new LazyMessageMap(localeIndex, translations, locale -> getStringValue(method, args, locale)));
+        }
+
+        /**
+         * <p>Creates a reader for a method returning {@link Reader}.
+         * Raw resource translations are streamed without being read in full.
+         */
+        private Reader reader(Method method, InvocationArgs args, Locale locale) {
+            MethodMetadata mt = methods.get(method);
+            if (null == mt || !hasBundleTranslation(mt.bundleKey, locale)) {
+                C10NString res = findTranslationFromAnnotations(method, locale);
+                if (null != res && res.raw) {
+                    return res.openReader();
+                }
+            }
+            String value = getStringValue(method, args, locale);
+            return null != value ? new StringReader(value) : null;
+        }
+
+        private boolean hasBundleTranslation(String key, Locale locale) {
+            for (ResourceBundle bundle : conf.getBundleBindings(proxiedClass, locale)) {
+                if (bundle.containsKey(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String readFully(Reader reader) throws IOException {
+            try (Reader r = reader) {
+                StringBuilder sb = new StringBuilder();
+                char[] buf = new char[8 * 1024];
+                int read;
+                while ((read = r.read(buf)) != -1) {
+                    sb.append(buf, 0, read);
+                }
+                return sb.toString();
+            }
+        }
+
         private Object translate(Method method,
-                                 Object[] args,
+                                 InvocationArgs args,
                                  String stringValue,
                                  Locale currentLocale) throws Throwable {
             Class<?> returnType = method.getReturnType();
-            if (C10NMessage.class.equals(returnType)) {
-                Map<Locale, String> msgs = new HashMap<>();
-                Set<Locale> declaredLocales = translationsByMethod.get(method.toString()).keySet();
-                for (Locale locale : declaredLocales) {
-                    msgs.put(locale, getStringValue(method, args, locale));
+            Class<?> binding = null;
+            if (null != implBindings) {
+                int implLocaleId = localeIndex.findClosestMatch(implBindings, currentLocale);
+                if (implLocaleId >= 0) {
+                    binding = implBindings[implLocaleId];
                 }
-                Locale actualCurrentLocale = localeMapping.findClosestMatch(declaredLocales, currentLocale);
-                return new C10NMessage(actualCurrentLocale, getStringValue(method, args, currentLocale), msgs);
             }
-
-            Locale implLocale = localeMapping.findClosestMatch(availableImplLocales, currentLocale);
-
-            Class<?> binding = conf.getImplementationBinding(proxiedClass, implLocale);
             if (null != binding) {
                 // user specified binding exists
                 // simply delegate the call to the binding
                 Object instance = binding.newInstance();
-                return method.invoke(instance, args);
+                return method.invoke(instance, args.args);
             }
 
 
@@ -378,82 +776,136 @@ class DefaultC10NMsgFactory implements InternalC10NMsgFactory {
                     (args == null || args.length == 0);
         }
 
-        private String getStringValue(Method method, Object[] args, Locale locale) {
-            List<ResourceBundle> bundles = conf.getBundleBindings(proxiedClass, locale);
-            for (ResourceBundle bundle : bundles) {
-                String key = bundleKeys.get(method);
-                if (null != key) {
+        private String getStringValue(Method method, InvocationArgs args, Locale locale) {
+            MethodMetadata mt = methods.get(method);
+            if (null != mt) {
+                String key = mt.bundleKey;
+                List<ResourceBundle> bundles = conf.getBundleBindings(proxiedClass, locale);
+                for (ResourceBundle bundle : bundles) {
                     if (bundle.containsKey(key)) {
+                        CompiledMessage compiled = precompiled(bundle, key);
+                        if (null != compiled) {
+                            return compiled.format(null != args.args && args.args.length > 0
+                                    ? filterArgs(method, args) : args.args);
+                        }
                         return format(bundle.getString(key), method, locale, args);
                     }
-                }//else: should never happen!
+                }
             }
 
             C10NString res = findTranslationFromAnnotations(method, locale);
             if (null == res) {
-                if (delegatingValue != null && isObjectToString(method, args)) {
+                if (delegatingValue != null && isObjectToString(method, args.args)) {
                     return delegatingValue;
                 }
-                return conf.getUntranslatedMessageString(proxiedClass, method, args);
+                return conf.getUntranslatedMessageString(proxiedClass, method, args.args);
             }
             return format(res, method, locale, args);
         }
 
+        /**
+         * <p>Template pre-parsed at build time (binary catalogs), only
+         * usable with the default {@link java.text.MessageFormat} formatter.
+         */
+        private CompiledMessage precompiled(ResourceBundle bundle, String key) {
+            return formatter instanceof DefaultMessageFormatter ? C10NCatalog.getCompiledMessage(bundle, key) : null;
+        }
+
         private C10NString findTranslationFromAnnotations(Method method, Locale locale) {
-            Map<Locale, C10NString> translationsByLocale = translationsByMethod.get(method.toString());
-            if (null != translationsByLocale) {
-                return translationsByLocale.get(localeMapping.findClosestMatch(translationsByLocale.keySet(), locale));
-            }
-            return null;
+            C10NString[] translations = getTranslations(method);
+            int id = localeIndex.findClosestMatch(translations, locale);
+            return id >= 0 ? translations[id] : null;
+        }
+
+        private C10NPlugin[] getPlugins(Method method) {
+            MethodMetadata mt = methods.get(method);
+            //methods without metadata (e.g. Object methods) are passed to all plugins
+            return null != mt ? mt.plugins : conf.getPlugins().toArray(NO_PLUGINS);
+        }
+
+        private AsyncC10NPlugin[] getAsyncPlugins(Method method) {
+            MethodMetadata mt = methods.get(method);
+            return null != mt ? mt.asyncPlugins : conf.getAsyncPlugins().toArray(NO_ASYNC_PLUGINS);
+        }
+
+        private C10NString[] getTranslations(Method method) {
+            MethodMetadata mt = methods.get(method);
+            return null != mt ? mt.translations : NO_TRANSLATIONS;
         }
 
-        private String format(C10NString message, Method method, Locale locale, Object... args) {
-            return format(message.text, message.raw, method, locale, args);
+        private String format(C10NString message, Method method, Locale locale, InvocationArgs args) {
+            return format(message.text(), message.raw, method, locale, args);
         }
 
-        private String format(String message, Method method, Locale locale, Object... args) {
+        private String format(String message, Method method, Locale locale, InvocationArgs args) {
             return format(message, false, method, locale, args);
         }
 
-        private String format(String message, boolean raw, Method method, Locale locale, Object... args) {
+        private String format(String message, boolean raw, Method method, Locale locale, InvocationArgs args) {
             if (raw) {
                 //Raw messages accept no parameters
                 return message;
             }
 
+            if (args.args != null && args.args.length > 0) {
+                return formatter.format(method, message, locale, filterArgs(method, args));
+            }
+            return formatter.format(method, message, locale, args.args);
+        }
+
+        private Object[] filterArgs(Method method, InvocationArgs args) {
+            if (null == args.filteredArgs) {
+                args.filteredArgs = applyArgFilters(methods.get(method).argFilters, args.args);
+            }
+            return args.filteredArgs;
+        }
+
+        private static Object[] applyArgFilters(C10NFilterProvider<Object>[] argFilters, Object[] args) {
+            Object[] filteredArgs = new Object[args.length];
+            for (int i = 0; i < filteredArgs.length; i++) {
+                C10NFilterProvider<Object> filter = argFilters[i];
+                filteredArgs[i] = null != filter ? filter.get().apply(args[i]) : args[i];
+            }
+            return filteredArgs;
+        }
+
+        /*
+         * Filters only depend on the declared parameter types and
+         * annotations, so they can be resolved once per method
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static C10NFilterProvider<Object>[] findArgFilters(Method method,
+                                                                   Map<AnnotatedClass, C10NFilterProvider<?>> filters) {
             Annotation[][] argAnnotations = method.getParameterAnnotations();
             Class<?>[] argTypes = method.getParameterTypes();
-            if (args != null && args.length > 0) {
-                Object[] filteredArgs = new Object[args.length];
-                for (int i = 0; i < args.length; i++) {
-                    Annotation[] annotations = argAnnotations != null ? argAnnotations[i] : NO_ANNOTATIONS;
-                    filteredArgs[i] = applyArgFilterIfExists(annotations, argTypes[i], args[i]);
-                }
-                return formatter.format(method, message, locale, filteredArgs);
+            C10NFilterProvider<Object>[] res = new C10NFilterProvider[argTypes.length];
+            for (int i = 0; i < argTypes.length; i++) {
+                Annotation[] annotations = argAnnotations != null ? argAnnotations[i] : NO_ANNOTATIONS;
+                res[i] = findArgFilter(annotations, argTypes[i], filters);
             }
-            return formatter.format(method, message, locale, args);
+            return res;
         }
 
-        private Object applyArgFilterIfExists(Annotation[] annotations, Class<?> argType, Object arg) {
+        private static C10NFilterProvider<Object> findArgFilter(Annotation[] annotations,
+                                                                Class<?> argType,
+                                                                Map<AnnotatedClass, C10NFilterProvider<?>> filters) {
             //1. Look for first filter matching any of the annotations
             for (Annotation annotation : annotations) {
-                C10NFilterProvider<Object> filter = findFilterFor(argType, annotation.annotationType());
+                C10NFilterProvider<Object> filter = findFilterFor(argType, annotation.annotationType(), filters);
                 if (null != filter) {
                     //filter found, look no further
-                    return filter.get().apply(arg);
+                    return filter;
                 }
             }
             //2. Try annotation-less filter binding
-            C10NFilterProvider<Object> filter = findFilterFor(argType, null);
-            if (null != filter) {
-                return filter.get().apply(arg);
-            }
-            //3. No filter found, return argument as-is
-            return arg;
+            //3. No filter found (null), argument is used as-is
+            return findFilterFor(argType, null, filters);
         }
 
         @SuppressWarnings("unchecked")
-        private C10NFilterProvider<Object> findFilterFor(Class<?> argType, Class<? extends Annotation> annotationClass) {
+        private static C10NFilterProvider<Object> findFilterFor(Class<?> argType,
+                                                                Class<? extends Annotation> annotationClass,
+                                                                Map<AnnotatedClass, C10NFilterProvider<?>> filters) {
             return (C10NFilterProvider<Object>) filters
                     .get(new AnnotatedClass(argType, annotationClass));
         }
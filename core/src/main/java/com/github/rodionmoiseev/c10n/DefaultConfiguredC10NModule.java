@@ -17,6 +17,8 @@
 package com.github.rodionmoiseev.c10n;
 
 import com.github.rodionmoiseev.c10n.formatters.MessageFormatter;
+import com.github.rodionmoiseev.c10n.plugin.AsyncC10NPlugin;
+import com.github.rodionmoiseev.c10n.plugin.AsyncPluginPolicy;
 import com.github.rodionmoiseev.c10n.plugin.C10NPlugin;
 
 import java.lang.annotation.Annotation;
@@ -24,15 +26,57 @@ import java.lang.reflect.Method;
 import java.util.*;
 
 /**
+ * <p>Immutable snapshot of a c10n configuration (and all of its installed
+ * child configurations), taken right after the configuration has been configured.
+ *
+ * <p>Configuration-wide settings are resolved up front, and per-interface bindings
+ * (including which bundle bindings apply) are resolved once, on first use of each
+ * interface. Resource bundles themselves are still looked up on each call, so that
+ * bundle caching, reloading and partitioning work as configured.
+ *
+ * <p>Resolved bindings are copied out of the configuration, so changes made to
+ * the configuration after an interface is first used are not reflected.
+ *
  * @author rodion
  */
 class DefaultConfiguredC10NModule implements ConfiguredC10NModule {
     private final C10NConfigBase parentConfig;
-    private final ConfigChainResolver configResolver;
+    private final List<C10NConfigBase> allConfigs;
+    private final List<C10NPlugin> plugins;
+    private final List<AsyncC10NPlugin> asyncPlugins;
+    private final AsyncPluginPolicy asyncPluginPolicy;
+    private final String keyPrefix;
+    private final boolean debug;
+    private final MessageFormatter messageFormatter;
+    private final ClassLoader proxyClassLoader;
+    private final BundleLoadingPolicy bundleLoadingPolicy;
+    private final ClassValue<InterfaceBindings> interfaceBindings;
+    //resolved on first use, as unconfigured c10n reports an error on access to annotation bindings
+    private volatile Set<Locale> allBoundLocales = null;
 
     DefaultConfiguredC10NModule(C10NConfigBase parentConfig, ConfigChainResolver configResolver) {
         this.parentConfig = parentConfig;
-        this.configResolver = configResolver;
+        this.allConfigs = Collections.unmodifiableList(traverseConfigs(parentConfig));
+        List<C10NPlugin> plugins = new ArrayList<C10NPlugin>();
+        List<AsyncC10NPlugin> asyncPlugins = new ArrayList<AsyncC10NPlugin>();
+        for (C10NConfigBase config : allConfigs) {
+            plugins.addAll(config.getPlugins());
+            asyncPlugins.addAll(config.getAsyncPlugins());
+        }
+        this.plugins = Collections.unmodifiableList(plugins);
+        this.asyncPlugins = Collections.unmodifiableList(asyncPlugins);
+        this.asyncPluginPolicy = parentConfig.getAsyncPluginPolicy();
+        this.keyPrefix = parentConfig.getKeyPrefix();
+        this.debug = parentConfig.isDebug();
+        this.messageFormatter = parentConfig.getMessageFormatter();
+        this.proxyClassLoader = parentConfig.getProxyClassLoader();
+        this.bundleLoadingPolicy = parentConfig.getBundleLoadingPolicy();
+        this.interfaceBindings = new ClassValue<InterfaceBindings>() {
+            @Override
+            protected InterfaceBindings computeValue(Class<?> c10nInterface) {
+                return new InterfaceBindings(c10nInterface, configResolver.resolve(c10nInterface), keyPrefix);
+            }
+        };
     }
 
     @Override
@@ -42,69 +86,50 @@ class DefaultConfiguredC10NModule implements ConfiguredC10NModule {
 
     @Override
     public Map<Class<? extends Annotation>, Set<Locale>> getAnnotationBindings(Class<?> c10nInterface) {
-        Map<Class<? extends Annotation>, Set<Locale>> res = new HashMap<Class<? extends Annotation>, Set<Locale>>();
-        List<C10NConfigBase> configChain = configResolver.resolve(c10nInterface);
-        Collections.reverse(configChain);
-        for (C10NConfigBase config : configChain) {
-            //config chain is reversed (parent -> .. -> child) to
-            //make sure child configurations overwrite parent ones
-            //to take precedence
-            res.putAll(config.getAnnotationToLocaleMapping());
-        }
-        return res;
+        return interfaceBindings.get(c10nInterface).annotationBindings;
     }
 
     @Override
     public Set<Locale> getImplementationBindings(Class<?> c10nInterface) {
-        Set<Locale> res = new HashSet<Locale>();
-        List<C10NConfigBase> configChain = configResolver.resolve(c10nInterface);
-        for (C10NConfigBase config : configChain) {
-            res.addAll(config.getImplLocales(c10nInterface));
-        }
-        return res;
+        return interfaceBindings.get(c10nInterface).implementationBindings.keySet();
     }
 
     @Override
     public Class<?> getImplementationBinding(Class<?> c10nInterface, Locale locale) {
-        List<C10NConfigBase> configChain = configResolver.resolve(c10nInterface);
-        for (C10NConfigBase config : configChain) {
-            Class<?> impl = config.getBindingForLocale(c10nInterface, locale);
-            if (null != impl) {
-                return impl;
-            }
-        }
-        return null;
+        return interfaceBindings.get(c10nInterface).implementationBindings.get(locale);
     }
 
     @Override
     public List<ResourceBundle> getBundleBindings(Class<?> c10nInterface, Locale locale) {
         List<ResourceBundle> res = new ArrayList<ResourceBundle>();
-        List<C10NConfigBase> configChain = configResolver.resolve(c10nInterface);
-        for (C10NConfigBase config : configChain) {
-            res.addAll(config.getBundlesForLocale(c10nInterface, locale));
+        for (C10NConfigBase.BundleSource source : interfaceBindings.get(c10nInterface).bundleSources) {
+            ResourceBundle bundle = source.bundleFor(locale);
+            if (null != bundle) {
+                res.add(bundle);
+            }
         }
         return res;
     }
 
     @Override
-    public Map<AnnotatedClass, C10NFilterProvider<?>> getFilterBindings(Class<?> c10nInterface) {
-        List<C10NConfigBase> configChain = configResolver.resolve(c10nInterface);
-        Map<AnnotatedClass, C10NFilterProvider<?>> res = new HashMap<AnnotatedClass, C10NFilterProvider<?>>();
-        Collections.reverse(configChain);
-        for (C10NConfigBase config : configChain) {
-            for (C10NConfigBase.C10NFilterBinder<?> filterBinder : config.getFilterBinders()) {
-                if (filterBinder.getAnnotatedWith().isEmpty()) {
-                    res.put(new AnnotatedClass(filterBinder.getType(), null), filterBinder.getFilterProvider());
-                } else {
-                    for (Class<? extends Annotation> annotation : filterBinder.getAnnotatedWith()) {
-                        res.put(new AnnotatedClass(filterBinder.getType(), annotation), filterBinder.getFilterProvider());
-                    }
-                }
-            }
+    public List<ResourceBundle> getAllBundleBindings(Locale locale) {
+        List<ResourceBundle> res = new ArrayList<ResourceBundle>();
+        for (C10NConfigBase config : allConfigs) {
+            res.addAll(config.getAllBundlesForLocale(locale));
         }
         return res;
     }
 
+    @Override
+    public BundleLoadingPolicy getBundleLoadingPolicy() {
+        return bundleLoadingPolicy;
+    }
+
+    @Override
+    public Map<AnnotatedClass, C10NFilterProvider<?>> getFilterBindings(Class<?> c10nInterface) {
+        return interfaceBindings.get(c10nInterface).filterBindings;
+    }
+
     @Override
     public String getUntranslatedMessageString(Class<?> c10nInterface, Method method, Object[] methodArgs) {
         return parentConfig.getUntranslatedMessageString(c10nInterface, method, methodArgs);
@@ -112,55 +137,118 @@ class DefaultConfiguredC10NModule implements ConfiguredC10NModule {
 
     @Override
     public String getKeyPrefix() {
-        return this.parentConfig.getKeyPrefix();
+        return keyPrefix;
     }
 
     @Override
     public boolean isDebug() {
-        return this.parentConfig.isDebug();
+        return debug;
     }
 
     @Override
     public Set<Locale> getAllBoundLocales() {
-        Set<Locale> res = new HashSet<Locale>();
-        for (C10NConfigBase config : traverseConfigs(parentConfig)) {
-            res.addAll(config.getAllImplementationBoundLocales());
-            for (Set<Locale> locales : config.getAnnotationToLocaleMapping().values()) {
-                res.addAll(locales);
+        Set<Locale> res = allBoundLocales;
+        if (null == res) {
+            Set<Locale> locales = new HashSet<Locale>();
+            for (C10NConfigBase config : allConfigs) {
+                locales.addAll(config.getAllImplementationBoundLocales());
+                for (Set<Locale> annotationLocales : config.getAnnotationToLocaleMapping().values()) {
+                    locales.addAll(annotationLocales);
+                }
             }
+            res = Collections.unmodifiableSet(locales);
+            allBoundLocales = res;
         }
         return res;
     }
 
     @Override
-    public List<C10NPlugin> getPlugins(){
-        List<C10NPlugin> plugins = new ArrayList<C10NPlugin>();
-        for (C10NConfigBase config : traverseConfigs(parentConfig)) {
-            plugins.addAll(config.getPlugins());
-        }
+    public List<C10NPlugin> getPlugins() {
         return plugins;
     }
 
+    @Override
+    public List<AsyncC10NPlugin> getAsyncPlugins() {
+        return asyncPlugins;
+    }
+
+    @Override
+    public AsyncPluginPolicy getAsyncPluginPolicy() {
+        return asyncPluginPolicy;
+    }
+
     @Override
     public MessageFormatter getMessageFormatter() {
-        return parentConfig.getMessageFormatter();
+        return messageFormatter;
     }
 
     @Override
     public ClassLoader getProxyClassLoader() {
-        return parentConfig.getProxyClassLoader();
+        return proxyClassLoader;
     }
 
-    private List<C10NConfigBase> traverseConfigs(C10NConfigBase config) {
+    private static List<C10NConfigBase> traverseConfigs(C10NConfigBase config) {
         List<C10NConfigBase> res = new ArrayList<C10NConfigBase>();
         traverseConfigs(config, res);
         return res;
     }
 
-    private void traverseConfigs(C10NConfigBase config, List<C10NConfigBase> result) {
+    private static void traverseConfigs(C10NConfigBase config, List<C10NConfigBase> result) {
         result.add(config);
         for (C10NConfigBase childConfig : config.getChildConfigs()) {
             traverseConfigs(childConfig, result);
         }
     }
+
+    /*
+     * Bindings of one c10n interface, resolved from its configuration chain
+     */
+    private static final class InterfaceBindings {
+        final C10NConfigBase.BundleSource[] bundleSources;
+        final Map<Class<? extends Annotation>, Set<Locale>> annotationBindings;
+        final Map<Locale, Class<?>> implementationBindings;
+        final Map<AnnotatedClass, C10NFilterProvider<?>> filterBindings;
+
+        InterfaceBindings(Class<?> c10nInterface, List<C10NConfigBase> configChain, String keyPrefix) {
+            List<C10NConfigBase.BundleSource> bundleSources = new ArrayList<C10NConfigBase.BundleSource>();
+            for (C10NConfigBase config : configChain) {
+                bundleSources.addAll(config.getBundleSources(c10nInterface, keyPrefix));
+            }
+            this.bundleSources = bundleSources.toArray(new C10NConfigBase.BundleSource[0]);
+
+            Map<Locale, Class<?>> implementationBindings = new HashMap<Locale, Class<?>>();
+            for (C10NConfigBase config : configChain) {
+                for (Locale locale : config.getImplLocales(c10nInterface)) {
+                    if (!implementationBindings.containsKey(locale)) {
+                        implementationBindings.put(locale, config.getBindingForLocale(c10nInterface, locale));
+                    }
+                }
+            }
+            this.implementationBindings = Collections.unmodifiableMap(implementationBindings);
+
+            //config chain is reversed (parent -> .. -> child) to
+            //make sure child configurations overwrite parent ones
+            //to take precedence
+            List<C10NConfigBase> reversedChain = new ArrayList<C10NConfigBase>(configChain);
+            Collections.reverse(reversedChain);
+            Map<Class<? extends Annotation>, Set<Locale>> annotationBindings = new HashMap<Class<? extends Annotation>, Set<Locale>>();
+            Map<AnnotatedClass, C10NFilterProvider<?>> filterBindings = new HashMap<AnnotatedClass, C10NFilterProvider<?>>();
+            for (C10NConfigBase config : reversedChain) {
+                for (Map.Entry<Class<? extends Annotation>, Set<Locale>> entry : config.getAnnotationToLocaleMapping().entrySet()) {
+                    annotationBindings.put(entry.getKey(), Collections.unmodifiableSet(new HashSet<Locale>(entry.getValue())));
+                }
+                for (C10NConfigBase.C10NFilterBinder<?> filterBinder : config.getFilterBinders()) {
+                    if (filterBinder.getAnnotatedWith().isEmpty()) {
+                        filterBindings.put(new AnnotatedClass(filterBinder.getType(), null), filterBinder.getFilterProvider());
+                    } else {
+                        for (Class<? extends Annotation> annotation : filterBinder.getAnnotatedWith()) {
+                            filterBindings.put(new AnnotatedClass(filterBinder.getType(), annotation), filterBinder.getFilterProvider());
+                        }
+                    }
+                }
+            }
+            this.annotationBindings = Collections.unmodifiableMap(annotationBindings);
+            this.filterBindings = Collections.unmodifiableMap(filterBindings);
+        }
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.github.rodionmoiseev.c10n;
 
+import com.github.rodionmoiseev.c10n.formatters.CompiledMessage;
 import com.github.rodionmoiseev.c10n.formatters.MessageFormatter;
 
 import java.lang.reflect.Method;
@@ -27,4 +28,11 @@ class DefaultMessageFormatter implements MessageFormatter {
     public String format(Method method, String message, Locale locale, Object... args) {
         return MessageFormat.format(message, args);
     }
+
+    @Override
+    public CompiledMessage compile(Method method, String message, Locale locale) {
+        //equivalent to MessageFormat.format(message, args), but parses the pattern only once
+        MessageFormat messageFormat = new MessageFormat(message);
+        return args -> messageFormat.format(args);
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.github.rodionmoiseev.c10n.share.utils.Preconditions.assertNotNull;
+
+/**
+ * <p>{@link TranslationSource} keeping translations in memory.
+ * Translations can be modified at any time, and changes are reported
+ * to registered listeners.
+ *
+ * <pre><code>
+ *   InMemoryTranslationSource source = new InMemoryTranslationSource()
+ *       .put(Locale.JAPANESE, "com.example.Messages.greeting", "こんにちは");
+ *   ...
+ *   bindSource(source);
+ * </code></pre>
+ *
+ * @author rodion
+ */
+public class InMemoryTranslationSource implements TranslationSource {
+    private final ConcurrentMap<Locale, Map<String, String>> translations = new ConcurrentHashMap<>();
+    private final List<TranslationSourceListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * <p>Add or replace a translation.
+     *
+     * @param locale locale of the translation (not null)
+     * @param key    bundle key (not null)
+     * @param value  translation (not null)
+     * @return this source
+     */
+    public InMemoryTranslationSource put(Locale locale, String key, String value) {
+        assertNotNull(value, "value");
+        return putAll(locale, Collections.singletonMap(key, value));
+    }
+
+    /**
+     * <p>Add or replace translations for the given locale.
+     *
+     * @param locale locale of the translations (not null)
+     * @param values translations by bundle key (not null)
+     * @return this source
+     */
+    public InMemoryTranslationSource putAll(Locale locale, Map<String, String> values) {
+        assertNotNull(locale, "locale");
+        assertNotNull(values, "values");
+        translationsOf(locale).putAll(values);
+        fireChanged(locale, values.keySet());
+        return this;
+    }
+
+    /**
+     * <p>Remove a translation.
+     *
+     * @param locale locale of the translation (not null)
+     * @param key    bundle key (not null)
+     * @return this source
+     */
+    public InMemoryTranslationSource remove(Locale locale, String key) {
+        assertNotNull(locale, "locale");
+        assertNotNull(key, "key");
+        translationsOf(locale).remove(key);
+        fireChanged(locale, Collections.singleton(key));
+        return this;
+    }
+
+    @Override
+    public Map<String, String> loadAll(Locale locale) {
+        Map<String, String> res = translations.get(locale);
+        return null != res ? new HashMap<>(res) : Collections.<String, String>emptyMap();
+    }
+
+    @Override
+    public String lookup(String key, Locale locale) {
+        Map<String, String> res = translations.get(locale);
+        return null != res ? res.get(key) : null;
+    }
+
+    @Override
+    public Map<String, String> lookupAll(Set<String> keys, Locale locale) {
+        Map<String, String> values = translations.get(locale);
+        if (null == values) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> res = new HashMap<>();
+        for (String key : keys) {
+            String value = values.get(key);
+            if (null != value) {
+                res.put(key, value);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public void addListener(TranslationSourceListener listener) {
+        assertNotNull(listener, "listener");
+        listeners.add(listener);
+    }
+
+    private Map<String, String> translationsOf(Locale locale) {
+        return translations.computeIfAbsent(locale, l -> new ConcurrentHashMap<>());
+    }
+
+    private void fireChanged(Locale locale, Set<String> keys) {
+        Set<String> changed = Collections.unmodifiableSet(new HashSet<>(keys));
+        for (TranslationSourceListener listener : listeners) {
+            listener.translationsChanged(locale, changed);
+        }
+    }
+}
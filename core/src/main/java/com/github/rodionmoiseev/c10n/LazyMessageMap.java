@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * <p>Read-only map of translations for the locales declared on a method, where each
+ * translation is rendered on first access and then cached.
+ * Used as a lazy backing for {@link C10NMessage}.
+ *
+ * <p>Rendering may happen concurrently, in which case the first
+ * stored value wins.
+ *
+ * @author rodion
+ */
+final class LazyMessageMap extends AbstractMap<Locale, String> {
+    private static final Object NULL = new Object();
+
+    private final LocaleIndex localeIndex;
+    //declared locale ids, in the order of the index
+    private final int[] ids;
+    private final Function<Locale, String> renderer;
+    //rendered values indexed by locale id
+    private final AtomicReferenceArray<Object> values;
+
+    /**
+     * @param localeIndex index used for mapping locales to ids
+     * @param declared    table indexed by locale id, non-null elements of which are declared locales
+     * @param renderer    function rendering the message for the given locale
+     */
+    LazyMessageMap(LocaleIndex localeIndex, Object[] declared, Function<Locale, String> renderer) {
+        this.localeIndex = localeIndex;
+        this.renderer = renderer;
+        int[] ids = new int[declared.length];
+        int count = 0;
+        for (int id = 0; id < declared.length; id++) {
+            if (null != declared[id]) {
+                ids[count++] = id;
+            }
+        }
+        this.ids = Arrays.copyOf(ids, count);
+        this.values = new AtomicReferenceArray<>(declared.length);
+    }
+
+    @Override
+    public String get(Object key) {
+        int id = idOf(key);
+        return id >= 0 ? render(id) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return idOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public Set<Entry<Locale, String>> entrySet() {
+        return new AbstractSet<Entry<Locale, String>>() {
+            @Override
+            public Iterator<Entry<Locale, String>> iterator() {
+                return new Iterator<Entry<Locale, String>>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < ids.length;
+                    }
+
+                    @Override
+                    public Entry<Locale, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int id = ids[next++];
+                        return new SimpleImmutableEntry<>(localeIndex.localeOf(id), render(id));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+
+    private int idOf(Object key) {
+        if (!(key instanceof Locale)) {
+            return -1;
+        }
+        int id = localeIndex.idOf((Locale) key);
+        return id >= 0 && Arrays.binarySearch(ids, id) >= 0 ? id : -1;
+    }
+
+    private String render(int id) {
+        Object value = values.get(id);
+        if (null == value) {
+            String rendered = renderer.apply(localeIndex.localeOf(id));
+            values.compareAndSet(id, null, null != rendered ? rendered : NULL);
+            value = values.get(id);
+        }
+        return value != NULL ? (String) value : null;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.share.LocaleMapping;
+
+import java.util.*;
+
+/**
+ * <p>Assigns small integer ids to all locales known to a message factory,
+ * so that per-method translation tables can be plain arrays indexed by
+ * locale id instead of {@link Locale}-keyed maps.
+ *
+ * <p>Indexes are immutable. Extending an index with new locales (see {@link #extend(Collection)})
+ * produces a new index, where ids of already known locales are preserved,
+ * so tables built against an older index remain valid.
+ *
+ * <p>Mapping of requested locales to the ordered list of candidate ids
+ * (as decided by {@link LocaleMapping}) is memoised in a small direct-mapped
+ * identity cache, since locale providers tend to return the same
+ * {@link Locale} instances over and over again.
+ *
+ * @author rodion
+ */
+final class LocaleIndex {
+    private static final int CACHE_SIZE = 16;//must be a power of 2
+
+    private final LocaleMapping localeMapping;
+    private final Locale[] locales;
+    private final Map<Locale, Integer> ids;
+    private final CandidateCacheEntry[] candidateCache = new CandidateCacheEntry[CACHE_SIZE];
+
+    private LocaleIndex(LocaleMapping localeMapping, Locale[] locales) {
+        this.localeMapping = localeMapping;
+        this.locales = locales;
+        this.ids = new HashMap<>();
+        for (int i = 0; i < locales.length; i++) {
+            ids.put(locales[i], i);
+        }
+    }
+
+    static LocaleIndex create(LocaleMapping localeMapping, Collection<Locale> locales) {
+        return new LocaleIndex(localeMapping, new Locale[0]).extend(locales);
+    }
+
+    /**
+     * @param locales locales that have to be present in the index
+     * @return this index, if all the given locales are already known,
+     * or a new index containing all the given locales
+     */
+    LocaleIndex extend(Collection<Locale> locales) {
+        List<Locale> newLocales = new ArrayList<>();
+        for (Locale locale : locales) {
+            if (!ids.containsKey(locale) && !newLocales.contains(locale)) {
+                newLocales.add(locale);
+            }
+        }
+        if (newLocales.isEmpty()) {
+            return this;
+        }
+        Locale[] extended = Arrays.copyOf(this.locales, this.locales.length + newLocales.size());
+        for (int i = 0; i < newLocales.size(); i++) {
+            extended[this.locales.length + i] = newLocales.get(i);
+        }
+        return new LocaleIndex(localeMapping, extended);
+    }
+
+    int size() {
+        return locales.length;
+    }
+
+    /**
+     * @param locale locale to look up
+     * @return id of the locale, or <code>-1</code> if the locale is not in this index
+     */
+    int idOf(Locale locale) {
+        Integer id = ids.get(locale);
+        return null != id ? id : -1;
+    }
+
+    Locale localeOf(int id) {
+        return locales[id];
+    }
+
+    /**
+     * <p>Find the id of the closest match to the given locale, among the
+     * non-null elements of the given table. Equivalent to calling
+     * {@link LocaleMapping#findClosestMatch(Set, Locale)} with the set of
+     * locales with non-null entries.
+     *
+     * @param table  table indexed by locale id (not null)
+     * @param locale locale to find the closest match for (not null)
+     * @return id of the closest match, or <code>-1</code> if there is no match
+     */
+    int findClosestMatch(Object[] table, Locale locale) {
+        for (int id : candidates(locale)) {
+            if (id < table.length && null != table[id]) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    private int[] candidates(Locale locale) {
+        Locale defaultLocale = Locale.getDefault();
+        int slot = System.identityHashCode(locale) & (CACHE_SIZE - 1);
+        CandidateCacheEntry entry = candidateCache[slot];
+        if (null == entry || entry.locale != locale || entry.defaultLocale != defaultLocale) {
+            //entries are immutable, so racing writers
+            //can at worst evict each other
+            entry = new CandidateCacheEntry(locale, defaultLocale, computeCandidates(locale));
+            candidateCache[slot] = entry;
+        }
+        return entry.candidates;
+    }
+
+    /*
+     * Candidates are extracted from the locale mapping by repeatedly
+     * asking for the closest match, and removing it from the set
+     */
+    private int[] computeCandidates(Locale locale) {
+        Set<Locale> remaining = new HashSet<>(ids.keySet());
+        int[] res = new int[remaining.size()];
+        int count = 0;
+        Locale match;
+        while (!remaining.isEmpty()
+                && null != (match = localeMapping.findClosestMatch(remaining, locale))
+                && remaining.remove(match)) {
+            res[count++] = ids.get(match);
+        }
+        return Arrays.copyOf(res, count);
+    }
+
+    private static final class CandidateCacheEntry {
+        final Locale locale;
+        final Locale defaultLocale;
+        final int[] candidates;
+
+        CandidateCacheEntry(Locale locale, Locale defaultLocale, int[] candidates) {
+            this.locale = locale;
+            this.defaultLocale = defaultLocale;
+            this.candidates = candidates;
+        }
+    }
+}
@@ -18,6 +18,8 @@ package com.github.rodionmoiseev.c10n;
 
 import java.util.Locale;
 
+import static com.github.rodionmoiseev.c10n.share.utils.Preconditions.assertNotNull;
+
 /**
  * @author rodion
  */
@@ -26,6 +28,53 @@ public class LocaleProviders {
         return new FixedLocaleProvider(locale);
     }
 
+    /**
+     * <p>{@link LocaleProvider} returning the locale bound with
+     * {@link C10N#withLocale(Locale, Runnable)} or {@link C10N#withLocale(Locale, java.util.concurrent.Callable)},
+     * or {@link Locale#getDefault()} outside of such scopes.
+     *
+     * <p>On JDKs supporting <code>java.lang.ScopedValue</code> the binding is
+     * also visible to structured concurrency subtasks, otherwise it is
+     * confined to the calling thread.
+     *
+     * @return scoped locale provider (not null)
+     */
+    public static LocaleProvider scoped() {
+        return DEFAULT_SCOPED;
+    }
+
+    /**
+     * <p>Same as {@link #scoped()}, but delegates to the given locale
+     * provider outside of {@link C10N#withLocale(Locale, Runnable)} scopes.
+     *
+     * @param fallback locale provider to use when no locale is bound (not null)
+     * @return scoped locale provider (not null)
+     */
+    public static LocaleProvider scoped(LocaleProvider fallback) {
+        assertNotNull(fallback, "fallback");
+        return new ScopedLocaleProvider(fallback);
+    }
+
+    private static final LocaleProvider DEFAULT_SCOPED = new ScopedLocaleProvider(Locale::getDefault);
+
+    /**
+     * <p>{@link LocaleProvider} reading the locale bound in the current
+     * scope, see {@link ScopedLocale}.
+     */
+    private static final class ScopedLocaleProvider implements LocaleProvider {
+        private final LocaleProvider fallback;
+
+        ScopedLocaleProvider(LocaleProvider fallback) {
+            this.fallback = fallback;
+        }
+
+        @Override
+        public Locale getLocale() {
+            Locale locale = ScopedLocale.get();
+            return null != locale ? locale : fallback.getLocale();
+        }
+    }
+
     /**
      * <p>{@link LocaleProvider} that always returns the given
      * {@link java.util.Locale} instance.
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Resource bundle split into partitions, one per c10n interface package
+ * (or class-level {@link C10NKey} value). Each partition is a separate bundle
+ * named <code>baseName '.' partition</code>, and is only loaded once an interface
+ * mapped to it is used.
+ *
+ * @author rodion
+ */
+final class PartitionedBundle {
+    private final String baseName;
+    private final C10NBundleBinder binder;
+    //held by the interface classes, so that they can be unloaded
+    private final ClassValue<String> bundleNames = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String partition = partitionOf(type);
+            return partition.isEmpty() ? baseName : baseName + "." + partition;
+        }
+    };
+    //bundle names of partitions used so far
+    private final Set<String> usedPartitions = ConcurrentHashMap.newKeySet();
+    //bundle names of partitions with no files for a locale,
+    //not kept for reloadable bundles, whose partition files may appear later
+    //(these are looked up again once the watcher reports a change)
+    private final ConcurrentMap<Locale, Set<String>> missingPartitions = new ConcurrentHashMap<>();
+
+    PartitionedBundle(String baseName, C10NBundleBinder binder) {
+        this.baseName = baseName;
+        this.binder = binder;
+    }
+
+    C10NBundleBinder getBinder() {
+        return binder;
+    }
+
+    /**
+     * <p>Returns the name of the partition the given interface is mapped to:
+     * the value of the interface {@link C10NKey} annotation, if present,
+     * otherwise the interface package name.
+     *
+     * @param c10nInterface c10n interface
+     * @return partition name, or empty string for interfaces in the default package
+     */
+    static String partitionOf(Class<?> c10nInterface) {
+        C10NKey key = c10nInterface.getAnnotation(C10NKey.class);
+        if (null != key) {
+            return key.value();
+        }
+        return c10nInterface.getPackageName();
+    }
+
+    /**
+     * <p>Loads the partition the given interface is mapped to.
+     *
+     * @return partition bundle, or <code>null</code> if the partition
+     * has no files for the given locale
+     */
+    ResourceBundle getBundle(Class<?> c10nInterface, Locale locale) {
+        String bundleName = bundleNames.get(c10nInterface);
+        usedPartitions.add(bundleName);
+        return load(bundleName, locale);
+    }
+
+    /**
+     * <p>Loads all partitions used so far for the given locale.
+     */
+    List<ResourceBundle> getUsedBundles(Locale locale) {
+        List<ResourceBundle> res = new ArrayList<>();
+        for (String bundleName : usedPartitions) {
+            ResourceBundle bundle = load(bundleName, locale);
+            if (null != bundle) {
+                res.add(bundle);
+            }
+        }
+        return res;
+    }
+
+    private ResourceBundle load(String bundleName, Locale locale) {
+        WatchedBundles watched = binder.getWatchedBundles();
+        if (null != watched) {
+            return watched.get(bundleName, locale, C10NConfigBase.controlFor(binder));
+        }
+        Set<String> missing = missingPartitions.get(locale);
+        if (null != missing && missing.contains(bundleName)) {
+            return null;
+        }
+        try {
+            return ResourceBundle.getBundle(bundleName, locale, C10NConfigBase.controlFor(binder));
+        } catch (MissingResourceException e) {
+            //remember, to avoid paying for the exception on every lookup
+            missingPartitions.computeIfAbsent(locale, l -> ConcurrentHashMap.newKeySet()).add(bundleName);
+            return null;
+        }
+    }
+}
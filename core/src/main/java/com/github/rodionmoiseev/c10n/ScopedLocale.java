@@ -0,0 +1,191 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * <p>Holder of the locale bound with {@link C10N#withLocale(Locale, Callable)}.
+ *
+ * <p>On JDKs providing <code>java.lang.ScopedValue</code> the locale is kept
+ * in a scoped value, so that lookups are cheap on virtual threads and bindings
+ * are visible to structured concurrency subtasks. Older JDKs fall back to a
+ * plain (non-inheritable) {@link ThreadLocal}.
+ *
+ * @author rodion
+ */
+final class ScopedLocale {
+    private static final Scope scope = createScope();
+
+    private ScopedLocale() {
+    }
+
+    /**
+     * @return the currently bound locale, or <code>null</code> if none is bound
+     */
+    static Locale get() {
+        return scope.get();
+    }
+
+    static <T> T call(Locale locale, Callable<T> op) throws Exception {
+        return scope.call(locale, op);
+    }
+
+    /**
+     * @return <code>true</code> if the locale is kept in a
+     * <code>java.lang.ScopedValue</code>, <code>false</code> for the thread local fallback
+     */
+    static boolean isScopedValue() {
+        return scope instanceof ScopedValueScope;
+    }
+
+    private static Scope createScope() {
+        try {
+            Scope scope = new ScopedValueScope();
+            //make sure the API is actually usable (e.g. not a disabled preview)
+            Locale probe = scope.call(Locale.ROOT, scope::get);
+            if (Locale.ROOT.equals(probe) && null == scope.get()) {
+                return scope;
+            }
+        } catch (Throwable e) {
+            //ScopedValue is not available, use thread local
+        }
+        return new ThreadLocalScope();
+    }
+
+    private interface Scope {
+        Locale get();
+
+        <T> T call(Locale locale, Callable<T> op) throws Exception;
+    }
+
+    private static final class ThreadLocalScope implements Scope {
+        private final ThreadLocal<Locale> current = new ThreadLocal<>();
+
+        @Override
+        public Locale get() {
+            return current.get();
+        }
+
+        @Override
+        public <T> T call(Locale locale, Callable<T> op) throws Exception {
+            Locale previous = current.get();
+            current.set(locale);
+            try {
+                return op.call();
+            } finally {
+                if (null == previous) {
+                    current.remove();
+                } else {
+                    current.set(previous);
+                }
+            }
+        }
+    }
+
+    /*
+     * ScopedValue is accessed through method handles, since the
+     * library is still compiled against Java 11. Handles are kept in
+     * static finals so that the JIT can treat them as constants.
+     */
+    private static final class ScopedValueScope implements Scope {
+        private static final MethodHandle isBound;
+        private static final MethodHandle get;
+        private static final MethodHandle where;
+        private static final MethodHandle run;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+                Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+                Object scopedValue = lookup.findStatic(scopedValueClass, "newInstance",
+                        MethodType.methodType(scopedValueClass)).invoke();
+                //orElse(null) is rejected by the final API, check isBound() instead
+                isBound = lookup.findVirtual(scopedValueClass, "isBound",
+                        MethodType.methodType(boolean.class))
+                        .bindTo(scopedValue);
+                get = lookup.findVirtual(scopedValueClass, "get",
+                        MethodType.methodType(Object.class))
+                        .bindTo(scopedValue);
+                where = MethodHandles.insertArguments(lookup.findStatic(scopedValueClass, "where",
+                        MethodType.methodType(carrierClass, scopedValueClass, Object.class)), 0, scopedValue)
+                        .asType(MethodType.methodType(Object.class, Object.class));
+                run = lookup.findVirtual(carrierClass, "run",
+                        MethodType.methodType(void.class, Runnable.class))
+                        .asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+            } catch (Throwable e) {
+                throw new IllegalStateException("java.lang.ScopedValue is not available", e);
+            }
+        }
+
+        @Override
+        public Locale get() {
+            try {
+                return (boolean) isBound.invokeExact() ? (Locale) (Object) get.invokeExact() : null;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public <T> T call(Locale locale, Callable<T> op) throws Exception {
+            ScopedCall<T> scopedCall = new ScopedCall<>(op);
+            try {
+                Object carrier = (Object) where.invokeExact((Object) locale);
+                run.invokeExact(carrier, (Runnable) scopedCall);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+            return scopedCall.result();
+        }
+    }
+
+    private static final class ScopedCall<T> implements Runnable {
+        private final Callable<T> op;
+        private T result;
+        private Exception failure;
+
+        ScopedCall(Callable<T> op) {
+            this.op = op;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result = op.call();
+            } catch (Exception e) {
+                failure = e;
+            }
+        }
+
+        T result() throws Exception {
+            if (null != failure) {
+                throw failure;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Text resource referenced by the <code>extRes</code> or <code>intRes</code>
+ * attribute of a translation annotation.
+ *
+ * <p>Resources are read on first use, and the text is shared by all
+ * c10n proxies referring to the same resource. Texts of <code>file:</code>
+ * resources are re-read when the file modification time or size changes.
+ *
+ * <p>Resources which may reference an application class loader (class path
+ * resources, and URLs with non-JDK protocol handlers) are cached with the
+ * c10n interface class, so that they do not prevent class loaders from
+ * being unloaded on redeploy.
+ *
+ * @author rodion
+ */
+final class TextResource {
+    private static final Pattern SYSTEM_PROPERTY = Pattern.compile("\\$\\{(.*?)\\}");
+    private static final Set<String> JDK_PROTOCOLS = Set.of("file", "http", "https", "jar", "ftp", "jrt");
+    private static final ConcurrentMap<String, TextResource> sharedResources = new ConcurrentHashMap<>();
+    private static final ClassValue<ConcurrentMap<String, TextResource>> interfaceResources =
+            new ClassValue<ConcurrentMap<String, TextResource>>() {
+                @Override
+                protected ConcurrentMap<String, TextResource> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final String name;
+    private final URL url;
+    private final ClassLoader loader;
+    private final File file;
+    private volatile Snapshot snapshot = null;
+
+    private TextResource(String name, URL url, ClassLoader loader) {
+        this.name = name;
+        this.url = url;
+        this.loader = loader;
+        this.file = null != url && "file".equals(url.getProtocol()) ? toFile(url) : null;
+    }
+
+    /**
+     * <p>Returns the resource for the given external resource URL.
+     * System property references (<code>${prop}</code>) are replaced
+     * with their values. The URL itself is parsed eagerly, so that
+     * malformed URLs are reported early.
+     *
+     * @param c10nInterface c10n interface declaring the resource
+     * @param urlString     external resource URL
+     * @return resource for the URL
+     */
+    static TextResource external(Class<?> c10nInterface, String urlString) {
+        String resolved = replaceSystemProps(urlString);
+        URL url;
+        try {
+            url = new URL(resolved);
+        } catch (MalformedURLException e) {
+            throw new RuntimeException("Could not interpret external resource URL: " + resolved, e);
+        }
+        ConcurrentMap<String, TextResource> resources = JDK_PROTOCOLS.contains(url.getProtocol())
+                ? sharedResources : interfaceResources.get(c10nInterface);
+        return resources.computeIfAbsent(url.toExternalForm(), key -> new TextResource(key, url, null));
+    }
+
+    /**
+     * <p>Returns the resource for the given class path resource, loaded
+     * with the class loader of the c10n interface.
+     * System property references (<code>${prop}</code>) are replaced
+     * with their values.
+     *
+     * @param c10nInterface c10n interface declaring the resource
+     * @param path          class path resource name
+     * @return resource for the path
+     */
+    static TextResource internal(Class<?> c10nInterface, String path) {
+        String resolved = replaceSystemProps(path);
+        ClassLoader loader = null != c10nInterface.getClassLoader()
+                ? c10nInterface.getClassLoader() : C10N.class.getClassLoader();
+        return interfaceResources.get(c10nInterface)
+                .computeIfAbsent(resolved, key -> new TextResource(key, null, loader));
+    }
+
+    /**
+     * <p>Returns the text of this resource, reading it if it has not been
+     * read yet, or if the underlying file has changed since.
+     */
+    String text() {
+        Snapshot current = snapshot;
+        if (null != current && (null == file || current.isUpToDate(file))) {
+            return current.text;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (null == current || (null != file && !current.isUpToDate(file))) {
+                long lastModified = null != file ? file.lastModified() : 0L;
+                long length = null != file ? file.length() : 0L;
+                current = new Snapshot(read(), lastModified, length);
+                snapshot = current;
+            }
+            return current.text;
+        }
+    }
+
+    /**
+     * <p>Opens a reader over the text of this resource. Texts which have
+     * not been read yet are streamed from the resource without being cached.
+     */
+    Reader openReader() {
+        Snapshot current = snapshot;
+        if (null != current && (null == file || current.isUpToDate(file))) {
+            return new StringReader(current.text);
+        }
+        return new InputStreamReader(open(), StandardCharsets.UTF_8);
+    }
+
+    private String read() {
+        try (Reader reader = new InputStreamReader(open(), StandardCharsets.UTF_8)) {
+            return readFully(reader);
+        } catch (IOException e) {
+            throw new RuntimeException(readError(), e);
+        }
+    }
+
+    private InputStream open() {
+        if (null == url) {
+            InputStream is = loader.getResourceAsStream(name);
+            if (null == is) {
+                throw new RuntimeException("Internal resource: " + name + " does not exist");
+            }
+            return is;
+        }
+        try {
+            return url.openStream();
+        } catch (IOException e) {
+            throw new RuntimeException(readError(), e);
+        }
+    }
+
+    private String readError() {
+        return null != url ? "Failed to read text data from URL: " + name
+                : "Failed to read text data from internal resource: " + name;
+    }
+
+    private static String readFully(Reader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buf = new char[8 * 1024];
+        int read;
+        while ((read = reader.read(buf)) != -1) {
+            sb.append(buf, 0, read);
+        }
+        return sb.toString();
+    }
+
+    private static File toFile(URL url) {
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            //URLs such as file:///${java.io.tmpdir}/... may not be valid URIs
+            return new File(url.getPath());
+        }
+    }
+
+    static String replaceSystemProps(String string) {
+        if (null == string || string.indexOf('$') < 0) {
+            return string;
+        }
+        Matcher m = SYSTEM_PROPERTY.matcher(string);
+        StringBuffer res = new StringBuffer();
+        while (m.find()) {
+            String propValue = System.getProperty(m.group(1));
+            m.appendReplacement(res, Matcher.quoteReplacement(null != propValue ? propValue : m.group()));
+        }
+        m.appendTail(res);
+        return res.toString();
+    }
+
+    private static final class Snapshot {
+        final String text;
+        final long lastModified;
+        final long length;
+
+        Snapshot(String text, long lastModified, long length) {
+            this.text = text;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        boolean isUpToDate(File file) {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Bulk source of translations, e.g. backed by a database or a key-value store.
+ * Sources are registered with {@link C10NConfigBase#bindSource(TranslationSource)}.
+ *
+ * <p>Keys are c10n bundle keys, and locales are matched exactly (c10n takes
+ * care of falling back through the candidate locales). Translations fetched
+ * from the source are cached by c10n, until the source reports
+ * a change through its {@link TranslationSourceListener}s.
+ *
+ * <p>When a c10n interface is first used in a locale, all of its keys are
+ * fetched with one {@link #lookupAll(Set, Locale)} call, so sources
+ * backed by remote stores should implement it as a single round trip.
+ * {@link #loadAll(Locale)} is used when all translations of a locale are requested
+ * up front, e.g. by {@link C10NMsgFactory#loadLocaleAsync(Locale)}.
+ *
+ * <p>Implementations must be thread-safe.
+ *
+ * @author rodion
+ * @see InMemoryTranslationSource
+ */
+public interface TranslationSource {
+    /**
+     * <p>Load all translations available for the given locale.
+     *
+     * @param locale locale to load translations for
+     * @return translations by bundle key (not null)
+     */
+    Map<String, String> loadAll(Locale locale);
+
+    /**
+     * <p>Look up a single translation.
+     *
+     * @param key    bundle key
+     * @param locale locale of the translation
+     * @return translation, or {@code null} if there is none
+     */
+    String lookup(String key, Locale locale);
+
+    /**
+     * <p>Look up translations for many keys at once. The default
+     * implementation calls {@link #lookup(String, Locale)} for each key.
+     *
+     * @param keys   bundle keys to look up
+     * @param locale locale of the translations
+     * @return translations by bundle key, without entries for keys that have
+     * no translation (not null)
+     */
+    default Map<String, String> lookupAll(Set<String> keys, Locale locale) {
+        Map<String, String> res = new HashMap<>();
+        for (String key : keys) {
+            String value = lookup(key, locale);
+            if (null != value) {
+                res.put(key, value);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * <p>Register a listener to be notified when translations change.
+     * The default implementation ignores the listener, for sources
+     * whose translations never change.
+     *
+     * @param listener listener to notify
+     */
+    default void addListener(TranslationSourceListener listener) {
+    }
+}
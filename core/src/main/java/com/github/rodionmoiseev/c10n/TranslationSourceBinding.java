@@ -0,0 +1,205 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.share.LookupBundle;
+import com.github.rodionmoiseev.c10n.share.utils.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Caches translations of a {@link TranslationSource}, and exposes
+ * them as resource bundles.
+ *
+ * <p>Translations are fetched per c10n interface: the first time an interface
+ * is used in a locale, all of its keys are fetched with one
+ * {@link TranslationSource#lookupAll(Set, Locale)} call. Keys outside of
+ * any interface (or invalidated since) are fetched one by one.
+ * Change notifications from the source evict the affected translations only.
+ *
+ * @author rodion
+ */
+final class TranslationSourceBinding {
+    //marks keys without translation
+    private static final String ABSENT = new String("<absent>");
+
+    private final TranslationSource source;
+    private final ConcurrentMap<Locale, LocaleTranslations> translations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Locale, SourceBundle> bundles = new ConcurrentHashMap<>();
+
+    TranslationSourceBinding(TranslationSource source) {
+        this.source = source;
+        source.addListener(this::invalidate);
+    }
+
+    /**
+     * <p>Get the bundle for the given locale, fetching the keys of the
+     * given c10n interface beforehand, unless already cached.
+     */
+    ResourceBundle getBundle(Class<?> c10nInterface, Locale locale, String keyPrefix) {
+        SourceBundle bundle = getBundle(locale);
+        for (SourceBundle b = bundle; null != b; b = b.parentBundle()) {
+            prefetch(c10nInterface, b.getLocale(), keyPrefix);
+        }
+        return bundle;
+    }
+
+    /**
+     * <p>Load all translations for the given locale.
+     */
+    ResourceBundle loadAll(Locale locale) {
+        SourceBundle bundle = getBundle(locale);
+        for (SourceBundle b = bundle; null != b; b = b.parentBundle()) {
+            LocaleTranslations lt = translationsOf(b.getLocale());
+            if (!lt.complete) {
+                long version = lt.version;
+                Map<String, String> values = source.loadAll(b.getLocale());
+                synchronized (lt) {
+                    //translations invalidated while loading may be stale, and are looked up again
+                    if (lt.version == version) {
+                        lt.values.putAll(values);
+                        lt.complete = true;
+                    }
+                }
+            }
+        }
+        return bundle;
+    }
+
+    private SourceBundle getBundle(Locale locale) {
+        return bundles.computeIfAbsent(locale, this::createBundle);
+    }
+
+    private SourceBundle createBundle(Locale locale) {
+        return LookupBundle.chain(locale, SourceBundle::new);
+    }
+
+    private void prefetch(Class<?> c10nInterface, Locale locale, String keyPrefix) {
+        LocaleTranslations lt = translationsOf(locale);
+        if (lt.complete || lt.prefetched.get(c10nInterface).get()) {
+            return;
+        }
+        Set<String> keys = new HashSet<>();
+        for (Method method : c10nInterface.getMethods()) {
+            keys.add(ReflectionUtils.getC10NKey(keyPrefix, method));
+        }
+        long version = lt.version;
+        Map<String, String> values = source.lookupAll(keys, locale);
+        synchronized (lt) {
+            //translations invalidated while fetching may be stale, and are looked up again
+            if (lt.version == version) {
+                for (String key : keys) {
+                    String value = values.get(key);
+                    lt.values.put(key, null != value ? value : ABSENT);
+                }
+                lt.prefetched.get(c10nInterface).set(true);
+            }
+        }
+    }
+
+    private String lookup(Locale locale, String key) {
+        LocaleTranslations lt = translationsOf(locale);
+        String value = lt.values.get(key);
+        if (null == value) {
+            if (lt.complete) {
+                return null;
+            }
+            long version = lt.version;
+            value = source.lookup(key, locale);
+            if (null == value) {
+                value = ABSENT;
+            }
+            synchronized (lt) {
+                if (lt.version == version) {
+                    lt.values.put(key, value);
+                }
+            }
+        }
+        return value != ABSENT ? value : null;
+    }
+
+    private LocaleTranslations translationsOf(Locale locale) {
+        return translations.computeIfAbsent(locale, l -> new LocaleTranslations());
+    }
+
+    private void invalidate(Locale locale, Set<String> keys) {
+        if (null == locale) {
+            translations.clear();
+        } else if (null == keys) {
+            translations.remove(locale);
+        } else {
+            LocaleTranslations lt = translations.get(locale);
+            if (null != lt) {
+                synchronized (lt) {
+                    lt.version++;
+                    //re-fetch changed keys on next lookup
+                    lt.complete = false;
+                    lt.values.keySet().removeAll(keys);
+                }
+            }
+        }
+    }
+
+    private static final class LocaleTranslations {
+        final ConcurrentMap<String, String> values = new ConcurrentHashMap<>();
+        //held by the interface classes, so that they can be unloaded
+        final ClassValue<AtomicBoolean> prefetched = new ClassValue<AtomicBoolean>() {
+            @Override
+            protected AtomicBoolean computeValue(Class<?> type) {
+                return new AtomicBoolean();
+            }
+        };
+        volatile boolean complete = false;
+        //incremented on each invalidation, guarded by this
+        volatile long version = 0L;
+    }
+
+    /*
+     * Resource bundle view of the translations of one locale
+     */
+    private final class SourceBundle extends LookupBundle {
+        SourceBundle(Locale sourceLocale) {
+            super(sourceLocale);
+        }
+
+        @Override
+        protected SourceBundle parentBundle() {
+            return (SourceBundle) super.parentBundle();
+        }
+
+        @Override
+        protected String lookup(String key) {
+            return TranslationSourceBinding.this.lookup(getLocale(), key);
+        }
+
+        @Override
+        protected Set<String> handleKeySet() {
+            //only translations fetched so far are known
+            Set<String> keys = new HashSet<>();
+            for (Map.Entry<String, String> entry : translationsOf(getLocale()).values.entrySet()) {
+                if (entry.getValue() != ABSENT) {
+                    keys.add(entry.getKey());
+                }
+            }
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * <p>Receives change notifications from a {@link TranslationSource}.
+ *
+ * @author rodion
+ */
+@FunctionalInterface
+public interface TranslationSourceListener {
+    /**
+     * <p>Called when translations of the source have changed.
+     *
+     * @param locale locale of the changed translations, or {@code null} if
+     *               translations of any locale may have changed
+     * @param keys   changed bundle keys, or {@code null} if any of the
+     *               translations of the locale may have changed
+     */
+    void translationsChanged(Locale locale, Set<String> keys);
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.share.BundleWatcher;
+
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Bundles of a reloadable binding, looked up again only once the
+ * watcher generation changes. In between, lookups do not reach the
+ * {@link ResourceBundle} cache, which would validate each cached bundle
+ * (and probe each missing candidate bundle) on every call.
+ *
+ * @author rodion
+ */
+final class WatchedBundles {
+    private final BundleWatcher watcher;
+    private final ConcurrentMap<String, ConcurrentMap<Locale, Lookup>> lookups = new ConcurrentHashMap<>();
+
+    WatchedBundles(BundleWatcher watcher) {
+        this.watcher = watcher;
+    }
+
+    /**
+     * @return the bundle, or <code>null</code> if the bundle has no files for the given locale
+     */
+    ResourceBundle get(String baseName, Locale locale, ResourceBundle.Control control) {
+        //taken before the lookup, so that changes made meanwhile trigger another one
+        long generation = watcher.generation();
+        ConcurrentMap<Locale, Lookup> byLocale = lookups.computeIfAbsent(baseName, n -> new ConcurrentHashMap<>());
+        Lookup lookup = byLocale.get(locale);
+        if (null != lookup && lookup.generation == generation) {
+            return lookup.bundle;
+        }
+        ResourceBundle bundle;
+        try {
+            bundle = ResourceBundle.getBundle(baseName, locale, control);
+        } catch (MissingResourceException e) {
+            bundle = null;
+        }
+        byLocale.put(locale, new Lookup(generation, bundle));
+        return bundle;
+    }
+
+    private static final class Lookup {
+        final long generation;
+        final ResourceBundle bundle;
+
+        Lookup(long generation, ResourceBundle bundle) {
+            this.generation = generation;
+            this.bundle = bundle;
+        }
+    }
+}
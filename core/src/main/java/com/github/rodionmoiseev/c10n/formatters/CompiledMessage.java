@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.formatters;
+
+/**
+ * <p>A message template pre-processed by {@link MessageFormatter#compile(java.lang.reflect.Method, String, java.util.Locale)},
+ * ready to be formatted repeatedly with different arguments.
+ *
+ * <p>Compiled messages are not required to be thread-safe.
+ *
+ * @author rodion
+ */
+public interface CompiledMessage {
+    /**
+     * Return the message with the argument placeholders
+     * replaced with the given argument values.
+     *
+     * @param args The actual argument values passed to the method
+     * @return Formatted string with the argument placeholders replaced
+     */
+    String format(Object... args);
+}
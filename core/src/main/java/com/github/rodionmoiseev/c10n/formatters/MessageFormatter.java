@@ -39,4 +39,18 @@ public interface MessageFormatter {
      * @return Formatted string with the argument placeholders replaced
      */
     String format(Method method, String message, Locale locale, Object... args);
+
+    /**
+     * Pre-process the message, so that it can be formatted repeatedly
+     * with different arguments, for instance when rendering messages in batches.
+     * The default implementation simply delegates to {@link #format(Method, String, Locale, Object...)}.
+     *
+     * @param method  The method for which the message is compiled
+     * @param message The translated message as it is declared in the method annotation
+     * @param locale  resolved locale of the message
+     * @return compiled message (not null)
+     */
+    default CompiledMessage compile(Method method, String message, Locale locale) {
+        return args -> format(method, message, locale, args);
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugin;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>C10N extension plugin observing rendered messages without affecting them,
+ * e.g. for auditing, analytics or reporting of untranslated messages.
+ *
+ * <p>Unlike {@link C10NPlugin}, asynchronous plugins are not called on the
+ * thread invoking the c10n method. Each invocation is recorded as an immutable
+ * {@link InvocationRecord} and queued, and the records are passed to
+ * {@link #observe(InvocationRecord)} on the executor configured with
+ * {@link AsyncPluginPolicy}. Records are observed in invocation order.
+ *
+ * <p>Asynchronous plugins should be installed at configuration time using
+ * the {@link com.github.rodionmoiseev.c10n.C10NConfigBase#installAsyncPlugin(AsyncC10NPlugin)}
+ * method.
+ *
+ * @author rodion
+ */
+public interface AsyncC10NPlugin {
+    /**
+     * <p>Observe a c10n method invocation. Exceptions thrown by this method
+     * are passed to the uncaught exception handler of the executing thread,
+     * and do not prevent further records from being observed.
+     *
+     * @param record invocation record (not null)
+     */
+    void observe(InvocationRecord record);
+
+    /**
+     * <p>Determines whether this plugin should observe invocations of the given
+     * method. The check is performed once per method, when the c10n proxy is created.
+     *
+     * <p>By default, plugins observe all methods.
+     *
+     * @param c10nInterface c10n interface the proxy is created for (not null)
+     * @param method        method of the c10n interface (not null)
+     * @return {@code true} if the plugin should observe the method
+     * @see C10NPlugin#appliesTo(Class, Method)
+     */
+    default boolean appliesTo(Class<?> c10nInterface, Method method) {
+        return true;
+    }
+}
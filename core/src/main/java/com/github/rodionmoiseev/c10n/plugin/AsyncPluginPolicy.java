@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugin;
+
+import com.github.rodionmoiseev.c10n.share.utils.Preconditions;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>Policy for delivering invocation records to {@link AsyncC10NPlugin}s.
+ *
+ * <p>Records are queued in a bounded queue, and delivered on the policy executor.
+ * When the queue is full, records are either dropped ({@link Overflow#DROP}),
+ * or the invoking thread waits for space to become available ({@link Overflow#BLOCK}):
+ * <pre><code>
+ *   setAsyncPluginPolicy(AsyncPluginPolicy.of(executor, 10000, AsyncPluginPolicy.Overflow.BLOCK));
+ * </code></pre>
+ *
+ * <p>Any executor may be used, including one running each task on
+ * a new virtual thread.
+ *
+ * @author rodion
+ */
+public final class AsyncPluginPolicy {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final Executor executor;
+    private final int capacity;
+    private final Overflow overflow;
+
+    /**
+     * <p>What happens to invocation records when the queue is full.
+     */
+    public enum Overflow {
+        /**
+         * <p>Records are discarded, the invoking thread never waits.
+         */
+        DROP,
+        /**
+         * <p>The invoking thread waits until there is space in the queue.
+         * Records are still dropped when waiting could not end, i.e. when
+         * they are queued by a plugin on the delivery thread, or when the executor
+         * rejects the delivery, and when the invoking thread is interrupted.
+         */
+        BLOCK
+    }
+
+    private AsyncPluginPolicy(Executor executor, int capacity, Overflow overflow) {
+        this.executor = executor;
+        this.capacity = capacity;
+        this.overflow = overflow;
+    }
+
+    /**
+     * <p>Records are delivered on a daemon thread shared by all c10n factories,
+     * with up to 1024 records queued per factory. Records are dropped
+     * when the queue is full.
+     *
+     * @return default policy
+     */
+    public static AsyncPluginPolicy defaultPolicy() {
+        return of(DefaultExecutor.INSTANCE, DEFAULT_CAPACITY, Overflow.DROP);
+    }
+
+    /**
+     * @param executor executor to deliver records on (not null)
+     * @param capacity maximum number of queued records (positive)
+     * @param overflow what to do with records when the queue is full (not null)
+     * @return new policy
+     */
+    public static AsyncPluginPolicy of(Executor executor, int capacity, Overflow overflow) {
+        Preconditions.assertNotNull(executor, "executor");
+        Preconditions.assertNotNull(overflow, "overflow");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        return new AsyncPluginPolicy(executor, capacity, overflow);
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    /*
+     * Created on first use only
+     */
+    private static final class DefaultExecutor {
+        static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "c10n-async-plugins");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -18,6 +18,8 @@ package com.github.rodionmoiseev.c10n.plugin;
 
 import com.github.rodionmoiseev.c10n.InvocationDetails;
 
+import java.lang.reflect.Method;
+
 /**
  * C10N extension plugin.
  *
@@ -65,4 +67,42 @@ public interface C10NPlugin {
     PluginResult format(String resolvedMessage,
                         Object resolvedReturnValue,
                         InvocationDetails invocationDetails);
+
+    /**
+     * <p>
+     * Determines whether this plugin should be applied to invocations
+     * of the given method. The check is performed once per method,
+     * when the c10n proxy is created, and {@link #format(String, Object, InvocationDetails)}
+     * is only called for methods this plugin applies to.
+     *
+     * <p>
+     * By default, plugins apply to all methods.
+     *
+     * @param c10nInterface c10n interface the proxy is created for (not null)
+     * @param method        method of the c10n interface (not null)
+     * @return {@code true} if the plugin should be applied to the method
+     */
+    default boolean appliesTo(Class<?> c10nInterface, Method method) {
+        return true;
+    }
+
+    /**
+     * <p>
+     * Called before the c10n message factory resolves and formats
+     * the message, giving the plugin a chance to skip message resolution
+     * altogether (for example, when the result would be discarded anyway).
+     *
+     * <p>
+     * Returning a non-{@code null} {@link PluginResult} ends the invocation
+     * immediately with the result value: the message is not resolved, and
+     * neither {@link #format(String, Object, InvocationDetails)} of any plugin
+     * nor asynchronous plugins are called. Returning {@code null} (the default)
+     * continues with the regular invocation.
+     *
+     * @param invocationDetails c10n proxy invocation data (not null)
+     * @return a plugin result object ending the invocation, or {@code null}
+     */
+    default PluginResult beforeResolve(InvocationDetails invocationDetails) {
+        return null;
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugin;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * <p>Immutable record of a single c10n method invocation, passed
+ * to {@link AsyncC10NPlugin}s.
+ *
+ * <p>The argument array is copied, but the arguments themselves are not,
+ * so plugins should not rely on the state of mutable arguments.
+ *
+ * @author rodion
+ */
+public final class InvocationRecord {
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Class<?> c10nInterface;
+    private final Method method;
+    private final Object[] methodArguments;
+    private final Locale locale;
+    private final String message;
+    private final long timestamp;
+
+    public InvocationRecord(Class<?> c10nInterface,
+                            Method method,
+                            Object[] methodArguments,
+                            Locale locale,
+                            String message,
+                            long timestamp) {
+        this.c10nInterface = c10nInterface;
+        this.method = method;
+        this.methodArguments = null != methodArguments ? methodArguments.clone() : NO_ARGS;
+        this.locale = locale;
+        this.message = message;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return The c10n interface class containing the invoked method
+     */
+    public Class<?> getC10nInterface() {
+        return c10nInterface;
+    }
+
+    /**
+     * @return The c10n method that was invoked
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return Copy of the arguments passed to the c10n method (empty if none)
+     */
+    public Object[] getMethodArguments() {
+        return methodArguments.clone();
+    }
+
+    /**
+     * @return The locale the message was rendered in
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * @return The message rendered for the invocation
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return Time of the invocation, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "InvocationRecord{" +
+                "c10nInterface=" + c10nInterface +
+                ", method=" + method +
+                ", methodArguments=" + Arrays.toString(methodArguments) +
+                ", locale=" + locale +
+                ", message='" + message + '\'' +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
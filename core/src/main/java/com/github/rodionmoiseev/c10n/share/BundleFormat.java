@@ -0,0 +1,121 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * <p>File formats c10n resource bundles can be read from. Each format
+ * is located on the class path by its file extension, e.g.
+ * <code>Messages_ja.json</code> for the <code>Messages</code> base name.
+ *
+ * <p>All formats are parsed into {@link C10NPropertiesBundle}. Nested
+ * objects (JSON) and mappings (YAML) are flattened into dotted keys, so that
+ * <pre><code>
+ *   {"com": {"example": {"Messages": {"greeting": "Hello!"}}}}
+ * </code></pre>
+ * defines the <code>com.example.Messages.greeting</code> key.
+ *
+ * @author rodion
+ */
+public enum BundleFormat {
+    /**
+     * <code>.properties</code> files (or {@link ResourceBundle} classes)
+     */
+    PROPERTIES(ResourceBundle.Control.FORMAT_DEFAULT) {
+        @Override
+        C10NPropertiesBundle parse(Reader reader) throws IOException {
+            return C10NPropertiesBundle.parse(reader);
+        }
+    },
+    /**
+     * <code>.json</code> files
+     */
+    JSON(Collections.singletonList("c10n.json")) {
+        @Override
+        C10NPropertiesBundle parse(Reader reader) throws IOException {
+            C10NPropertiesBundle.Builder builder = new C10NPropertiesBundle.Builder();
+            new JsonBundleParser(reader, builder).parse();
+            return builder.build();
+        }
+    },
+    /**
+     * <code>.yaml</code> or <code>.yml</code> files. Only block mappings of
+     * scalar values are supported (no sequences, flow collections or anchors).
+     */
+    YAML(Arrays.asList("c10n.yaml", "c10n.yml")) {
+        @Override
+        C10NPropertiesBundle parse(Reader reader) throws IOException {
+            C10NPropertiesBundle.Builder builder = new C10NPropertiesBundle.Builder();
+            new YamlBundleParser(reader, builder).parse();
+            return builder.build();
+        }
+    };
+
+    private final List<String> formats;
+
+    BundleFormat(List<String> formats) {
+        this.formats = formats;
+    }
+
+    /**
+     * @return format names passed to {@link ResourceBundle.Control#newBundle}
+     */
+    List<String> getFormats() {
+        return formats;
+    }
+
+    /**
+     * @param format one of the format names of this bundle format
+     * @return file extension for the given format, or {@code null}
+     * if the format is not a file format (i.e. <code>java.class</code>)
+     */
+    static String extensionOf(String format) {
+        switch (format) {
+            case "java.properties":
+                return "properties";
+            case "c10n.json":
+                return "json";
+            case "c10n.yaml":
+                return "yaml";
+            case "c10n.yml":
+                return "yml";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param format format name
+     * @return bundle format the given format name belongs to
+     */
+    static BundleFormat of(String format) {
+        for (BundleFormat bundleFormat : values()) {
+            if (bundleFormat.formats.contains(format)) {
+                return bundleFormat;
+            }
+        }
+        throw new IllegalArgumentException("Unknown bundle format: " + format);
+    }
+
+    abstract C10NPropertiesBundle parse(Reader reader) throws IOException;
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share;
+
+import com.github.rodionmoiseev.c10n.share.utils.Preconditions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * <p>Tracks modifications of resource bundle files, so that bundles can be
+ * reloaded while the application is running.
+ *
+ * <p>Bundle files residing on the file system are watched using a
+ * {@link WatchService}. Other resources (e.g. inside jar files)
+ * are polled for their last modification time, at most once per poll interval.
+ *
+ * <p>The watcher itself does not hold any bundles. It is consulted by
+ * {@link EncodedResourceControl#needsReload(String, java.util.Locale, String, ClassLoader, java.util.ResourceBundle, long)},
+ * so that only the bundles whose files have changed are reparsed and replaced
+ * in the {@link java.util.ResourceBundle} cache. Bundles for other locales
+ * or base names remain cached.
+ *
+ * @author rodion
+ */
+public final class BundleWatcher implements Closeable {
+    private static final long DEFAULT_POLL_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static volatile BundleWatcher shared = null;
+
+    private final long pollIntervalMillis;
+    //resource name -> tracked resource, for each class loader
+    private final Map<ClassLoader, Map<String, TrackedResource>> resources =
+            Collections.synchronizedMap(new WeakHashMap<ClassLoader, Map<String, TrackedResource>>());
+    //watched file -> number of the last change; change numbers (rather than times) are used,
+    //as the JDK advances the bundle load time on every lookup that does not reload it
+    private final Map<Path, Long> changes = new ConcurrentHashMap<>();
+    private final AtomicLong changeCount = new AtomicLong();
+    //whether any tracked resource is polled, rather than watched
+    private volatile boolean polling = false;
+    private final Map<Path, WatchKey> watchedDirs = new ConcurrentHashMap<>();
+    private WatchService watchService = null;
+    private boolean closed = false;
+
+    private BundleWatcher(long pollIntervalMillis) {
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    /**
+     * <p>Creates a new watcher, polling non-file resources every 5 seconds.
+     *
+     * @return new bundle watcher
+     */
+    public static BundleWatcher create() {
+        return new BundleWatcher(DEFAULT_POLL_INTERVAL_MILLIS);
+    }
+
+    /**
+     * <p>Creates a new watcher with the given poll interval for non-file resources.
+     *
+     * @param pollInterval minimum interval between modification checks of non-file resources
+     * @param unit         poll interval unit (not-null)
+     * @return new bundle watcher
+     */
+    public static BundleWatcher create(long pollInterval, TimeUnit unit) {
+        Preconditions.assertNotNull(unit, "unit");
+        if (pollInterval < 0) {
+            throw new IllegalArgumentException("pollInterval must not be negative: " + pollInterval);
+        }
+        return new BundleWatcher(unit.toMillis(pollInterval));
+    }
+
+    /**
+     * <p>Watcher shared by all configurations that do not specify their own.
+     * The watcher thread is a daemon thread, started once the first
+     * bundle file is tracked.
+     *
+     * @return the shared bundle watcher
+     */
+    public static BundleWatcher shared() {
+        BundleWatcher res = shared;
+        if (null == res) {
+            synchronized (BundleWatcher.class) {
+                res = shared;
+                if (null == res) {
+                    res = create();
+                    shared = res;
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * <p>Returns a number that changes whenever any of the tracked resources
+     * (or another file in their directories) may have been modified. Polled
+     * resources advance the generation once per poll interval.
+     *
+     * <p>Callers caching bundles may keep using them for as long as the
+     * generation stays the same, without asking the
+     * {@link java.util.ResourceBundle} cache to validate them.
+     *
+     * @return current generation of the tracked resources
+     */
+    public long generation() {
+        long generation = changeCount.get();
+        if (polling) {
+            generation += System.currentTimeMillis() / Math.max(1L, pollIntervalMillis);
+        }
+        return generation;
+    }
+
+    /**
+     * <p>Starts watching the given resource, and returns its current version,
+     * to be passed to {@link #track(ClassLoader, String, long)} once the resource has been read.
+     * The resource is watched before it is read, so that changes made while reading are not missed.
+     *
+     * @param loader       class loader the resource is loaded from
+     * @param resourceName name of the resource
+     * @return resource version
+     */
+    long version(ClassLoader loader, String resourceName) {
+        TrackedResource resource = resourceOf(loader, resourceName);
+        if (null == resource || null == resource.file) {
+            return 0L;
+        }
+        return changes.getOrDefault(resource.file, 0L);
+    }
+
+    /**
+     * <p>Marks the given resource as read.
+     *
+     * @param loader       class loader the resource was loaded from
+     * @param resourceName name of the resource
+     * @param version      version of the resource, obtained with
+     *                     {@link #version(ClassLoader, String)} before reading it
+     */
+    void track(ClassLoader loader, String resourceName, long version) {
+        TrackedResource resource = resourceOf(loader, resourceName);
+        if (null == resource) {
+            return;
+        }
+        resource.loadedVersion = version;
+        resource.loadedAt = System.currentTimeMillis();
+    }
+
+    private TrackedResource resourceOf(ClassLoader loader, String resourceName) {
+        Map<String, TrackedResource> byName = resourcesOf(loader);
+        TrackedResource resource = byName.get(resourceName);
+        if (null == resource) {
+            URL url = loader.getResource(resourceName);
+            if (null == url) {
+                return null;
+            }
+            Path file = toFile(url);
+            resource = new TrackedResource(url, null != file && watch(file.getParent()) ? file : null);
+            TrackedResource existing = byName.putIfAbsent(resourceName, resource);
+            if (null != existing) {
+                return existing;
+            }
+            if (null == resource.file) {
+                polling = true;
+            }
+        }
+        return resource;
+    }
+
+    /**
+     * <p>Checks whether the given resource has been modified since it was last read.
+     * Resources that are not tracked are never considered modified.
+     *
+     * @param loader       class loader the resource was loaded from
+     * @param resourceName name of the resource
+     * @return {@code true} if the resource needs to be reloaded
+     */
+    boolean isModified(ClassLoader loader, String resourceName) {
+        TrackedResource resource = resourcesOf(loader).get(resourceName);
+        if (null == resource) {
+            return false;
+        }
+        if (null != resource.file) {
+            return changes.getOrDefault(resource.file, 0L) != resource.loadedVersion;
+        }
+        return resource.poll(pollIntervalMillis);
+    }
+
+    /**
+     * <p>Stops watching for file modifications. Bundles that are already
+     * cached will no longer be reloaded.
+     */
+    @Override
+    public void close() throws IOException {
+        WatchService ws;
+        synchronized (this) {
+            closed = true;
+            ws = watchService;
+            watchService = null;
+        }
+        if (null != ws) {
+            ws.close();
+        }
+    }
+
+    private Map<String, TrackedResource> resourcesOf(ClassLoader loader) {
+        synchronized (resources) {
+            Map<String, TrackedResource> res = resources.get(loader);
+            if (null == res) {
+                res = new ConcurrentHashMap<>();
+                resources.put(loader, res);
+            }
+            return res;
+        }
+    }
+
+    private static Path toFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI()).toAbsolutePath();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private synchronized boolean watch(Path dir) {
+        if (closed || null == dir) {
+            return false;
+        }
+        if (watchedDirs.containsKey(dir)) {
+            return true;
+        }
+        try {
+            if (null == watchService) {
+                watchService = FileSystems.getDefault().newWatchService();
+                Thread thread = new Thread(new WatchLoop(watchService), "c10n-bundle-watcher");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            watchedDirs.put(dir, dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE));
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            //fall back to polling
+            return false;
+        }
+    }
+
+    private final class WatchLoop implements Runnable {
+        private final WatchService ws;
+
+        WatchLoop(WatchService ws) {
+            this.ws = ws;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    WatchKey key = ws.take();
+                    Path dir = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == OVERFLOW) {
+                            //events were lost, assume every file in the directory has changed
+                            for (Map<String, TrackedResource> byName : snapshot()) {
+                                for (TrackedResource resource : byName.values()) {
+                                    if (null != resource.file && dir.equals(resource.file.getParent())) {
+                                        changes.put(resource.file, changeCount.incrementAndGet());
+                                    }
+                                }
+                            }
+                        } else {
+                            changes.put(dir.resolve((Path) event.context()), changeCount.incrementAndGet());
+                        }
+                    }
+                    if (!key.reset()) {
+                        watchedDirs.remove(dir);
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                //watcher closed
+            }
+        }
+
+        private Iterable<Map<String, TrackedResource>> snapshot() {
+            synchronized (resources) {
+                return new ArrayList<>(resources.values());
+            }
+        }
+    }
+
+    private static final class TrackedResource {
+        final URL url;
+        final Path file;
+        volatile long loadedVersion = 0L;
+        volatile long loadedAt = 0L;
+        volatile long lastPolled;
+
+        TrackedResource(URL url, Path file) {
+            this.url = url;
+            this.file = file;
+            this.lastPolled = System.currentTimeMillis();
+        }
+
+        boolean poll(long pollIntervalMillis) {
+            long now = System.currentTimeMillis();
+            if (now - lastPolled < pollIntervalMillis) {
+                return false;
+            }
+            lastPolled = now;
+            try {
+                URLConnection connection = url.openConnection();
+                connection.setUseCaches(false);
+                return connection.getLastModified() >= loadedAt;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
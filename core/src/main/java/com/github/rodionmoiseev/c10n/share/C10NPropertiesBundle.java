@@ -0,0 +1,342 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+/**
+ * <p>Resource bundle backed by an immutable, read-optimised map of
+ * {@link String} values, parsed from a <code>.properties</code> file
+ * (or any of the other {@link BundleFormat}s).
+ *
+ * <p>Unlike {@link java.util.PropertyResourceBundle}, which parses through
+ * {@link java.util.Properties} (a synchronised {@link java.util.Hashtable}),
+ * this bundle is parsed in a single pass straight into an open-addressing
+ * table, and lookups do not take any locks.
+ *
+ * <p>The <code>.properties</code> syntax supported is the same as
+ * {@link java.util.Properties#load(Reader)}.
+ *
+ * @author rodion
+ */
+public final class C10NPropertiesBundle extends ResourceBundle {
+    private final String[] keys;
+    private final String[] values;
+    private final int size;
+    private final Set<String> keySet = new KeySet();
+
+    private C10NPropertiesBundle(String[] keys, String[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * <p>Parses a bundle from the given <code>.properties</code> contents.
+     * The reader is not closed.
+     *
+     * @param reader <code>.properties</code> contents
+     * @return parsed bundle
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if the contents contain a malformed <code>\\uXXXX</code> escape
+     */
+    public static C10NPropertiesBundle parse(Reader reader) throws IOException {
+        Builder builder = new Builder();
+        new Parser(reader, builder).parse();
+        return builder.build();
+    }
+
+    /**
+     * @param key bundle key
+     * @return value for the given key in this bundle (excluding parents), or {@code null}
+     */
+    public String lookup(String key) {
+        int mask = keys.length - 1;
+        for (int i = spread(key.hashCode()) & mask; ; i = (i + 1) & mask) {
+            String k = keys[i];
+            if (null == k) {
+                return null;
+            }
+            if (k.equals(key)) {
+                return values[i];
+            }
+        }
+    }
+
+    @Override
+    protected Object handleGetObject(String key) {
+        if (null == key) {
+            throw new NullPointerException("key");
+        }
+        return lookup(key);
+    }
+
+    @Override
+    protected Set<String> handleKeySet() {
+        return keySet;
+    }
+
+    @Override
+    public Enumeration<String> getKeys() {
+        if (null == parent) {
+            return Collections.enumeration(keySet);
+        }
+        Set<String> res = new LinkedHashSet<>(keySet);
+        res.addAll(Collections.list(parent.getKeys()));
+        return Collections.enumeration(res);
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String && null != lookup((String) o);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int next = advance(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next < keys.length;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    String key = keys[next];
+                    next = advance(next + 1);
+                    return key;
+                }
+
+                private int advance(int i) {
+                    while (i < keys.length && null == keys[i]) {
+                        i++;
+                    }
+                    return i;
+                }
+            };
+        }
+    }
+
+    /**
+     * <p>Collects parsed entries into an open-addressing table,
+     * kept at most half full. Later entries replace earlier ones.
+     */
+    static final class Builder {
+        private String[] keys = new String[16];
+        private String[] values = new String[16];
+        private int size = 0;
+
+        void put(String key, String value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            if (insert(keys, values, key, value)) {
+                size++;
+            }
+        }
+
+        C10NPropertiesBundle build() {
+            return new C10NPropertiesBundle(keys, values, size);
+        }
+
+        private void resize() {
+            String[] newKeys = new String[keys.length * 2];
+            String[] newValues = new String[values.length * 2];
+            for (int i = 0; i < keys.length; i++) {
+                if (null != keys[i]) {
+                    insert(newKeys, newValues, keys[i], values[i]);
+                }
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+
+        private static boolean insert(String[] keys, String[] values, String key, String value) {
+            int mask = keys.length - 1;
+            for (int i = spread(key.hashCode()) & mask; ; i = (i + 1) & mask) {
+                if (null == keys[i]) {
+                    keys[i] = key;
+                    values[i] = value;
+                    return true;
+                }
+                if (keys[i].equals(key)) {
+                    values[i] = value;
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Single pass <code>.properties</code> parser, reading the input
+     * in blocks and unescaping keys and values as it goes.
+     */
+    private static final class Parser {
+        private final Reader reader;
+        private final Builder builder;
+        private final char[] buf = new char[8192];
+        private int pos = 0;
+        private int limit = 0;
+        private final StringBuilder key = new StringBuilder();
+        private final StringBuilder value = new StringBuilder();
+
+        Parser(Reader reader, Builder builder) {
+            this.reader = reader;
+            this.builder = builder;
+        }
+
+        void parse() throws IOException {
+            int c;
+            while ((c = skipWhitespace(read())) >= 0) {
+                if (c == '\n' || c == '\r') {
+                    continue;
+                }
+                if (c == '#' || c == '!') {
+                    skipLine();
+                    continue;
+                }
+                key.setLength(0);
+                value.setLength(0);
+                //key, up to an unescaped separator or whitespace
+                while (c >= 0 && c != '=' && c != ':' && !isWhitespace(c) && !isEol(c)) {
+                    c = append(key, c);
+                }
+                c = skipWhitespace(c);
+                if (c == '=' || c == ':') {
+                    c = skipWhitespace(read());
+                }
+                while (c >= 0 && !isEol(c)) {
+                    c = append(value, c);
+                }
+                builder.put(key.toString(), value.toString());
+            }
+        }
+
+        /**
+         * Appends the given (possibly escaped) character to the output.
+         *
+         * @return the character following it
+         */
+        private int append(StringBuilder out, int c) throws IOException {
+            if (c != '\\') {
+                out.append((char) c);
+                return read();
+            }
+            c = read();
+            switch (c) {
+                case -1:
+                    return -1;
+                case '\r':
+                    c = read();
+                    if (c == '\n') {
+                        c = read();
+                    }
+                    //line continuation
+                    return skipWhitespace(c);
+                case '\n':
+                    return skipWhitespace(read());
+                case 't':
+                    out.append('\t');
+                    break;
+                case 'n':
+                    out.append('\n');
+                    break;
+                case 'r':
+                    out.append('\r');
+                    break;
+                case 'f':
+                    out.append('\f');
+                    break;
+                case 'u':
+                    out.append(readUnicode());
+                    break;
+                default:
+                    out.append((char) c);
+            }
+            return read();
+        }
+
+        private char readUnicode() throws IOException {
+            int res = 0;
+            for (int i = 0; i < 4; i++) {
+                int d = Character.digit(read(), 16);
+                if (d < 0) {
+                    throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                }
+                res = (res << 4) | d;
+            }
+            return (char) res;
+        }
+
+        private void skipLine() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (c >= 0 && !isEol(c));
+        }
+
+        private int skipWhitespace(int c) throws IOException {
+            while (isWhitespace(c)) {
+                c = read();
+            }
+            return c;
+        }
+
+        private static boolean isWhitespace(int c) {
+            return c == ' ' || c == '\t' || c == '\f';
+        }
+
+        private static boolean isEol(int c) {
+            return c == '\n' || c == '\r';
+        }
+
+        private int read() throws IOException {
+            if (pos == limit) {
+                limit = reader.read(buf, 0, buf.length);
+                pos = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buf[pos++];
+        }
+    }
+}
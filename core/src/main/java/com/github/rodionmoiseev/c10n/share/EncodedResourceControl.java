@@ -24,26 +24,81 @@ import java.net.URLConnection;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.List;
 import java.util.Locale;
-import java.util.PropertyResourceBundle;
 import java.util.ResourceBundle;
 
 public class EncodedResourceControl extends ResourceBundle.Control {
     private final String charsetName;
+    private final BundleWatcher watcher;
+    private final BundleFormat bundleFormat;
 
     public EncodedResourceControl(String charsetName) {
+        this(charsetName, null);
+    }
+
+    /**
+     * @param charsetName bundle file encoding
+     * @param watcher     watcher used to detect modified bundle files, or {@code null}
+     *                    if bundles should never be reloaded
+     */
+    public EncodedResourceControl(String charsetName, BundleWatcher watcher) {
+        this(charsetName, watcher, BundleFormat.PROPERTIES);
+    }
+
+    /**
+     * @param charsetName  bundle file encoding
+     * @param watcher      watcher used to detect modified bundle files, or {@code null}
+     *                     if bundles should never be reloaded
+     * @param bundleFormat format of the bundle files
+     */
+    public EncodedResourceControl(String charsetName, BundleWatcher watcher, BundleFormat bundleFormat) {
         this.charsetName = charsetName;
+        this.watcher = watcher;
+        this.bundleFormat = bundleFormat;
+    }
+
+    @Override
+    public List<String> getFormats(String baseName) {
+        if (null == baseName) {
+            throw new NullPointerException();
+        }
+        return bundleFormat.getFormats();
+    }
+
+    @Override
+    public long getTimeToLive(String baseName, Locale locale) {
+        if (null != watcher) {
+            //validate on every lookup, see needsReload(). c10n only looks
+            //bundles up again once the watcher generation changes
+            return 0L;
+        }
+        return super.getTimeToLive(baseName, locale);
+    }
+
+    @Override
+    public boolean needsReload(String baseName, Locale locale, String format,
+                               ClassLoader loader, ResourceBundle bundle, long loadTime) {
+        if (null == watcher) {
+            return super.needsReload(baseName, locale, format, loader, bundle, loadTime);
+        }
+        String extension = BundleFormat.extensionOf(format);
+        return null != extension
+                && watcher.isModified(loader, toResourceName(toBundleName(baseName, locale), extension));
     }
 
     @Override
     public ResourceBundle newBundle(String baseName, Locale locale,
                                     String format, ClassLoader loader, boolean reload)
             throws IllegalAccessException, InstantiationException, IOException {
-        if (format.equals("java.properties")) {
+        String extension = BundleFormat.extensionOf(format);
+        if (null != extension) {
             String bundleName = toBundleName(baseName, locale);
-            final String resourceName = toResourceName(bundleName, "properties");
+            final String resourceName = toResourceName(bundleName, extension);
             final ClassLoader classLoader = loader;
             final boolean reloadFlag = reload;
+            //taken before reading, so that changes made while reading trigger another reload
+            long version = null != watcher ? watcher.version(loader, resourceName) : 0L;
             InputStream stream;
             try {
                 stream = AccessController
@@ -74,8 +129,15 @@ public class EncodedResourceControl extends ResourceBundle.Control {
             } catch (PrivilegedActionException e) {
                 throw (IOException) e.getException();
             }
+            if (null == stream) {
+                return null;
+            }
             try {
-                return new PropertyResourceBundle(new InputStreamReader(stream, charsetName));
+                ResourceBundle bundle = BundleFormat.of(format).parse(new InputStreamReader(stream, charsetName));
+                if (null != watcher) {
+                    watcher.track(loader, resourceName, version);
+                }
+                return bundle;
             } finally {
                 stream.close();
             }
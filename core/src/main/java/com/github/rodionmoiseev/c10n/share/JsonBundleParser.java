@@ -0,0 +1,247 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * <p>Streaming JSON parser, flattening nested objects into dotted keys.
+ * Array elements are keyed by their index, and <code>null</code> values
+ * are skipped. The current key path is kept in a single reusable buffer.
+ *
+ * @author rodion
+ */
+final class JsonBundleParser {
+    private final Reader reader;
+    private final C10NPropertiesBundle.Builder builder;
+    private final char[] buf = new char[8192];
+    private int pos = 0;
+    private int limit = 0;
+    private int pushedBack = -2;
+    private int line = 1;
+    private final StringBuilder path = new StringBuilder();
+    private final StringBuilder text = new StringBuilder();
+
+    JsonBundleParser(Reader reader, C10NPropertiesBundle.Builder builder) {
+        this.reader = reader;
+        this.builder = builder;
+    }
+
+    void parse() throws IOException {
+        if (skipWhitespace() != '{') {
+            throw error("Expected '{'");
+        }
+        parseObject();
+        if (skipWhitespace() != -1) {
+            throw error("Unexpected content after the root object");
+        }
+    }
+
+    private void parseObject() throws IOException {
+        int base = path.length();
+        int c = skipWhitespace();
+        if (c == '}') {
+            return;
+        }
+        while (true) {
+            if (c != '"') {
+                throw error("Expected a key");
+            }
+            String key = readString();
+            if (skipWhitespace() != ':') {
+                throw error("Expected ':'");
+            }
+            path.setLength(base);
+            if (base > 0) {
+                path.append('.');
+            }
+            path.append(key);
+            parseValue(skipWhitespace());
+            c = skipWhitespace();
+            if (c == '}') {
+                break;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+            c = skipWhitespace();
+        }
+        path.setLength(base);
+    }
+
+    private void parseArray() throws IOException {
+        int base = path.length();
+        int c = skipWhitespace();
+        if (c == ']') {
+            return;
+        }
+        for (int i = 0; ; i++) {
+            path.setLength(base);
+            path.append('.').append(i);
+            parseValue(c);
+            c = skipWhitespace();
+            if (c == ']') {
+                break;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or ']'");
+            }
+            c = skipWhitespace();
+        }
+        path.setLength(base);
+    }
+
+    private void parseValue(int c) throws IOException {
+        switch (c) {
+            case '{':
+                parseObject();
+                break;
+            case '[':
+                parseArray();
+                break;
+            case '"':
+                builder.put(path.toString(), readString());
+                break;
+            case 'n':
+                expectLiteral("null");
+                break;
+            case 't':
+                expectLiteral("true");
+                builder.put(path.toString(), "true");
+                break;
+            case 'f':
+                expectLiteral("false");
+                builder.put(path.toString(), "false");
+                break;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    builder.put(path.toString(), readNumber(c));
+                } else {
+                    throw error("Unexpected value");
+                }
+        }
+    }
+
+    private String readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            switch (c) {
+                case -1:
+                    throw error("Unterminated string");
+                case '"':
+                    return text.toString();
+                case '\\':
+                    readEscape();
+                    break;
+                default:
+                    text.append((char) c);
+            }
+        }
+    }
+
+    private void readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                text.append((char) c);
+                break;
+            case 'b':
+                text.append('\b');
+                break;
+            case 'f':
+                text.append('\f');
+                break;
+            case 'n':
+                text.append('\n');
+                break;
+            case 'r':
+                text.append('\r');
+                break;
+            case 't':
+                text.append('\t');
+                break;
+            case 'u':
+                int res = 0;
+                for (int i = 0; i < 4; i++) {
+                    int d = Character.digit(read(), 16);
+                    if (d < 0) {
+                        throw error("Malformed \\uxxxx escape");
+                    }
+                    res = (res << 4) | d;
+                }
+                text.append((char) res);
+                break;
+            default:
+                throw error("Invalid escape");
+        }
+    }
+
+    private String readNumber(int c) throws IOException {
+        text.setLength(0);
+        while (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+            text.append((char) c);
+            c = read();
+        }
+        pushedBack = c;
+        return text.toString();
+    }
+
+    private void expectLiteral(String literal) throws IOException {
+        for (int i = 1; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw error("Expected '" + literal + "'");
+            }
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\uFEFF');
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        if (pos == limit) {
+            limit = reader.read(buf, 0, buf.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        char c = buf[pos++];
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at line " + line);
+    }
+}
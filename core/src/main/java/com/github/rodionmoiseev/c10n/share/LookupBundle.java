@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.github.rodionmoiseev.c10n.share.utils.Preconditions.assertNotNull;
+
+/**
+ * <p>Base of resource bundle views over translation stores that look values
+ * up one key at a time, such as translation catalogs and translation sources.
+ *
+ * <p>Key checks look up the key in each bundle of the parent chain, instead
+ * of materialising the full key set, which is what the default
+ * {@link ResourceBundle#containsKey(String)} does.
+ *
+ * @author rodion
+ */
+public abstract class LookupBundle extends ResourceBundle {
+    private static final ResourceBundle.Control candidateLocales =
+            ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_DEFAULT);
+
+    private final Locale locale;
+
+    protected LookupBundle(Locale locale) {
+        this.locale = locale;
+    }
+
+    /**
+     * <p>Links bundles for the candidate locales of the given locale
+     * (e.g. <code>ja_JP</code> &rarr; <code>ja</code> &rarr; root) child to parent,
+     * the same way properties-based resource bundles are linked.
+     *
+     * @param locale          requested locale (not null)
+     * @param candidateBundle creates the bundle of a candidate locale,
+     *                        or returns <code>null</code> to skip the locale
+     * @param <B>             bundle type
+     * @return bundle of the most specific candidate locale, or <code>null</code>
+     * if all candidate locales were skipped
+     */
+    public static <B extends LookupBundle> B chain(Locale locale, Function<Locale, B> candidateBundle) {
+        B first = null;
+        B child = null;
+        for (Locale candidate : candidateLocales.getCandidateLocales("", locale)) {
+            B bundle = candidateBundle.apply(candidate);
+            if (null != bundle) {
+                if (null == child) {
+                    first = bundle;
+                } else {
+                    child.setParent(bundle);
+                }
+                child = bundle;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * <p>Look up the value of the key in this bundle, without falling back to the parent.
+     *
+     * @param key bundle key (not null)
+     * @return the value, or <code>null</code> if this bundle has none
+     */
+    protected abstract String lookup(String key);
+
+    /**
+     * @return keys with a value in this bundle, without the keys of the parent
+     */
+    @Override
+    protected abstract Set<String> handleKeySet();
+
+    /**
+     * @return the parent bundle, or <code>null</code> if there is none
+     */
+    protected LookupBundle parentBundle() {
+        return (LookupBundle) parent;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    protected final Object handleGetObject(String key) {
+        return lookup(key);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        assertNotNull(key, "key");
+        for (LookupBundle b = this; null != b; b = b.parentBundle()) {
+            if (null != b.lookup(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Enumeration<String> getKeys() {
+        Set<String> keys = new HashSet<>(handleKeySet());
+        if (null != parent) {
+            keys.addAll(Collections.list(parent.getKeys()));
+        }
+        return Collections.enumeration(keys);
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * <p>Line based parser for the block mapping subset of YAML, flattening
+ * nested mappings into dotted keys. Supported values are plain,
+ * single-quoted and double-quoted scalars, as well as literal (<code>|</code>)
+ * and folded (<code>&gt;</code>) block scalars. Sequences, flow collections,
+ * anchors and tags are rejected.
+ *
+ * @author rodion
+ */
+final class YamlBundleParser {
+    private final BufferedReader reader;
+    private final C10NPropertiesBundle.Builder builder;
+    private final StringBuilder path = new StringBuilder();
+    //indentation and path length of each enclosing mapping
+    private int[] indents = new int[8];
+    private int[] pathLengths = new int[8];
+    private int depth = 0;
+    private String pendingLine = null;
+    private int line = 0;
+
+    YamlBundleParser(Reader reader, C10NPropertiesBundle.Builder builder) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.builder = builder;
+    }
+
+    void parse() throws IOException {
+        String l;
+        while (null != (l = nextLine())) {
+            int indent = indentOf(l);
+            if (indent == l.length() || l.charAt(indent) == '#'
+                    || l.startsWith("---") || l.startsWith("...") || l.startsWith("%")) {
+                continue;
+            }
+            while (depth > 0 && indent <= indents[depth - 1]) {
+                depth--;
+            }
+            path.setLength(depth > 0 ? pathLengths[depth - 1] : 0);
+
+            int valueStart = parseKey(l, indent);
+            String rest = l.substring(valueStart).trim();
+            if (rest.isEmpty() || rest.charAt(0) == '#') {
+                push(indent);
+            } else if (rest.charAt(0) == '|' || rest.charAt(0) == '>') {
+                builder.put(path.toString(), readBlockScalar(rest, indent));
+            } else {
+                String value = parseScalar(rest);
+                if (null != value) {
+                    builder.put(path.toString(), value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the key of the given line to the path.
+     *
+     * @return index of the value following the key separator
+     */
+    private int parseKey(String l, int indent) {
+        char first = l.charAt(indent);
+        if (first == '-' || first == '[' || first == '{' || first == '&' || first == '*' || first == '!' || first == '?') {
+            throw error("Only block mappings are supported");
+        }
+        if (path.length() > 0) {
+            path.append('.');
+        }
+        int i;
+        if (first == '"' || first == '\'') {
+            int end = closingQuote(l, indent);
+            path.append(unquote(l.substring(indent, end + 1)));
+            i = end + 1;
+            while (i < l.length() && l.charAt(i) == ' ') {
+                i++;
+            }
+            if (i >= l.length() || l.charAt(i) != ':') {
+                throw error("Expected ':'");
+            }
+            return i + 1;
+        }
+        for (i = indent; i < l.length(); i++) {
+            if (l.charAt(i) == ':' && (i + 1 == l.length() || l.charAt(i + 1) == ' ')) {
+                path.append(l, indent, i);
+                return i + 1;
+            }
+        }
+        throw error("Expected 'key: value'");
+    }
+
+    private String parseScalar(String value) {
+        char first = value.charAt(0);
+        if (first == '"' || first == '\'') {
+            int end = closingQuote(value, 0);
+            String rest = value.substring(end + 1).trim();
+            if (!rest.isEmpty() && rest.charAt(0) != '#') {
+                throw error("Unexpected content after quoted value");
+            }
+            return unquote(value.substring(0, end + 1));
+        }
+        if (first == '[' || first == '{' || first == '&' || first == '*' || first == '!') {
+            throw error("Only scalar values are supported");
+        }
+        int comment = value.indexOf(" #");
+        String plain = comment >= 0 ? value.substring(0, comment).trim() : value;
+        if (plain.equals("~") || plain.equals("null")) {
+            return null;
+        }
+        return plain;
+    }
+
+    private String readBlockScalar(String header, int parentIndent) throws IOException {
+        boolean folded = header.charAt(0) == '>';
+        boolean strip = header.length() > 1 && header.charAt(1) == '-';
+        boolean keep = header.length() > 1 && header.charAt(1) == '+';
+        StringBuilder sb = new StringBuilder();
+        int blockIndent = -1;
+        int trailingNewlines = 0;
+        String l;
+        while (null != (l = nextLine())) {
+            int indent = indentOf(l);
+            boolean blank = indent == l.length();
+            if (!blank && indent <= parentIndent) {
+                pendingLine = l;
+                break;
+            }
+            if (blank) {
+                trailingNewlines++;
+                continue;
+            }
+            if (blockIndent < 0) {
+                blockIndent = indent;
+            } else if (indent < blockIndent) {
+                throw error("Inconsistent block scalar indentation");
+            }
+            if (sb.length() > 0) {
+                if (!folded) {
+                    sb.append('\n');
+                } else if (trailingNewlines == 0) {
+                    sb.append(' ');
+                }
+                //folded lines separated by blank lines keep only the blank lines' newlines
+            }
+            for (int i = 0; i < trailingNewlines; i++) {
+                sb.append('\n');
+            }
+            trailingNewlines = 0;
+            sb.append(l, blockIndent, l.length());
+        }
+        if (!strip && sb.length() > 0) {
+            sb.append('\n');
+            if (keep) {
+                for (int i = 0; i < trailingNewlines; i++) {
+                    sb.append('\n');
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private int closingQuote(String s, int start) {
+        char quote = s.charAt(start);
+        for (int i = start + 1; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (quote == '"' && c == '\\') {
+                i++;
+            } else if (c == quote) {
+                if (quote == '\'' && i + 1 < s.length() && s.charAt(i + 1) == '\'') {
+                    i++;
+                } else {
+                    return i;
+                }
+            }
+        }
+        throw error("Unterminated quoted value");
+    }
+
+    private String unquote(String quoted) {
+        String body = quoted.substring(1, quoted.length() - 1);
+        if (quoted.charAt(0) == '\'') {
+            return body.replace("''", "'");
+        }
+        if (body.indexOf('\\') < 0) {
+            return body;
+        }
+        StringBuilder sb = new StringBuilder(body.length());
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c != '\\' || i + 1 == body.length()) {
+                sb.append(c);
+                continue;
+            }
+            c = body.charAt(++i);
+            switch (c) {
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case '0':
+                    sb.append('\0');
+                    break;
+                case 'u':
+                    if (i + 4 >= body.length()) {
+                        throw error("Malformed \\uxxxx escape");
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(body.substring(i + 1, i + 5), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Malformed \\uxxxx escape");
+                    }
+                    i += 4;
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void push(int indent) {
+        if (depth == indents.length) {
+            indents = Arrays.copyOf(indents, depth * 2);
+            pathLengths = Arrays.copyOf(pathLengths, depth * 2);
+        }
+        indents[depth] = indent;
+        pathLengths[depth] = path.length();
+        depth++;
+    }
+
+    private int indentOf(String l) {
+        int i = 0;
+        while (i < l.length() && l.charAt(i) == ' ') {
+            i++;
+        }
+        if (i < l.length() && l.charAt(i) == '\t') {
+            throw error("Tabs are not allowed for indentation");
+        }
+        return i;
+    }
+
+    private String nextLine() throws IOException {
+        if (null != pendingLine) {
+            String res = pendingLine;
+            pendingLine = null;
+            return res;
+        }
+        String res = reader.readLine();
+        if (null != res) {
+            line++;
+            if (line == 1 && !res.isEmpty() && res.charAt(0) == '\uFEFF') {
+                res = res.substring(1);
+            }
+        }
+        return res;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at line " + line);
+    }
+}
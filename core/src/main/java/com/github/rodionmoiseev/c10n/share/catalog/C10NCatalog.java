@@ -0,0 +1,295 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share.catalog;
+
+import com.github.rodionmoiseev.c10n.formatters.CompiledMessage;
+import com.github.rodionmoiseev.c10n.share.LookupBundle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.github.rodionmoiseev.c10n.share.utils.Preconditions.assertNotNull;
+
+/**
+ * <p>Read-only view of a binary translation catalog written by {@link C10NCatalogWriter}.
+ *
+ * <p>The catalog file is memory-mapped, so translations are paged in by
+ * the operating system only when they are first looked up, and the
+ * mapped pages are shared between all processes reading the same file.
+ * No parsing takes place at open time, apart from the header validation.
+ *
+ * <p>Values are also stored as pre-parsed {@link java.text.MessageFormat} templates
+ * (see {@link #getCompiledMessage(ResourceBundle, String)}), so that they can be formatted
+ * without parsing the template text.
+ *
+ * <p>Instances are immutable and thread-safe.
+ *
+ * @author rodion
+ * @see C10NCatalogWriter
+ */
+public final class C10NCatalog {
+    private final Path file;
+    private final ByteBuffer buf;
+    private final int keyCount;
+    private final int bucketCount;
+    private final int indexOffset;
+    private final int stringTableOffset;
+    private final Map<Locale, Integer> localeTableOffsets;
+    private final Map<Integer, CompiledTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<Locale, ResourceBundle> bundles = new ConcurrentHashMap<>();
+
+    private C10NCatalog(Path file, ByteBuffer buf) throws IOException {
+        this.file = file;
+        this.buf = buf;
+        if (buf.capacity() < CatalogFormat.HEADER_SIZE || buf.getInt(0) != CatalogFormat.MAGIC) {
+            throw new IOException("Not a c10n catalog file: " + file);
+        }
+        int version = buf.getInt(4);
+        if (version != CatalogFormat.VERSION) {
+            throw new IOException("Unsupported c10n catalog version " + version + ": " + file);
+        }
+        this.keyCount = buf.getInt(8);
+        this.bucketCount = buf.getInt(12);
+        int localeCount = buf.getInt(16);
+        this.indexOffset = buf.getInt(20);
+        int localeTableOffset = buf.getInt(24);
+        this.stringTableOffset = buf.getInt(28);
+        Map<Locale, Integer> offsets = new HashMap<>();
+        for (int i = 0; i < localeCount; i++) {
+            int tableOffset = localeTableOffset + 4 * i * CatalogFormat.localeEntrySize(keyCount);
+            Locale locale = CatalogFormat.parseLocale(readString(buf.getInt(tableOffset)));
+            offsets.put(locale, tableOffset + 4);
+        }
+        this.localeTableOffsets = Collections.unmodifiableMap(offsets);
+    }
+
+    /**
+     * <p>Memory-map the given catalog file.
+     *
+     * @param file catalog file (not null)
+     * @return catalog instance (not null)
+     * @throws IOException if the file cannot be read or is not a valid catalog
+     */
+    public static C10NCatalog open(Path file) throws IOException {
+        assertNotNull(file, "file");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new C10NCatalog(file, mapped);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return all locales that have at least one translation in this catalog
+     */
+    public Set<Locale> getLocales() {
+        return localeTableOffsets.keySet();
+    }
+
+    /**
+     * <p>Look up the translation for the given key, for exactly
+     * the given locale (no locale fallback is performed).
+     *
+     * @param key    bundle key (not null)
+     * @param locale exact locale of the translation (not null)
+     * @return the translated message, or <code>null</code> if not present
+     */
+    public String get(String key, Locale locale) {
+        Integer valueTable = localeTableOffsets.get(locale);
+        if (null == valueTable) {
+            return null;
+        }
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        return valueAt(valueTable, slot);
+    }
+
+    /**
+     * <p>Get a resource bundle view of this catalog for the given locale.
+     * The bundle falls back through the candidate locales of the given locale
+     * (e.g. <code>ja_JP</code> &rarr; <code>ja</code> &rarr; root), the same
+     * way properties-based resource bundles do.
+     *
+     * @param locale requested locale (not null)
+     * @return resource bundle backed by this catalog (not null)
+     */
+    public ResourceBundle getBundle(Locale locale) {
+        assertNotNull(locale, "locale");
+        return bundles.computeIfAbsent(locale, this::createBundle);
+    }
+
+    /**
+     * <p>Get the pre-parsed {@link java.text.MessageFormat} template of the value the
+     * given catalog bundle returns for the key. Formatting the returned message is
+     * equivalent to <code>MessageFormat.format(bundle.getString(key), args)</code>.
+     *
+     * @param bundle bundle obtained from {@link #getBundle(Locale)} of any catalog (not null)
+     * @param key    bundle key (not null)
+     * @return the compiled template, or <code>null</code> if the bundle is not a catalog bundle,
+     * the key is not translated, or the value was not pre-parsed
+     */
+    public static CompiledMessage getCompiledMessage(ResourceBundle bundle, String key) {
+        assertNotNull(bundle, "bundle");
+        assertNotNull(key, "key");
+        if (!(bundle instanceof CatalogBundle)) {
+            return null;
+        }
+        return ((CatalogBundle) bundle).compiledTemplate(key);
+    }
+
+    private ResourceBundle createBundle(Locale locale) {
+        //skipping locales absent from the catalog
+        CatalogBundle first = LookupBundle.chain(locale, candidate -> {
+            Integer valueTable = localeTableOffsets.get(candidate);
+            return null != valueTable ? new CatalogBundle(candidate, valueTable) : null;
+        });
+        return first != null ? first : new CatalogBundle(locale, null);
+    }
+
+    int slotOf(String key) {
+        if (keyCount == 0) {
+            return -1;
+        }
+        byte[] encoded = CatalogFormat.utf8(key);
+        int bucket = CatalogFormat.hash(encoded, 0) % bucketCount;
+        int d = buf.getInt(indexOffset + 4 * bucket);
+        int slot = d < 0 ? -d - 1 : CatalogFormat.hash(encoded, d) % keyCount;
+        int keyOffset = buf.getInt(indexOffset + 4 * (bucketCount + slot));
+        return keyEquals(keyOffset, encoded) ? slot : -1;
+    }
+
+    private String valueAt(int valueTable, int slot) {
+        int valueOffset = buf.getInt(valueTable + 4 * slot);
+        if (valueOffset == CatalogFormat.ABSENT) {
+            return null;
+        }
+        return readString(valueOffset);
+    }
+
+    private CompiledTemplate templateAt(int valueTable, int slot) {
+        int templateOffset = buf.getInt(valueTable + 4 * (keyCount + slot));
+        if (templateOffset == CatalogFormat.ABSENT) {
+            return null;
+        }
+        return templates.computeIfAbsent(templateOffset, offset -> {
+            ByteBuffer view = buf.duplicate();
+            //skip the length prefix
+            view.position(stringTableOffset + offset + 4);
+            return CompiledTemplate.decode(view);
+        });
+    }
+
+    private boolean keyEquals(int keyOffset, byte[] key) {
+        int pos = stringTableOffset + keyOffset;
+        if (buf.getInt(pos) != key.length) {
+            return false;
+        }
+        pos += 4;
+        for (int i = 0; i < key.length; i++) {
+            if (buf.get(pos + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString(int offset) {
+        int pos = stringTableOffset + offset;
+        int length = buf.getInt(pos);
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buf.duplicate();
+        view.position(pos + 4);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String keyAt(int slot) {
+        return readString(buf.getInt(indexOffset + 4 * (bucketCount + slot)));
+    }
+
+    @Override
+    public String toString() {
+        return "C10NCatalog{" +
+                "file=" + file +
+                ", keys=" + keyCount +
+                ", locales=" + localeTableOffsets.keySet() +
+                '}';
+    }
+
+    /*
+     * Resource bundle view of one locale table. Values are
+     * decoded from the mapped buffer on every lookup.
+     */
+    private final class CatalogBundle extends LookupBundle {
+        private final Integer valueTable;
+
+        CatalogBundle(Locale locale, Integer valueTable) {
+            super(locale);
+            this.valueTable = valueTable;
+        }
+
+        @Override
+        protected String lookup(String key) {
+            if (null == valueTable) {
+                return null;
+            }
+            int slot = slotOf(key);
+            return slot < 0 ? null : valueAt(valueTable, slot);
+        }
+
+        /*
+         * Template of the value getString(key) returns, following the parent chain
+         */
+        CompiledTemplate compiledTemplate(String key) {
+            int slot = slotOf(key);
+            if (slot < 0) {
+                return null;
+            }
+            for (CatalogBundle rb = this; rb != null; rb = (CatalogBundle) rb.parentBundle()) {
+                if (null != rb.valueTable && buf.getInt(rb.valueTable + 4 * slot) != CatalogFormat.ABSENT) {
+                    return templateAt(rb.valueTable, slot);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected Set<String> handleKeySet() {
+            Set<String> keys = new HashSet<>();
+            if (null != valueTable) {
+                for (int slot = 0; slot < keyCount; slot++) {
+                    if (buf.getInt(valueTable + 4 * slot) != CatalogFormat.ABSENT) {
+                        keys.add(keyAt(slot));
+                    }
+                }
+            }
+            return keys;
+        }
+    }
+}
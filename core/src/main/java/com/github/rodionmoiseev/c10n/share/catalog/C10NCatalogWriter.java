@@ -0,0 +1,264 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share.catalog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static com.github.rodionmoiseev.c10n.share.utils.Preconditions.assertNotNull;
+
+/**
+ * <p>Builds binary c10n translation catalogs, readable by {@link C10NCatalog}.
+ * Values are stored both as text, and pre-parsed as {@link java.text.MessageFormat}
+ * templates where possible.
+ *
+ * <p>Sample usage:
+ * <pre><code>
+ *   new C10NCatalogWriter()
+ *       .put(Locale.ROOT, "com.example.Messages.greeting", "Hello!")
+ *       .put(Locale.JAPANESE, "com.example.Messages.greeting", "こんにちは!")
+ *       .write(Paths.get("messages.c10n"));
+ * </code></pre>
+ *
+ * @author rodion
+ * @see C10NCatalog
+ */
+public final class C10NCatalogWriter {
+    private final Map<Locale, Map<String, String>> translations = new LinkedHashMap<>();
+
+    /**
+     * <p>Add a translation to the catalog. Adding the same key twice
+     * for the same locale overwrites the previous value.
+     *
+     * @param locale locale of the translation (not null)
+     * @param key    bundle key, as generated by {@link com.github.rodionmoiseev.c10n.share.utils.ReflectionUtils#getC10NKey(String, java.lang.reflect.Method)} (not null)
+     * @param value  translated message (not null)
+     * @return this writer instance
+     */
+    public C10NCatalogWriter put(Locale locale, String key, String value) {
+        assertNotNull(locale, "locale");
+        assertNotNull(key, "key");
+        assertNotNull(value, "value");
+        translations.computeIfAbsent(locale, l -> new LinkedHashMap<>()).put(key, value);
+        return this;
+    }
+
+    /**
+     * <p>Add all translations for the given locale.
+     *
+     * @param locale       locale of the translations (not null)
+     * @param translations key to translated message mapping (not null)
+     * @return this writer instance
+     */
+    public C10NCatalogWriter putAll(Locale locale, Map<String, String> translations) {
+        assertNotNull(translations, "translations");
+        for (Map.Entry<String, String> entry : translations.entrySet()) {
+            put(locale, entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    public void write(Path file) throws IOException {
+        assertNotNull(file, "file");
+        try (OutputStream os = Files.newOutputStream(file)) {
+            write(os);
+        }
+    }
+
+    public void write(OutputStream os) throws IOException {
+        assertNotNull(os, "os");
+        List<String> keys = allKeys();
+        List<byte[]> encodedKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            encodedKeys.add(CatalogFormat.utf8(key));
+        }
+        int keyCount = keys.size();
+        int bucketCount = Math.max(1, keyCount);
+        int[] displacements = new int[bucketCount];
+        int[] slotToKey = buildPerfectHash(encodedKeys, displacements);
+
+        StringTable strings = new StringTable();
+        int[] keyOffsets = new int[keyCount];
+        for (int slot = 0; slot < keyCount; slot++) {
+            keyOffsets[slot] = strings.add(encodedKeys.get(slotToKey[slot]));
+        }
+        List<Locale> locales = new ArrayList<>(translations.keySet());
+        int[] localeOffsets = new int[locales.size()];
+        int[][] valueOffsets = new int[locales.size()][keyCount];
+        int[][] templateOffsets = new int[locales.size()][keyCount];
+        for (int i = 0; i < locales.size(); i++) {
+            Locale locale = locales.get(i);
+            Map<String, String> values = translations.get(locale);
+            localeOffsets[i] = strings.add(CatalogFormat.utf8(locale.toString()));
+            for (int slot = 0; slot < keyCount; slot++) {
+                String value = values.get(keys.get(slotToKey[slot]));
+                valueOffsets[i][slot] = value != null ? strings.add(CatalogFormat.utf8(value)) : CatalogFormat.ABSENT;
+                CompiledTemplate template = value != null ? CompiledTemplate.parse(value) : null;
+                templateOffsets[i][slot] = template != null ? strings.add(template.encode()) : CatalogFormat.ABSENT;
+            }
+        }
+
+        int indexOffset = CatalogFormat.HEADER_SIZE;
+        int localeTableOffset = indexOffset + 4 * (bucketCount + keyCount);
+        int stringTableOffset = localeTableOffset
+                + 4 * locales.size() * CatalogFormat.localeEntrySize(keyCount);
+
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(CatalogFormat.MAGIC);
+        out.writeInt(CatalogFormat.VERSION);
+        out.writeInt(keyCount);
+        out.writeInt(bucketCount);
+        out.writeInt(locales.size());
+        out.writeInt(indexOffset);
+        out.writeInt(localeTableOffset);
+        out.writeInt(stringTableOffset);
+        for (int d : displacements) {
+            out.writeInt(d);
+        }
+        for (int offset : keyOffsets) {
+            out.writeInt(offset);
+        }
+        for (int i = 0; i < locales.size(); i++) {
+            out.writeInt(localeOffsets[i]);
+            for (int offset : valueOffsets[i]) {
+                out.writeInt(offset);
+            }
+            for (int offset : templateOffsets[i]) {
+                out.writeInt(offset);
+            }
+        }
+        strings.writeTo(out);
+        out.flush();
+    }
+
+    private List<String> allKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        for (Map<String, String> values : translations.values()) {
+            keys.addAll(values.keySet());
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /*
+     * Hash and displace: keys are grouped into buckets by their
+     * seed-0 hash. Buckets are then processed largest first, looking
+     * for a seed that places all bucket keys into free slots. Single-key
+     * buckets are placed into remaining free slots directly, which is
+     * encoded as a negative displacement value.
+     */
+    private static int[] buildPerfectHash(List<byte[]> keys, int[] displacements) {
+        int size = keys.size();
+        int[] slotToKey = new int[size];
+        if (size == 0) {
+            return slotToKey;
+        }
+        List<List<Integer>> buckets = new ArrayList<>(displacements.length);
+        for (int i = 0; i < displacements.length; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            buckets.get(CatalogFormat.hash(keys.get(i), 0) % displacements.length).add(i);
+        }
+        Integer[] order = new Integer[displacements.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+        boolean[] occupied = new boolean[size];
+        int b = 0;
+        for (; b < order.length; b++) {
+            List<Integer> bucket = buckets.get(order[b]);
+            if (bucket.size() <= 1) {
+                break;
+            }
+            int seed = 1;
+            int[] slots = new int[bucket.size()];
+            while (!tryPlace(keys, bucket, seed, occupied, slots)) {
+                seed++;
+            }
+            for (int i = 0; i < slots.length; i++) {
+                occupied[slots[i]] = true;
+                slotToKey[slots[i]] = bucket.get(i);
+            }
+            displacements[order[b]] = seed;
+        }
+        int freeSlot = 0;
+        for (; b < order.length; b++) {
+            List<Integer> bucket = buckets.get(order[b]);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            while (occupied[freeSlot]) {
+                freeSlot++;
+            }
+            occupied[freeSlot] = true;
+            slotToKey[freeSlot] = bucket.get(0);
+            displacements[order[b]] = -freeSlot - 1;
+        }
+        return slotToKey;
+    }
+
+    private static boolean tryPlace(List<byte[]> keys, List<Integer> bucket, int seed,
+                                    boolean[] occupied, int[] slots) {
+        for (int i = 0; i < slots.length; i++) {
+            int slot = CatalogFormat.hash(keys.get(bucket.get(i)), seed) % occupied.length;
+            if (occupied[slot]) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (slots[j] == slot) {
+                    return false;
+                }
+            }
+            slots[i] = slot;
+        }
+        return true;
+    }
+
+    /*
+     * Deduplicating table of length-prefixed UTF-8 strings and compiled templates
+     */
+    private static final class StringTable {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<ByteBuffer, Integer> offsets = new HashMap<>();
+
+        int add(byte[] value) throws IOException {
+            ByteBuffer dedupKey = ByteBuffer.wrap(value);
+            Integer offset = offsets.get(dedupKey);
+            if (null == offset) {
+                offset = out.size();
+                out.writeInt(value.length);
+                out.write(value);
+                offsets.put(dedupKey, offset);
+            }
+            return offset;
+        }
+
+        void writeTo(OutputStream os) throws IOException {
+            out.flush();
+            bytes.writeTo(os);
+        }
+    }
+}
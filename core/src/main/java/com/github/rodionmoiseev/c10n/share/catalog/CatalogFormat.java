@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * <p>Layout constants and helpers shared by {@link C10NCatalog} and
+ * {@link C10NCatalogWriter}.
+ *
+ * <p>All integers are stored big-endian. The file consists of:
+ * <ol>
+ * <li>Header: magic, version, key count (N), bucket count (B), locale count (L) and the
+ * absolute offsets of the key index, locale table and string table sections.</li>
+ * <li>Key index: B bucket displacement values followed by N key string offsets. Keys are
+ * placed using a minimal perfect hash (hash and displace), so each key occupies exactly
+ * one of the N slots.</li>
+ * <li>Locale table: for each of the L locales, the locale string offset followed by
+ * N value string offsets, one per key slot ({@link #ABSENT} if the key is not translated),
+ * and N compiled template offsets, one per key slot ({@link #ABSENT}
+ * if the value could not be pre-parsed, see {@link CompiledTemplate}).</li>
+ * <li>String table: length-prefixed UTF-8 strings and compiled templates referenced by the offsets above.</li>
+ * </ol>
+ *
+ * @author rodion
+ */
+final class CatalogFormat {
+    static final int MAGIC = 0x4331304E; //"C10N"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8 * 4;
+    static final int ABSENT = -1;
+
+    private static final int FNV_OFFSET_BASIS = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private CatalogFormat() {
+    }
+
+    /**
+     * <p>32-bit FNV-1a hash of the UTF-8 encoded key, salted with the
+     * given seed. Seed <code>0</code> is used for bucket selection,
+     * other seeds for resolving bucket collisions.
+     *
+     * <p>The result is passed through the murmur3 finalizer, since plain
+     * FNV-1a low bits do not depend on the seed enough to separate
+     * colliding keys in small tables.
+     *
+     * @param key  UTF-8 encoded key
+     * @param seed hash seed
+     * @return non-negative hash value
+     */
+    static int hash(byte[] key, int seed) {
+        int h = FNV_OFFSET_BASIS ^ seed;
+        for (byte b : key) {
+            h ^= b & 0xff;
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h & 0x7fffffff;
+    }
+
+    /**
+     * @param keyCount number of keys in the catalog
+     * @return number of integers in each locale table entry
+     */
+    static int localeEntrySize(int keyCount) {
+        return 1 + 2 * keyCount;
+    }
+
+    static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * <p>Locales are stored in their {@link Locale#toString()} form,
+     * with {@link Locale#ROOT} represented by an empty string.
+     *
+     * @param locale string representation of the locale
+     * @return the parsed locale (not null)
+     */
+    static Locale parseLocale(String locale) {
+        String[] parts = locale.split("_", 3);
+        switch (parts.length) {
+            case 1:
+                return new Locale(parts[0]);
+            case 2:
+                return new Locale(parts[0], parts[1]);
+            default:
+                return new Locale(parts[0], parts[1], parts[2]);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share.catalog;
+
+import com.github.rodionmoiseev.c10n.formatters.CompiledMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.Format;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>{@link java.text.MessageFormat} template, pre-parsed into literal segments
+ * and argument slots (with their format type and style), as stored in catalogs.
+ *
+ * <p>Formatting is equivalent to <code>MessageFormat.format(template, args)</code>,
+ * without parsing the template. Templates using <code>choice</code> formats
+ * are not pre-parsed, since their sub-messages may contain further arguments.
+ *
+ * <p>Instances are immutable and thread-safe.
+ *
+ * @author rodion
+ */
+final class CompiledTemplate implements CompiledMessage {
+    private static final byte LITERAL = 0;
+    private static final byte ARGUMENT = 1;
+    private static final byte NUMBER = 2;
+    private static final byte DATE = 3;
+    private static final byte TIME = 4;
+
+    private static final String[] DATE_TIME_STYLES = {"", "short", "medium", "long", "full"};
+    private static final int[] DATE_TIME_FORMATS = {DateFormat.DEFAULT, DateFormat.SHORT,
+            DateFormat.MEDIUM, DateFormat.LONG, DateFormat.FULL};
+
+    private final byte[] kinds;
+    //literal text, or format style for typed arguments
+    private final String[] texts;
+    private final int[] arguments;
+
+    private CompiledTemplate(byte[] kinds, String[] texts, int[] arguments) {
+        this.kinds = kinds;
+        this.texts = texts;
+        this.arguments = arguments;
+    }
+
+    /**
+     * <p>Parse the template following the {@link java.text.MessageFormat} pattern syntax.
+     *
+     * @param template message template (not null)
+     * @return the parsed template, or <code>null</code> if the template is malformed
+     * or uses formats that are not pre-parsed
+     */
+    static CompiledTemplate parse(String template) {
+        List<Byte> kinds = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        StringBuilder[] segments = {new StringBuilder(), new StringBuilder(), new StringBuilder(), new StringBuilder()};
+        int part = 0;
+        int braceStack = 0;
+        boolean inQuote = false;
+        for (int i = 0; i < template.length(); i++) {
+            char ch = template.charAt(i);
+            if (part == 0) {
+                if (ch == '\'') {
+                    if (i + 1 < template.length() && template.charAt(i + 1) == '\'') {
+                        segments[0].append(ch);
+                        i++;
+                    } else {
+                        inQuote = !inQuote;
+                    }
+                } else if (ch == '{' && !inQuote) {
+                    part = 1;
+                } else {
+                    segments[0].append(ch);
+                }
+            } else if (inQuote) {
+                segments[part].append(ch);
+                if (ch == '\'') {
+                    inQuote = false;
+                }
+            } else {
+                switch (ch) {
+                    case ',':
+                        if (part < 3) {
+                            part++;
+                        } else {
+                            segments[part].append(ch);
+                        }
+                        break;
+                    case '{':
+                        braceStack++;
+                        segments[part].append(ch);
+                        break;
+                    case '}':
+                        if (braceStack == 0) {
+                            if (!addArgument(segments, kinds, texts, arguments)) {
+                                return null;
+                            }
+                            part = 0;
+                        } else {
+                            braceStack--;
+                            segments[part].append(ch);
+                        }
+                        break;
+                    case ' ':
+                        //leading spaces of the format type are ignored
+                        if (part != 2 || segments[2].length() > 0) {
+                            segments[part].append(ch);
+                        }
+                        break;
+                    case '\'':
+                        inQuote = true;
+                        segments[part].append(ch);
+                        break;
+                    default:
+                        segments[part].append(ch);
+                }
+            }
+        }
+        if (part != 0) {
+            //unmatched braces
+            return null;
+        }
+        addLiteral(segments[0], kinds, texts, arguments);
+        byte[] kindArray = new byte[kinds.size()];
+        int[] argumentArray = new int[arguments.size()];
+        for (int i = 0; i < kindArray.length; i++) {
+            kindArray[i] = kinds.get(i);
+            argumentArray[i] = arguments.get(i);
+        }
+        return new CompiledTemplate(kindArray, texts.toArray(new String[0]), argumentArray);
+    }
+
+    private static boolean addArgument(StringBuilder[] segments, List<Byte> kinds, List<String> texts, List<Integer> arguments) {
+        addLiteral(segments[0], kinds, texts, arguments);
+        int argument;
+        try {
+            argument = Integer.parseInt(segments[1].toString());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (argument < 0) {
+            return false;
+        }
+        String type = segments[2].toString().trim().toLowerCase(Locale.ROOT);
+        byte kind;
+        switch (type) {
+            case "":
+                kind = ARGUMENT;
+                break;
+            case "number":
+                kind = NUMBER;
+                break;
+            case "date":
+                kind = DATE;
+                break;
+            case "time":
+                kind = TIME;
+                break;
+            default:
+                //choice, or invalid format type
+                return false;
+        }
+        String style = segments[3].toString();
+        if ((kind == DATE || kind == TIME) && isCustomStyle(style, DATE_TIME_STYLES)) {
+            try {
+                new SimpleDateFormat(style, Locale.ROOT);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        } else if (kind == NUMBER && isCustomStyle(style, new String[]{"", "currency", "percent", "integer"})) {
+            try {
+                new DecimalFormat(style);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+        kinds.add(kind);
+        texts.add(style);
+        arguments.add(argument);
+        segments[1].setLength(0);
+        segments[2].setLength(0);
+        segments[3].setLength(0);
+        return true;
+    }
+
+    private static void addLiteral(StringBuilder literal, List<Byte> kinds, List<String> texts, List<Integer> arguments) {
+        if (literal.length() > 0) {
+            kinds.add(LITERAL);
+            texts.add(literal.toString());
+            arguments.add(-1);
+            literal.setLength(0);
+        }
+    }
+
+    private static boolean isCustomStyle(String style, String[] keywords) {
+        return indexOf(style, keywords) < 0;
+    }
+
+    private static int indexOf(String style, String[] keywords) {
+        String s = style.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < keywords.length; i++) {
+            if (keywords[i].equals(s)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String format(Object... args) {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < kinds.length; i++) {
+            byte kind = kinds[i];
+            if (kind == LITERAL) {
+                sb.append(texts[i]);
+                continue;
+            }
+            int argument = arguments[i];
+            if (null == args || argument >= args.length) {
+                sb.append('{').append(argument).append('}');
+                continue;
+            }
+            Object arg = args[argument];
+            if (null == arg) {
+                sb.append("null");
+            } else if (kind != ARGUMENT) {
+                sb.append(formatOf(kind, texts[i], locale).format(arg));
+            } else if (arg instanceof Number) {
+                sb.append(NumberFormat.getInstance(locale).format(arg));
+            } else if (arg instanceof Date) {
+                sb.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(arg));
+            } else if (arg instanceof String) {
+                sb.append((String) arg);
+            } else {
+                sb.append(arg);
+            }
+        }
+        return sb.toString();
+    }
+
+    /*
+     * Same formats as MessageFormat creates for each format type and style
+     */
+    private static Format formatOf(byte kind, String style, Locale locale) {
+        if (kind == NUMBER) {
+            switch (style.trim().toLowerCase(Locale.ROOT)) {
+                case "":
+                    return NumberFormat.getInstance(locale);
+                case "currency":
+                    return NumberFormat.getCurrencyInstance(locale);
+                case "percent":
+                    return NumberFormat.getPercentInstance(locale);
+                case "integer":
+                    return NumberFormat.getIntegerInstance(locale);
+                default:
+                    return new DecimalFormat(style, DecimalFormatSymbols.getInstance(locale));
+            }
+        }
+        int styleId = indexOf(style, DATE_TIME_STYLES);
+        if (styleId < 0) {
+            return new SimpleDateFormat(style, locale);
+        }
+        return kind == DATE
+                ? DateFormat.getDateInstance(DATE_TIME_FORMATS[styleId], locale)
+                : DateFormat.getTimeInstance(DATE_TIME_FORMATS[styleId], locale);
+    }
+
+    /**
+     * @return binary form of this template, as stored in catalogs
+     */
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(kinds.length);
+            for (int i = 0; i < kinds.length; i++) {
+                out.writeByte(kinds[i]);
+                out.writeInt(arguments[i]);
+                byte[] text = CatalogFormat.utf8(texts[i]);
+                out.writeInt(text.length);
+                out.write(text);
+            }
+        } catch (IOException e) {
+            //not thrown by in-memory streams
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param buf buffer positioned at the start of the binary form
+     * @return template decoded from the given buffer
+     */
+    static CompiledTemplate decode(ByteBuffer buf) {
+        int count = buf.getInt();
+        byte[] kinds = new byte[count];
+        String[] texts = new String[count];
+        int[] arguments = new int[count];
+        for (int i = 0; i < count; i++) {
+            kinds[i] = buf.get();
+            arguments[i] = buf.getInt();
+            byte[] text = new byte[buf.getInt()];
+            buf.get(text);
+            texts[i] = new String(text, StandardCharsets.UTF_8);
+        }
+        return new CompiledTemplate(kinds, texts, arguments);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share.gettext;
+
+import com.github.rodionmoiseev.c10n.share.LookupBundle;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.github.rodionmoiseev.c10n.share.utils.Preconditions.assertNotNull;
+
+/**
+ * <p>Set of gettext <code>.mo</code> files of one text domain, one per locale.
+ *
+ * <p>Resource bundle views fall back through the candidate locales of the
+ * requested locale (e.g. <code>ja_JP</code> &rarr; <code>ja</code> &rarr; root),
+ * the same way properties-based resource bundles do.
+ *
+ * <p>Instances are immutable and thread-safe.
+ *
+ * @author rodion
+ * @see MoFile
+ */
+public final class GettextCatalog {
+    private final Map<Locale, MoFile> files;
+    private final Map<Locale, ResourceBundle> bundles = new ConcurrentHashMap<>();
+
+    private GettextCatalog(Map<Locale, MoFile> files) {
+        this.files = Collections.unmodifiableMap(new HashMap<>(files));
+    }
+
+    /**
+     * <p>Creates a catalog from the given <code>.mo</code> files.
+     *
+     * @param files <code>.mo</code> file for each locale (not null)
+     * @return catalog of the given files
+     */
+    public static GettextCatalog of(Map<Locale, MoFile> files) {
+        assertNotNull(files, "files");
+        return new GettextCatalog(files);
+    }
+
+    /**
+     * <p>Opens all <code>.mo</code> files of the given text domain, laid out
+     * the standard gettext way, i.e. <code>&lt;localeDir&gt;/&lt;locale&gt;/LC_MESSAGES/&lt;domain&gt;.mo</code>.
+     * Locale directory names such as <code>ja</code>, <code>pt_BR</code> or
+     * <code>ja_JP.UTF-8</code> are recognised.
+     *
+     * @param localeDir root directory of the locale tree (not null)
+     * @param domain    text domain name (not null)
+     * @return catalog of all <code>.mo</code> files found
+     * @throws IOException if any of the files cannot be opened
+     */
+    public static GettextCatalog open(Path localeDir, String domain) throws IOException {
+        assertNotNull(localeDir, "localeDir");
+        assertNotNull(domain, "domain");
+        Map<Locale, MoFile> files = new HashMap<>();
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(localeDir, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                Path moFile = dir.resolve("LC_MESSAGES").resolve(domain + ".mo");
+                if (Files.isRegularFile(moFile)) {
+                    files.put(parseLocale(dir.getFileName().toString()), MoFile.open(moFile));
+                }
+            }
+        }
+        return new GettextCatalog(files);
+    }
+
+    /**
+     * <p>Parses a POSIX locale name (<code>language[_territory][.codeset][@modifier]</code>).
+     */
+    static Locale parseLocale(String name) {
+        int end = name.length();
+        int dot = name.indexOf('.');
+        if (dot >= 0) {
+            end = dot;
+        }
+        int at = name.indexOf('@');
+        if (at >= 0 && at < end) {
+            end = at;
+        }
+        String[] parts = name.substring(0, end).split("_", 3);
+        if (parts[0].equals("C") || parts[0].equals("POSIX")) {
+            return Locale.ROOT;
+        }
+        return new Locale(parts[0], parts.length > 1 ? parts[1] : "", parts.length > 2 ? parts[2] : "");
+    }
+
+    /**
+     * @return locales of the files in this catalog
+     */
+    public Set<Locale> getLocales() {
+        return files.keySet();
+    }
+
+    /**
+     * <p>Get a resource bundle view of this catalog for the given locale.
+     *
+     * @param locale requested locale (not null)
+     * @return resource bundle backed by this catalog (not null)
+     */
+    public ResourceBundle getBundle(Locale locale) {
+        assertNotNull(locale, "locale");
+        return bundles.computeIfAbsent(locale, this::createBundle);
+    }
+
+    private ResourceBundle createBundle(Locale locale) {
+        //skipping locales without a file
+        MoBundle first = LookupBundle.chain(locale, candidate -> {
+            MoFile file = files.get(candidate);
+            return null != file ? new MoBundle(candidate, file) : null;
+        });
+        return first != null ? first : new MoBundle(locale, null);
+    }
+
+    @Override
+    public String toString() {
+        return "GettextCatalog{" +
+                "locales=" + files.keySet() +
+                '}';
+    }
+
+    /*
+     * Resource bundle view of one .mo file
+     */
+    private static final class MoBundle extends LookupBundle {
+        private final MoFile file;
+
+        MoBundle(Locale locale, MoFile file) {
+            super(locale);
+            this.file = file;
+        }
+
+        @Override
+        protected String lookup(String key) {
+            return null != file ? file.get(key) : null;
+        }
+
+        @Override
+        protected Set<String> handleKeySet() {
+            return null != file ? file.keySet() : Collections.<String>emptySet();
+        }
+    }
+}
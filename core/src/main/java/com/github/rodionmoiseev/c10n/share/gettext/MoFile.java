@@ -0,0 +1,326 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.share.gettext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.github.rodionmoiseev.c10n.share.utils.Preconditions.assertNotNull;
+
+/**
+ * <p>Read-only view of a GNU gettext <code>.mo</code> file.
+ *
+ * <p>The file is memory-mapped, and keys are resolved through the hash table
+ * embedded in the file (or by binary search over the sorted message ids, if
+ * the file was compiled without one). No Java maps are built at open time,
+ * and strings are only decoded when they are looked up. Recently decoded
+ * translations are kept in a small direct-mapped cache.
+ *
+ * <p>Message ids are matched against c10n bundle keys as-is. For plural
+ * entries only the singular id is matched, and the first translation form
+ * is returned. The charset declared in the <code>.mo</code> header is
+ * used for both message ids and translations (UTF-8 if none is declared).
+ *
+ * <p>Instances are thread-safe.
+ *
+ * @author rodion
+ */
+public final class MoFile {
+    /**
+     * Default number of decoded translations to cache
+     */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private static final int MAGIC = 0x950412de;
+
+    private final Path file;
+    private final ByteBuffer buf;
+    private final int count;
+    private final int originalsOffset;
+    private final int translationsOffset;
+    private final int hashSize;
+    private final int hashOffset;
+    private final Charset charset;
+    private final CacheEntry[] cache;
+
+    private MoFile(Path file, ByteBuffer buf, int cacheSize) throws IOException {
+        this.file = file;
+        if (buf.capacity() < 28) {
+            throw new IOException("Not a gettext .mo file: " + file);
+        }
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.getInt(0) != MAGIC) {
+            buf.order(ByteOrder.BIG_ENDIAN);
+            if (buf.getInt(0) != MAGIC) {
+                throw new IOException("Not a gettext .mo file: " + file);
+            }
+        }
+        int majorRevision = buf.getInt(4) >>> 16;
+        if (majorRevision > 1) {
+            throw new IOException("Unsupported .mo file revision " + buf.getInt(4) + ": " + file);
+        }
+        this.buf = buf;
+        this.count = buf.getInt(8);
+        this.originalsOffset = buf.getInt(12);
+        this.translationsOffset = buf.getInt(16);
+        this.hashSize = buf.getInt(20);
+        this.hashOffset = buf.getInt(24);
+        this.charset = headerCharset();
+        if (cacheSize > 0) {
+            int size = 1;
+            while (size < cacheSize) {
+                size <<= 1;
+            }
+            this.cache = new CacheEntry[size];
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * <p>Memory-maps the given <code>.mo</code> file, with a cache of
+     * {@value #DEFAULT_CACHE_SIZE} decoded translations.
+     *
+     * @param moFile path to the <code>.mo</code> file (not null)
+     * @return mapped file view
+     * @throws IOException if the file cannot be read, or is not a valid <code>.mo</code> file
+     */
+    public static MoFile open(Path moFile) throws IOException {
+        return open(moFile, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * <p>Memory-maps the given <code>.mo</code> file.
+     *
+     * @param moFile    path to the <code>.mo</code> file (not null)
+     * @param cacheSize approximate number of decoded translations to cache,
+     *                  or <code>0</code> to decode on every lookup
+     * @return mapped file view
+     * @throws IOException if the file cannot be read, or is not a valid <code>.mo</code> file
+     */
+    public static MoFile open(Path moFile, int cacheSize) throws IOException {
+        assertNotNull(moFile, "moFile");
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize must not be negative: " + cacheSize);
+        }
+        try (FileChannel channel = FileChannel.open(moFile, StandardOpenOption.READ)) {
+            return new MoFile(moFile, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), cacheSize);
+        }
+    }
+
+    /**
+     * <p>Looks up the translation for the given message id.
+     *
+     * @param key message id (c10n bundle key, not null)
+     * @return translation, or {@code null} if the file contains no such message
+     */
+    public String get(String key) {
+        assertNotNull(key, "key");
+        if (null == cache) {
+            return find(key);
+        }
+        int slot = (key.hashCode() * 0x9E3779B9 >>> 16) & (cache.length - 1);
+        CacheEntry entry = cache[slot];
+        if (null != entry && entry.key.equals(key)) {
+            return entry.value;
+        }
+        String value = find(key);
+        //entries are immutable, so racing writes are benign
+        cache[slot] = new CacheEntry(key, value);
+        return value;
+    }
+
+    /**
+     * <p>Decodes all message ids in the file (excluding the header entry).
+     * For plural entries, only the singular id is included.
+     *
+     * @return all message ids
+     */
+    public Set<String> keySet() {
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            String key = decode(originalsOffset, i);
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return number of messages in the file, including the header entry
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return charset of the messages in this file
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    private String find(String key) {
+        if (key.isEmpty()) {
+            //the empty id is reserved for the header
+            return null;
+        }
+        int index = indexOf(key.getBytes(charset));
+        return index < 0 ? null : decode(translationsOffset, index);
+    }
+
+    private int indexOf(byte[] key) {
+        if (hashSize > 2) {
+            long hash = hashString(key);
+            int idx = (int) (hash % hashSize);
+            int incr = 1 + (int) (hash % (hashSize - 2));
+            for (int probes = 0; probes < hashSize; probes++) {
+                int entry = buf.getInt(hashOffset + 4 * idx);
+                if (entry == 0) {
+                    return -1;
+                }
+                int index = entry - 1;
+                if (index < count && compareOriginal(index, key) == 0) {
+                    return index;
+                }
+                idx = idx >= hashSize - incr ? idx - (hashSize - incr) : idx + incr;
+            }
+            return -1;
+        }
+        //message ids are sorted
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compareOriginal(mid, key);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares the message id at the given index with the key, the same way
+     * <code>strcmp</code> does (i.e. up to the plural form separator).
+     */
+    private int compareOriginal(int index, byte[] key) {
+        int length = buf.getInt(originalsOffset + 8 * index);
+        int offset = buf.getInt(originalsOffset + 8 * index + 4);
+        for (int i = 0; ; i++) {
+            int a = i < length ? buf.get(offset + i) & 0xff : 0;
+            int b = i < key.length ? key[i] & 0xff : 0;
+            if (a != b) {
+                return a - b;
+            }
+            if (a == 0) {
+                return 0;
+            }
+        }
+    }
+
+    private String decode(int table, int index) {
+        return decode(table, index, charset);
+    }
+
+    private String decode(int table, int index, Charset charset) {
+        int length = buf.getInt(table + 8 * index);
+        int offset = buf.getInt(table + 8 * index + 4);
+        int end = 0;
+        while (end < length && buf.get(offset + end) != 0) {
+            end++;
+        }
+        byte[] bytes = new byte[end];
+        ByteBuffer view = buf.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        return new String(bytes, charset);
+    }
+
+    private Charset headerCharset() {
+        if (count == 0 || buf.getInt(originalsOffset) != 0) {
+            return StandardCharsets.UTF_8;
+        }
+        //the header entry (empty message id) is always first
+        //the charset name itself is ASCII
+        String header = decode(translationsOffset, 0, StandardCharsets.ISO_8859_1);
+        int start = header.indexOf("charset=");
+        if (start < 0) {
+            return StandardCharsets.UTF_8;
+        }
+        start += "charset=".length();
+        int end = start;
+        while (end < header.length() && !Character.isWhitespace(header.charAt(end)) && header.charAt(end) != ';') {
+            end++;
+        }
+        try {
+            return Charset.forName(header.substring(start, end));
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    /**
+     * <p>The <code>hashpjw</code> function used by gettext for its hash tables.
+     */
+    static long hashString(byte[] str) {
+        long hval = 0;
+        for (byte b : str) {
+            hval = ((hval << 4) + (b & 0xff)) & 0xffffffffL;
+            long g = hval & 0xf0000000L;
+            if (g != 0) {
+                hval ^= g >>> 24;
+                hval ^= g;
+            }
+        }
+        return hval;
+    }
+
+    @Override
+    public String toString() {
+        return "MoFile{" +
+                "file=" + file +
+                ", messages=" + count +
+                ", charset=" + charset +
+                '}';
+    }
+
+    private static final class CacheEntry {
+        final String key;
+        final String value;
+
+        CacheEntry(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -32,10 +32,17 @@ import org.junit.runners.Suite;
         com.github.rodionmoiseev.c10n.guice.AllTests.class,
         com.github.rodionmoiseev.c10n.resources.AllTests.class,
         com.github.rodionmoiseev.c10n.share.AllTests.class,
+        com.github.rodionmoiseev.c10n.share.catalog.AllTests.class,
+        com.github.rodionmoiseev.c10n.share.gettext.AllTests.class,
         AnnotationBindingConfigurationErrorTest.class,
+        AsyncPluginTest.class,
         BundleKeyGlobalKeyPrefixTest.class,
+        BundleLoadingTest.class,
         BundleKeysTest.class,
+        BatchRenderingTest.class,
         C10NConfigBaseInstallTest.class,
+        ClassLoaderLeakTest.class,
+        CatalogBindingTest.class,
         C10NFiltersTest.class,
         C10NFilterTest.class,
         C10NMessageTest.class,
@@ -47,11 +54,15 @@ import org.junit.runners.Suite;
         DelegationTest.class,
         ExtendedMessageFormatterTest.class,
         FallbackC10NFactoryTest.class,
+        LocaleIndexTest.class,
         LocaleProviderTest.class,
         LocaleSelectionTest.class,
         PackageLocalInterfaceTest.class,
+        PartitionedBundleTest.class,
         PluginTest.class,
         ResourceBundleBindingTest.class,
+        RenderAllTest.class,
+        TranslationSourceTest.class,
         UntranslatedMessageHandlerTest.class
 })
 public class AllTests {
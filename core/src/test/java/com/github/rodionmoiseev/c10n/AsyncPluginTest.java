@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.plugin.AsyncC10NPlugin;
+import com.github.rodionmoiseev.c10n.plugin.AsyncPluginPolicy;
+import com.github.rodionmoiseev.c10n.plugin.InvocationRecord;
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class AsyncPluginTest {
+    @Rule
+    public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
+
+    private final List<InvocationRecord> records = new CopyOnWriteArrayList<>();
+    private final ManualExecutor executor = new ManualExecutor();
+
+    @Test
+    public void invocationRecordsAreDeliveredOnThePolicyExecutor() throws Exception {
+        Messages msg = factory(AsyncPluginPolicy.of(executor, 10, AsyncPluginPolicy.Overflow.DROP), records::add)
+                .get(Messages.class);
+        assertThat(msg.greeting("c10n"), is("Hello, c10n!"));
+        assertThat(records.size(), is(0));
+
+        executor.runAll();
+        assertThat(records.size(), is(1));
+        InvocationRecord record = records.get(0);
+        assertThat(record.getC10nInterface() == Messages.class, is(true));
+        assertThat(record.getMethod(), is(Messages.class.getMethod("greeting", String.class)));
+        assertThat(record.getMethodArguments(), is(new Object[]{"c10n"}));
+        assertThat(record.getLocale(), is(Locale.ENGLISH));
+        assertThat(record.getMessage(), is("Hello, c10n!"));
+    }
+
+    @Test
+    public void recordsAreDroppedWhenTheQueueIsFull() {
+        Messages msg = factory(AsyncPluginPolicy.of(executor, 2, AsyncPluginPolicy.Overflow.DROP), records::add)
+                .get(Messages.class);
+        for (int i = 0; i < 5; i++) {
+            msg.greeting("user" + i);
+        }
+        executor.runAll();
+        assertThat(records.size(), is(2));
+        assertThat(records.get(0).getMessage(), is("Hello, user0!"));
+        assertThat(records.get(1).getMessage(), is("Hello, user1!"));
+
+        msg.greeting("again");
+        executor.runAll();
+        assertThat(records.size(), is(3));
+    }
+
+    @Test
+    public void callersWaitForSpaceWhenBlocking() throws Exception {
+        Messages msg = factory(AsyncPluginPolicy.of(executor, 1, AsyncPluginPolicy.Overflow.BLOCK), records::add)
+                .get(Messages.class);
+        msg.greeting("first");
+        Thread caller = new Thread(() -> msg.greeting("second"));
+        caller.start();
+        caller.join(200);
+        assertThat(caller.isAlive(), is(true));
+
+        executor.runAll();
+        caller.join(5000);
+        assertThat(caller.isAlive(), is(false));
+        executor.runAll();
+        assertThat(records.size(), is(2));
+        assertThat(records.get(1).getMessage(), is("Hello, second!"));
+    }
+
+    @Test
+    public void recordsAreDroppedWhenTheExecutorRejectsDelivery() {
+        Executor rejecting = command -> {
+            throw new RejectedExecutionException("shut down");
+        };
+        Messages msg = factory(AsyncPluginPolicy.of(rejecting, 1, AsyncPluginPolicy.Overflow.BLOCK), records::add)
+                .get(Messages.class);
+        //would wait forever for the first record to be delivered
+        for (int i = 0; i < 3; i++) {
+            assertThat(msg.greeting("user" + i), is("Hello, user" + i + "!"));
+        }
+        assertThat(records.size(), is(0));
+    }
+
+    @Test
+    public void pluginsInvokingMessagesOnTheDeliveryThreadDoNotWaitForThemselves() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            Messages[] msg = new Messages[1];
+            AsyncC10NPlugin plugin = record -> {
+                if (record.getMethod().getName().equals("greeting")) {
+                    //the queue is full, and only this thread drains it
+                    msg[0].farewell();
+                    msg[0].farewell();
+                }
+                records.add(record);
+            };
+            msg[0] = factory(AsyncPluginPolicy.of(single, 1, AsyncPluginPolicy.Overflow.BLOCK), plugin)
+                    .get(Messages.class);
+            msg[0].greeting("c10n");
+            single.shutdown();
+            assertThat(single.awaitTermination(5, TimeUnit.SECONDS), is(true));
+            assertThat(records.size(), is(2));
+            assertThat(records.get(0).getMessage(), is("Hello, c10n!"));
+            assertThat(records.get(1).getMessage(), is("Bye!"));
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    public void pluginsOnlyObserveMethodsTheyApplyTo() {
+        AsyncC10NPlugin plugin = new AsyncC10NPlugin() {
+            @Override
+            public void observe(InvocationRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public boolean appliesTo(Class<?> c10nInterface, Method method) {
+                return method.getName().equals("farewell");
+            }
+        };
+        Messages msg = factory(AsyncPluginPolicy.of(Runnable::run, 10, AsyncPluginPolicy.Overflow.DROP), plugin)
+                .get(Messages.class);
+        msg.greeting("c10n");
+        assertThat(records.size(), is(0));
+        msg.farewell();
+        assertThat(records.size(), is(1));
+        assertThat(records.get(0).getMessage(), is("Bye!"));
+    }
+
+    private static C10NMsgFactory factory(AsyncPluginPolicy policy, AsyncC10NPlugin plugin) {
+        return C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                installAsyncPlugin(plugin);
+                setAsyncPluginPolicy(policy);
+            }
+        });
+    }
+
+    interface Messages {
+        @C10NDef("Hello, {0}!")
+        String greeting(String who);
+
+        @C10NDef("Bye!")
+        String farewell();
+    }
+
+    private static final class ManualExecutor implements Executor {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            List<Runnable> toRun;
+            synchronized (this) {
+                toRun = new ArrayList<>(tasks);
+                tasks.clear();
+            }
+            for (Runnable task : toRun) {
+                task.run();
+            }
+        }
+    }
+}
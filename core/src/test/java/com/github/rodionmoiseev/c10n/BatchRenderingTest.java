@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.annotations.DefaultC10NAnnotations;
+import com.github.rodionmoiseev.c10n.annotations.En;
+import com.github.rodionmoiseev.c10n.annotations.Ja;
+import com.github.rodionmoiseev.c10n.formatters.CompiledMessage;
+import com.github.rodionmoiseev.c10n.formatters.MessageFormatter;
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.lang.reflect.Method;
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author rodion
+ */
+public class BatchRenderingTest {
+    @Rule
+    public TestRule tmpC10N = RuleUtils.tmpC10NConfiguration();
+    @Rule
+    public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
+
+    private final AtomicInteger compileCount = new AtomicInteger();
+
+    private final C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+        @Override
+        protected void configure() {
+            install(new DefaultC10NAnnotations());
+            bindFilter(new C10NFilter<Status>() {
+                @Override
+                public Object apply(Status arg) {
+                    return arg.name().toLowerCase();
+                }
+            }, Status.class);
+            setMessageFormatter(new MessageFormatter() {
+                @Override
+                public String format(Method method, String message, Locale locale, Object... args) {
+                    return MessageFormat.format(message, args);
+                }
+
+                @Override
+                public CompiledMessage compile(Method method, String message, Locale locale) {
+                    compileCount.incrementAndGet();
+                    MessageFormat mf = new MessageFormat(message);
+                    return args -> mf.format(args);
+                }
+            });
+        }
+    });
+
+    @Test
+    public void rowsAreRenderedInOrderWithASingleCompilation() {
+        C10NBatch<Messages> batch = factory.batch(Messages.class, Locale.JAPANESE);
+        List<String> res = batch.render(Stream.of(1, 2, 3), (m, row) -> m.row(row, "item" + row, Status.Open))
+                .collect(Collectors.toList());
+        assertThat(res, is(List.of("1:item1:open", "2:item2:open", "3:item3:open")));
+        assertThat(compileCount.get(), is(1));
+    }
+
+    @Test
+    public void batchRenderingIsTheSameAsRegularCalls() {
+        Messages msg = factory.get(Messages.class, Locale.ENGLISH);
+        C10NBatch<Messages> batch = factory.batch(Messages.class, Locale.ENGLISH);
+        List<String> expected = IntStream.range(0, 100)
+                .mapToObj(i -> i % 2 == 0 ? msg.row(i, "x", Status.Closed) : msg.noArgs())
+                .collect(Collectors.toList());
+        List<String> res = batch.render(IntStream.range(0, 100).boxed(),
+                (m, i) -> i % 2 == 0 ? m.row(i, "x", Status.Closed) : m.noArgs())
+                .collect(Collectors.toList());
+        assertThat(res, is(expected));
+    }
+
+    @Test
+    public void parallelRenderingPreservesRowOrder() {
+        C10NBatch<Messages> batch = factory.batch(Messages.class, Locale.ENGLISH);
+        Messages msg = factory.get(Messages.class, Locale.ENGLISH);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            expected.append(msg.row(i, "n" + i, Status.Pending)).append("\n");
+        }
+        StringBuilder sequential = batch.renderTo(new StringBuilder(), "\n",
+                IntStream.range(0, 20000).boxed(),
+                (m, i) -> m.row(i, "n" + i, Status.Pending));
+        StringBuilder parallel = batch.renderTo(new StringBuilder(), "\n",
+                IntStream.range(0, 20000).boxed().parallel(),
+                (m, i) -> m.row(i, "n" + i, Status.Pending));
+        assertThat(sequential.toString(), is(expected.toString()));
+        assertThat(parallel.toString(), is(expected.toString()));
+    }
+
+    @Test
+    public void rawAndNestedMessagesAreSupported() {
+        C10NBatch<Messages> batch = factory.batch(Messages.class, Locale.ENGLISH);
+        List<String> res = batch.render(Stream.of("a"), (m, row) -> m.raw())
+                .collect(Collectors.toList());
+        assertThat(res, is(List.of("{0} raw")));
+        res = batch.render(Stream.of("a"), (m, row) -> m.nested())
+                .collect(Collectors.toList());
+        assertThat(res, is(List.of("nested")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void renderingFunctionMustCallAMethod() {
+        factory.batch(Messages.class, Locale.ENGLISH)
+                .render(Stream.of(1), (m, row) -> "nothing")
+                .collect(Collectors.toList());
+    }
+
+    enum Status {
+        Open, Closed, Pending
+    }
+
+    @C10NMessages
+    public interface Messages {
+        @En("Row {0}: {1} is {2}")
+        @Ja("{0}:{1}:{2}")
+        String row(int index, String name, Status status);
+
+        @En("No args")
+        String noArgs();
+
+        @En(value = "{0} raw", raw = true)
+        String raw();
+
+        @En("nested")
+        Nested nested();
+    }
+
+    @C10NMessages
+    public interface Nested {
+    }
+}
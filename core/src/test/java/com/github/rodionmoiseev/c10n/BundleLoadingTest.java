@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BundleLoadingTest {
+    @Rule
+    public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
+
+    @Rule
+    public TestRule tmpC10N = RuleUtils.tmpC10NConfiguration();
+
+    private final ManualExecutor executor = new ManualExecutor();
+
+    @Test
+    public void fallbackLocaleIsUsedWhileBundlesAreLoading() {
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindBundle("com.github.rodionmoiseev.c10n.testBundles.TestBundle");
+                setBundleLoadingPolicy(BundleLoadingPolicy.fallbackWhileLoading(executor));
+            }
+        });
+        Labels labels = factory.get(Labels.class, Locale.JAPANESE);
+        assertThat(labels.greeting(), is("Hello, World!"));
+        assertThat(labels.greeting(), is("Hello, World!"));
+        assertThat(executor.tasks.size(), is(1));
+
+        executor.runAll();
+        assertThat(labels.greeting(), is("こんにちは世界!"));
+    }
+
+    @Test
+    public void fallbackLocaleIsConfigurable() {
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindBundle("com.github.rodionmoiseev.c10n.testBundles.TestBundle");
+                setBundleLoadingPolicy(BundleLoadingPolicy.fallbackWhileLoading(executor, new Locale("ru")));
+            }
+        });
+        Labels labels = factory.get(Labels.class, Locale.JAPANESE);
+        assertThat(labels.msg(), is("ru"));
+        executor.runAll();
+        assertThat(labels.greeting(), is("こんにちは世界!"));
+    }
+
+    @Test
+    public void bundlesAreLoadedByCallerWithBlockingPolicy() {
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindBundle("com.github.rodionmoiseev.c10n.testBundles.TestBundle");
+            }
+        });
+        assertThat(factory.get(Labels.class, Locale.JAPANESE).greeting(), is("こんにちは世界!"));
+    }
+
+    @Test
+    public void loadLocaleAsyncCompletesOnceBundlesAreLoaded() {
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindBundle("com.github.rodionmoiseev.c10n.testBundles.TestBundle");
+                setBundleLoadingPolicy(BundleLoadingPolicy.fallbackWhileLoading(executor));
+            }
+        });
+        CompletableFuture<Void> load = factory.loadLocaleAsync(Locale.JAPANESE);
+        assertThat(load.isDone(), is(false));
+        assertThat(factory.loadLocaleAsync(Locale.JAPANESE), is(load));
+
+        executor.runAll();
+        assertThat(load.isDone(), is(true));
+        assertThat(executor.tasks.size(), is(0));
+        assertThat(factory.get(Labels.class, Locale.JAPANESE).greeting(), is("こんにちは世界!"));
+    }
+
+    @Test
+    public void loadLocaleAsyncLoadsOnTheCallerWithBlockingPolicy() {
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindBundle("com.github.rodionmoiseev.c10n.testBundles.TestBundle");
+            }
+        });
+        assertThat(factory.loadLocaleAsync(Locale.JAPANESE).isDone(), is(true));
+        assertThat(factory.get(Labels.class, Locale.JAPANESE).greeting(), is("こんにちは世界!"));
+    }
+
+    @Test
+    public void bundlesAreLoadedByCallerWhenTheExecutorRejectsTheLoad() {
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindBundle("com.github.rodionmoiseev.c10n.testBundles.TestBundle");
+                setBundleLoadingPolicy(BundleLoadingPolicy.fallbackWhileLoading(command -> {
+                    throw new RejectedExecutionException("shut down");
+                }));
+            }
+        });
+        Labels labels = factory.get(Labels.class, Locale.JAPANESE);
+        assertThat(labels.greeting(), is("こんにちは世界!"));
+        assertThat(factory.loadLocaleAsync(Locale.JAPANESE).isCompletedExceptionally(), is(true));
+    }
+
+    @Test
+    public void failedLoadsAreNotResubmittedAndBundlesAreLoadedByCaller() {
+        final AtomicInteger failures = new AtomicInteger(1);
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindBundle("com.github.rodionmoiseev.c10n.testBundles.TestBundle");
+                bindSource(new FailingSource(failures));
+                setBundleLoadingPolicy(BundleLoadingPolicy.fallbackWhileLoading(executor));
+            }
+        });
+        Labels labels = factory.get(Labels.class, Locale.JAPANESE);
+        assertThat(labels.greeting(), is("Hello, World!"));
+        executor.runAll();
+        assertThat(failures.get(), is(0));
+        CompletableFuture<Void> load = factory.loadLocaleAsync(Locale.JAPANESE);
+        assertThat(load.isCompletedExceptionally(), is(true));
+
+        //the caller now renders in the requested locale, loading bundles itself
+        assertThat(labels.greeting(), is("こんにちは世界!"));
+        assertThat(executor.tasks.size(), is(0));
+        assertThat(factory.loadLocaleAsync(Locale.JAPANESE), is(load));
+    }
+
+    interface Labels {
+        @C10NKey("com.github.rodionmoiseev.c10n.ResourceBundleBindingTest.Labels.greeting")
+        String greeting();
+
+        @C10NKey("com.myCompany.msg")
+        String msg();
+    }
+
+    private static final class FailingSource implements TranslationSource {
+        private final AtomicInteger failures;
+
+        FailingSource(AtomicInteger failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public Map<String, String> loadAll(Locale locale) {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("source unavailable");
+            }
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public String lookup(String key, Locale locale) {
+            return null;
+        }
+    }
+
+    private static final class ManualExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+}
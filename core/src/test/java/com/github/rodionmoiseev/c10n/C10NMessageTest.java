@@ -105,6 +105,45 @@ public class C10NMessageTest {
                 Locale.JAPANESE, "japanese 234")));
     }
 
+    @Test
+    public void translationsAreRenderedOnDemandAndOnlyOnce() throws Exception {
+        MyMsg myMsg = C10N.get(MyMsg.class);
+        CountingArg arg = new CountingArg();
+        C10NMessage msg = myMsg.myMsgWithObjectArg(arg);
+        assertThat(arg.count, is(0));
+
+        assertThat(msg.get(), is("english x"));
+        assertThat(msg.get(), is("english x"));
+        assertThat(arg.count, is(1));
+
+        assertThat(msg.get(Locale.JAPANESE), is("japanese x"));
+        assertThat(msg.get(Locale.JAPANESE), is("japanese x"));
+        assertThat(arg.count, is(2));
+
+        assertThat(msg.get(Locale.FRENCH), nullValue());
+        assertThat(msg.asMap().size(), is(3));
+        assertThat(msg.asMap().containsKey(Locale.ENGLISH), is(true));
+        assertThat(arg.count, is(2));
+
+        assertThat(msg.asMap().get(C10N.FALLBACK_LOCALE), is("fallback x"));
+        assertThat(msg.asMap().get(Locale.ENGLISH), is("english x"));
+        assertThat(arg.count, is(4));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void messageMapIsReadOnly() throws Exception {
+        C10N.get(MyMsg.class).myMsg().asMap().put(Locale.FRENCH, "french");
+    }
+
+    private static final class CountingArg {
+        int count = 0;
+
+        @Override
+        public String toString() {
+            count++;
+            return "x";
+        }
+    }
 
     @C10NMessages
     private interface MyMsg {
@@ -117,5 +156,10 @@ public class C10NMessageTest {
         @Ja("japanese {0}")
         @C10NDef("fallback {0}")
         C10NMessage myMsgWithArg(int arg);
+
+        @En("english {0}")
+        @Ja("japanese {0}")
+        @C10NDef("fallback {0}")
+        C10NMessage myMsgWithObjectArg(Object arg);
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.annotations.DefaultC10NAnnotations;
+import com.github.rodionmoiseev.c10n.annotations.En;
+import com.github.rodionmoiseev.c10n.share.catalog.C10NCatalogWriter;
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import com.github.rodionmoiseev.c10n.test.utils.UsingTmpDir;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CatalogBindingTest {
+    private static final String LABELS = "com.github.rodionmoiseev.c10n.CatalogBindingTest.Labels.";
+    private static final String BUTTONS = "com.github.rodionmoiseev.c10n.CatalogBindingTest.Buttons.";
+
+    @Rule
+    public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
+    @Rule
+    public TestRule tmpC10N = RuleUtils.tmpC10NConfiguration();
+    @Rule
+    public UsingTmpDir tmp = RuleUtils.tmpDir(CatalogBindingTest.class);
+
+    @Test
+    public void catalogBinding() throws IOException {
+        final Path catalog = writeCatalog("messages.c10n", new C10NCatalogWriter()
+                .put(Locale.ROOT, LABELS + "greeting", "Hello, World!")
+                .put(Locale.ROOT, LABELS + "argGreeting_String", "Hello, {0}!")
+                .put(Locale.JAPANESE, LABELS + "greeting", "こんにちは世界!"));
+        C10N.configure(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindCatalog(catalog);
+            }
+        });
+        Labels labels = C10N.get(Labels.class);
+        assertThat(labels.greeting(), is("Hello, World!"));
+        assertThat(labels.argGreeting("C10N"), is("Hello, C10N!"));
+
+        Locale.setDefault(Locale.JAPAN);
+        assertThat(labels.greeting(), is("こんにちは世界!"));
+        assertThat(labels.argGreeting("C10N"), is("Hello, C10N!"));
+    }
+
+    @Test
+    public void catalogsExplicitlyBoundToOtherClassesDoNotMatch() throws IOException {
+        final Path catalog = writeCatalog("buttons.c10n", new C10NCatalogWriter()
+                .put(Locale.ROOT, LABELS + "greeting", "Hello, World!")
+                .put(Locale.ROOT, BUTTONS + "ok", "OK!"));
+        C10N.configure(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindCatalog(catalog).to(Buttons.class);
+            }
+        });
+        assertThat(C10N.get(Labels.class).greeting(), is("Labels.greeting"));
+        assertThat(C10N.get(Buttons.class).ok(), is("OK!"));
+    }
+
+    @Test
+    public void catalogTranslationsTakePrecedenceOverAnnotations() throws IOException {
+        final Path catalog = writeCatalog("override.c10n", new C10NCatalogWriter()
+                .put(Locale.ENGLISH, BUTTONS + "ok", "OK from catalog"));
+        C10N.configure(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                install(new DefaultC10NAnnotations());
+                bindCatalog(catalog);
+            }
+        });
+        Buttons buttons = C10N.get(Buttons.class);
+        assertThat(buttons.ok(), is("OK from catalog"));
+        assertThat(buttons.cancel(), is("Cancel"));
+    }
+
+    @Test(expected = C10NConfigException.class)
+    public void missingCatalogFileIsAConfigurationError() {
+        C10N.configure(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindCatalog(new File(tmp.dir, "does-not-exist.c10n").toPath());
+            }
+        });
+    }
+
+    private Path writeCatalog(String fileName, C10NCatalogWriter writer) throws IOException {
+        Path file = new File(tmp.dir, fileName).toPath();
+        writer.write(file);
+        return file;
+    }
+
+    interface Labels {
+        String greeting();
+
+        String argGreeting(String who);
+    }
+
+    interface Buttons {
+        @En("OK")
+        String ok();
+
+        @En("Cancel")
+        String cancel();
+    }
+}
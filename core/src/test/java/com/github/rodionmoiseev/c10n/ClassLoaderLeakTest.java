@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.annotations.DefaultC10NAnnotations;
+import com.github.rodionmoiseev.c10n.annotations.En;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class ClassLoaderLeakTest {
+    @Test
+    public void c10nCachesDoNotPreventClassLoadersFromBeingCollected() throws Exception {
+        WeakReference<ClassLoader> loader = useInterfaceFromThrowawayLoader();
+        for (int i = 0; i < 20 && null != loader.get(); i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertThat(loader.get(), is(nullValue()));
+    }
+
+    private static WeakReference<ClassLoader> useInterfaceFromThrowawayLoader() throws Exception {
+        ChildFirstLoader loader = new ChildFirstLoader(LeakTestMessages.class.getName());
+        Class<?> iface = loader.loadClass(LeakTestMessages.class.getName());
+        assertThat(iface.getClassLoader() == loader, is(true));
+
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                install(new DefaultC10NAnnotations());
+                bindPartitionedBundle("com.github.rodionmoiseev.c10n.testBundles.partitioned");
+                bindSource(new InMemoryTranslationSource());
+                setProxyClassLoader(loader);
+            }
+        });
+        Object msg = factory.get(iface, Locale.ENGLISH);
+        Method text = iface.getMethod("text");
+        //different runtime package, as the interface is defined by another loader
+        text.setAccessible(true);
+        assertThat(String.valueOf(text.invoke(msg)), startsWith("Internal resource test!"));
+        return new WeakReference<>(loader);
+    }
+
+    /*
+     * Defines the given class itself, delegating everything else to the parent
+     */
+    private static final class ChildFirstLoader extends ClassLoader {
+        private final String className;
+
+        ChildFirstLoader(String className) {
+            super(ClassLoaderLeakTest.class.getClassLoader());
+            this.className = className;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(className)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> res = findLoadedClass(name);
+                if (null == res) {
+                    try (InputStream is = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        byte[] bytes = is.readAllBytes();
+                        res = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return res;
+            }
+        }
+    }
+}
+
+/*
+ * Top-level, so that it can be defined by a different class loader than the test
+ */
+interface LeakTestMessages {
+    @En(intRes = "com/github/rodionmoiseev/c10n/text/english.txt")
+    String text();
+}
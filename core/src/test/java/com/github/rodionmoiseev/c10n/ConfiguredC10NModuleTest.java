@@ -22,10 +22,12 @@ package com.github.rodionmoiseev.c10n;
 
 import com.github.rodionmoiseev.c10n.annotations.DefaultC10NAnnotations;
 import com.github.rodionmoiseev.c10n.annotations.Fr;
+import com.github.rodionmoiseev.c10n.annotations.Ja;
 import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
 import com.google.common.collect.Sets;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.rules.TestRule;
 
 import java.util.Locale;
@@ -40,6 +42,8 @@ import static org.junit.Assert.assertThat;
 public class ConfiguredC10NModuleTest {
     @Rule
     public TestRule tmpC10N = RuleUtils.tmpC10NConfiguration();
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
 
     @Test
     public void annotationBoundLocalesAreListedUnderAllLocales() {
@@ -77,10 +81,54 @@ public class ConfiguredC10NModuleTest {
                 Locale.FRENCH)));
     }
 
+    @Test
+    public void resolvedBindingsAreImmutableAndComputedOnce() {
+        ConfiguredC10NModule cm = C10N.configure(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bind(Msg.class).to(MsgJa.class, Locale.JAPANESE);
+                bindAnnotation(Fr.class).toLocale(Locale.FRENCH);
+            }
+        });
+        assertThat(cm.getAnnotationBindings(Msg.class) == cm.getAnnotationBindings(Msg.class), is(true));
+        assertThat(cm.getPlugins() == cm.getPlugins(), is(true));
+        assertThat(cm.getImplementationBindings(Msg.class), is(set(Locale.JAPANESE)));
+        assertThat(cm.getImplementationBinding(Msg.class, Locale.JAPANESE) == MsgJa.class, is(true));
+        assertThat(cm.getImplementationBinding(Msg2.class, Locale.JAPANESE) == null, is(true));
+
+        thrown.expect(UnsupportedOperationException.class);
+        cm.getAnnotationBindings(Msg.class).clear();
+    }
+
+    @Test
+    public void resolvedBindingsAreNotAffectedByLaterConfigurationChanges() {
+        MutableConfig config = new MutableConfig();
+        ConfiguredC10NModule cm = C10N.configure(config);
+        assertThat(cm.getAnnotationBindings(Msg.class).get(Fr.class), is(set(Locale.FRENCH)));
+        assertThat(cm.getBundleBindings(Msg.class, Locale.FRENCH).size(), is(0));
+
+        config.bindLater();
+        assertThat(cm.getAnnotationBindings(Msg.class).get(Fr.class), is(set(Locale.FRENCH)));
+        assertThat(cm.getAnnotationBindings(Msg.class).containsKey(Ja.class), is(false));
+        assertThat(cm.getBundleBindings(Msg.class, Locale.FRENCH).size(), is(0));
+    }
+
     private static Set<Locale> set(Locale... locales) {
         return Sets.newHashSet(locales);
     }
 
+    private static final class MutableConfig extends C10NConfigBase {
+        @Override
+        protected void configure() {
+            bindAnnotation(Fr.class).toLocale(Locale.FRENCH);
+        }
+
+        void bindLater() {
+            bindAnnotation(Ja.class).toLocale(Locale.JAPANESE);
+            bindSource(new InMemoryTranslationSource());
+        }
+    }
+
     interface Msg {
     }
 
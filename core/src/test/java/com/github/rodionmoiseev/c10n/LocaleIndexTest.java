@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.share.LocaleMapping;
+import com.github.rodionmoiseev.c10n.share.ShareModule;
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author rodion
+ */
+public class LocaleIndexTest {
+    @Rule
+    public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
+
+    private final LocaleMapping localeMapping = new ShareModule().defaultLocaleMapping();
+    private final List<Locale> locales = Arrays.asList(Locale.ROOT,
+            Locale.ENGLISH, Locale.US, Locale.UK,
+            Locale.JAPANESE, Locale.JAPAN, new Locale("ja", "JP", "JP"),
+            Locale.FRENCH, Locale.CANADA_FRENCH);
+
+    @Test
+    public void closestMatchIsTheSameAsLocaleMapping() {
+        LocaleIndex index = LocaleIndex.create(localeMapping, locales);
+        Random rnd = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            Set<Locale> subset = new HashSet<>();
+            Object[] table = new Object[index.size()];
+            for (Locale locale : locales) {
+                if (rnd.nextBoolean()) {
+                    subset.add(locale);
+                    table[index.idOf(locale)] = locale;
+                }
+            }
+            for (Locale requested : locales) {
+                Locale expected = localeMapping.findClosestMatch(subset, requested);
+                int id = index.findClosestMatch(table, requested);
+                assertThat(subset + " -> " + requested, id >= 0 ? index.localeOf(id) : null, is(expected));
+            }
+            Locale german = Locale.GERMAN;
+            Locale expected = localeMapping.findClosestMatch(subset, german);
+            int id = index.findClosestMatch(table, german);
+            assertThat(subset + " -> " + german, id >= 0 ? index.localeOf(id) : null, is(expected));
+        }
+    }
+
+    @Test
+    public void changesToTheDefaultLocaleAreHonoured() {
+        LocaleIndex index = LocaleIndex.create(localeMapping, locales);
+        Object[] table = new Object[index.size()];
+        table[index.idOf(Locale.ENGLISH)] = "en";
+        table[index.idOf(Locale.JAPANESE)] = "ja";
+        assertThat(table[index.findClosestMatch(table, Locale.GERMAN)], is((Object) "en"));
+        Locale.setDefault(Locale.JAPAN);
+        assertThat(table[index.findClosestMatch(table, Locale.GERMAN)], is((Object) "ja"));
+    }
+
+    @Test
+    public void extendingPreservesExistingIds() {
+        LocaleIndex index = LocaleIndex.create(localeMapping, locales);
+        assertThat(index.extend(Collections.singleton(Locale.JAPAN)) == index, is(true));
+        LocaleIndex extended = index.extend(Arrays.asList(Locale.GERMAN, Locale.GERMANY));
+        assertThat(extended.size(), is(index.size() + 2));
+        for (Locale locale : locales) {
+            assertThat(extended.idOf(locale), is(index.idOf(locale)));
+        }
+        assertThat(index.idOf(Locale.GERMAN), is(-1));
+        assertThat(extended.localeOf(extended.idOf(Locale.GERMANY)), is(Locale.GERMANY));
+    }
+
+    @Test
+    public void tablesShorterThanTheIndexAreSupported() {
+        LocaleIndex index = LocaleIndex.create(localeMapping, Collections.singleton(Locale.ROOT));
+        Object[] table = {"root"};
+        LocaleIndex extended = index.extend(Collections.singleton(Locale.FRENCH));
+        assertThat(table[extended.findClosestMatch(table, Locale.FRENCH)], is((Object) "root"));
+    }
+}
@@ -29,6 +29,9 @@ import com.github.rodionmoiseev.c10n.annotations.Ru;
 import org.junit.Test;
 
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
@@ -57,6 +60,61 @@ public class LocaleProviderTest {
         assertThat(msg.ok(), is(equalTo("Hai")));
     }
 
+    @Test
+    public void scopedLocaleIsUsedByTheDefaultLocaleProvider() throws Exception {
+        C10N.configure(new DefaultC10NAnnotations());
+        final Buttons msg = C10N.get(Buttons.class);
+        assertThat(C10N.withLocale(Locale.JAPANESE, msg::ok), is(equalTo("Hai")));
+        assertThat(C10N.withLocale(new Locale("ru"), msg::ok), is(equalTo("Ugu")));
+    }
+
+    @Test
+    public void scopedLocalesCanBeNested() throws Exception {
+        final LocaleProvider lp = LocaleProviders.scoped();
+        C10N.withLocale(Locale.JAPANESE, () -> {
+            assertThat(lp.getLocale(), is(Locale.JAPANESE));
+            C10N.withLocale(Locale.FRENCH, () -> assertThat(lp.getLocale(), is(Locale.FRENCH)));
+            assertThat(lp.getLocale(), is(Locale.JAPANESE));
+        });
+        assertThat(lp.getLocale(), is(Locale.getDefault()));
+    }
+
+    @Test
+    public void scopedLocaleProviderDelegatesToFallbackOutsideOfScope() throws Exception {
+        LocaleProvider lp = LocaleProviders.scoped(LocaleProviders.fixed(Locale.GERMAN));
+        assertThat(lp.getLocale(), is(Locale.GERMAN));
+        assertThat(C10N.withLocale(Locale.KOREAN, lp::getLocale), is(Locale.KOREAN));
+    }
+
+    @Test
+    public void scopedLocaleIsRestoredWhenOperationFails() throws Exception {
+        LocaleProvider lp = LocaleProviders.scoped();
+        try {
+            C10N.withLocale(Locale.JAPANESE, () -> {
+                throw new java.io.IOException("failed");
+            });
+            fail("exception expected");
+        } catch (java.io.IOException e) {
+            assertThat(e.getMessage(), is("failed"));
+        }
+        assertThat(lp.getLocale(), is(Locale.getDefault()));
+    }
+
+    @Test
+    public void scopedLocaleIsNotVisibleToOtherThreads() throws Exception {
+        final LocaleProvider lp = LocaleProviders.fixed(Locale.ENGLISH);
+        final LocaleProvider scoped = LocaleProviders.scoped(lp);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Locale otherThreadLocale = C10N.withLocale(Locale.JAPANESE,
+                    () -> executor.submit(scoped::getLocale).get());
+            assertThat(otherThreadLocale, is(Locale.ENGLISH));
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
     private interface Buttons {
         @En("OK")
         @Ru("Ugu")
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.share.BundleWatcher;
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PartitionedBundleTest {
+    private static final String BASE_NAME = "com.github.rodionmoiseev.c10n.testBundles.partitioned";
+
+    @Rule
+    public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
+
+    @Test
+    public void interfacesAreMappedToPartitionsByKeyOrPackage() {
+        assertThat(PartitionedBundle.partitionOf(Billing.class), is("billing"));
+        assertThat(PartitionedBundle.partitionOf(Orders.class), is("com.github.rodionmoiseev.c10n"));
+    }
+
+    @Test
+    public void translationsAreReadFromPartitions() {
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindPartitionedBundle(BASE_NAME);
+            }
+        });
+        assertThat(factory.get(Billing.class).total(3), is("Total: 3"));
+        assertThat(factory.get(Billing.class, Locale.JAPANESE).total(3), is("合計: 3"));
+        assertThat(factory.get(Orders.class).count(2), is("Orders: 2"));
+        //no shipping partition
+        assertThat(factory.get(Shipping.class).eta(), is("soon"));
+        assertThat(factory.get(Shipping.class).eta(), is("soon"));
+    }
+
+    @Test
+    public void partitionsAreOnlyLoadedWhenUsed() {
+        PartitionedBundle bundle = new PartitionedBundle(BASE_NAME, new C10NBundleBinder("UTF-8"));
+        assertThat(bundle.getUsedBundles(Locale.ENGLISH).size(), is(0));
+
+        assertThat(bundle.getBundle(Billing.class, Locale.ENGLISH).getString("billing.total_int"), is("Total: {0}"));
+        assertThat(bundle.getUsedBundles(Locale.ENGLISH).size(), is(1));
+
+        assertThat(bundle.getBundle(Shipping.class, Locale.ENGLISH) == null, is(true));
+        assertThat(bundle.getUsedBundles(Locale.ENGLISH).size(), is(1));
+    }
+
+    @Test
+    public void partitionsCreatedLaterAreFoundWhenReloadable() throws Exception {
+        Path billing = new File(getClass().getResource("testBundles/partitioned/billing.properties").toURI()).toPath();
+        Path reloaded = billing.resolveSibling("reloaded.properties");
+        try (BundleWatcher watcher = BundleWatcher.create()) {
+            PartitionedBundle bundle = new PartitionedBundle(BASE_NAME,
+                    new C10NBundleBinder("UTF-8").reloadable(watcher));
+            //the directory is watched once a partition in it is (re)loaded through the watcher
+            ResourceBundle.clearCache();
+            assertThat(bundle.getBundle(Billing.class, Locale.ENGLISH) == null, is(false));
+            assertThat(bundle.getBundle(Reloaded.class, Locale.ENGLISH) == null, is(true));
+
+            Files.write(reloaded, "reloaded.value=found".getBytes(StandardCharsets.UTF_8));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (null == bundle.getBundle(Reloaded.class, Locale.ENGLISH) && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(bundle.getBundle(Reloaded.class, Locale.ENGLISH).getString("reloaded.value"), is("found"));
+        } finally {
+            Files.deleteIfExists(reloaded);
+        }
+    }
+
+    @C10NKey("billing")
+    interface Billing {
+        String total(int amount);
+    }
+
+    @C10NKey("shipping")
+    interface Shipping {
+        @C10NDef("soon")
+        String eta();
+    }
+
+    @C10NKey("reloaded")
+    interface Reloaded {
+        String value();
+    }
+
+    interface Orders {
+        String count(int count);
+    }
+}
@@ -65,9 +65,9 @@ public class PluginTest {
 
     @Test
     public void pluginExecutionStopsWhenPluginReturnsStopSignal() {
-        final C10NPlugin plugin1 = Mockito.mock(C10NPlugin.class);
+        final C10NPlugin plugin1 = mockPlugin();
         pluginReturn(plugin1, PluginResult.last("last message"));
-        final C10NPlugin plugin2 = Mockito.mock(C10NPlugin.class);
+        final C10NPlugin plugin2 = mockPlugin();
         configurePlugins(plugin1, plugin2);
 
         MyMessage mm = C10N.get(MyMessage.class);
@@ -79,14 +79,14 @@ public class PluginTest {
                         MyMessage.class,
                         getMethod(MyMessage.class, "testMessage"),
                         new Object[]{"rodion"}), "proxy"));
-        verifyZeroInteractions(plugin2);
+        verifyNoMoreInteractions(ignoreStubs(plugin2));
     }
 
     @Test
     public void pluginExecutionSkipsWhenPluginReturnsNull() {
-        final C10NPlugin plugin1 = Mockito.mock(C10NPlugin.class);
+        final C10NPlugin plugin1 = mockPlugin();
         pluginReturn(plugin1, null);
-        final C10NPlugin plugin2 = Mockito.mock(C10NPlugin.class);
+        final C10NPlugin plugin2 = mockPlugin();
         pluginReturn(plugin2, PluginResult.passOn("plugin result2"));
         configurePlugins(plugin1, plugin2);
 
@@ -111,9 +111,9 @@ public class PluginTest {
 
     @Test
     public void pluginPassesTheModifiedValueToTheNextPlugin() {
-        final C10NPlugin plugin1 = Mockito.mock(C10NPlugin.class);
+        final C10NPlugin plugin1 = mockPlugin();
         pluginReturn(plugin1, PluginResult.passOn("plugin result1"));
-        final C10NPlugin plugin2 = Mockito.mock(C10NPlugin.class);
+        final C10NPlugin plugin2 = mockPlugin();
         pluginReturn(plugin2, PluginResult.passOn("plugin result2"));
         configurePlugins(plugin1, plugin2);
 
@@ -137,7 +137,7 @@ public class PluginTest {
 
     @Test
     public void voidMethodEquallyGetsPassedTheTranslatedString() throws Exception {
-        final C10NPlugin plugin1 = Mockito.mock(C10NPlugin.class);
+        final C10NPlugin plugin1 = mockPlugin();
         pluginReturn(plugin1, PluginResult.passOn("plugin result1"));
         configurePlugins(plugin1);
 
@@ -166,6 +166,40 @@ public class PluginTest {
         assertThat(mm.intMethod(), is(equalTo(123)));
     }
 
+    @Test
+    public void pluginsAreOnlyAppliedToMethodsTheyApplyTo() {
+        final C10NPlugin plugin1 = mockPlugin();
+        when(plugin1.appliesTo(MyMessage.class, getMethod(MyMessage.class, "testMessage"))).thenReturn(false);
+        pluginReturn(plugin1, PluginResult.passOn("plugin result1"));
+        configurePlugins(plugin1);
+
+        MyMessage mm = C10N.get(MyMessage.class);
+        assertThat(mm.testMessage("rodion"), is("Hello rodion!"));
+        assertThat(mm.testMessage("rodion"), is("Hello rodion!"));
+        mm.voidMethod();
+        verify(plugin1, times(1)).appliesTo(MyMessage.class, getMethod(MyMessage.class, "testMessage"));
+        verify(plugin1, never()).format(eq("Hello rodion!"), any(Object.class), any(InvocationDetails.class));
+        verify(plugin1).format(eq("Hello!"), eq(null), any(InvocationDetails.class));
+    }
+
+    @Test
+    public void pluginCanSkipMessageResolutionBeforeResolve() {
+        final C10NPlugin plugin1 = mockPlugin();
+        when(plugin1.beforeResolve(any(InvocationDetails.class))).thenReturn(PluginResult.last("skipped"));
+        final C10NPlugin plugin2 = mockPlugin();
+        configurePlugins(plugin1, plugin2);
+
+        MyMessage mm = C10N.get(MyMessage.class);
+        assertThat(mm.testMessage("rodion"), is("skipped"));
+        verify(plugin1).beforeResolve(refEq(new InvocationDetails(null,
+                MyMessage.class,
+                getMethod(MyMessage.class, "testMessage"),
+                new Object[]{"rodion"}), "proxy"));
+        verify(plugin1, never()).format(any(String.class), any(Object.class), any(InvocationDetails.class));
+        verify(plugin2, never()).beforeResolve(any(InvocationDetails.class));
+        verify(plugin2, never()).format(any(String.class), any(Object.class), any(InvocationDetails.class));
+    }
+
     private void configurePlugins(final C10NPlugin... plugins) {
         C10N.configure(new C10NConfigBase() {
             @Override
@@ -187,6 +221,13 @@ public class PluginTest {
         throw new NoSuchElementException(methodName);
     }
 
+    private static C10NPlugin mockPlugin() {
+        C10NPlugin plugin = Mockito.mock(C10NPlugin.class);
+        when(plugin.appliesTo(any(), any())).thenReturn(true);
+        when(plugin.beforeResolve(any(InvocationDetails.class))).thenReturn(null);
+        return plugin;
+    }
+
     private void pluginReturn(C10NPlugin plugin, PluginResult result) {
         when(plugin.format(any(String.class),
                 any(Object.class),
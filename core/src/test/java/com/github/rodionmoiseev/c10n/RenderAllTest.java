@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.annotations.DefaultC10NAnnotations;
+import com.github.rodionmoiseev.c10n.annotations.En;
+import com.github.rodionmoiseev.c10n.annotations.Ja;
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author rodion
+ */
+public class RenderAllTest {
+    @Rule
+    public TestRule tmpC10N = RuleUtils.tmpC10NConfiguration();
+    @Rule
+    public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
+
+    private final List<Locale> locales = Arrays.asList(Locale.JAPANESE, Locale.ENGLISH, Locale.FRENCH, Locale.JAPAN);
+
+    @Test
+    public void messageIsRenderedForEachLocaleInOrder() {
+        C10N.configure(new DefaultC10NAnnotations());
+        String[] res = C10N.renderAll(Messages.class, locales, m -> m.orderShipped(42, "Tokyo"));
+        assertThat(res, is(new String[]{
+                "注文42はTokyoに発送されました",
+                "Order 42 was shipped to Tokyo",
+                "Order 42 was shipped to Tokyo",
+                "注文42はTokyoに発送されました"
+        }));
+        for (int i = 0; i < locales.size(); i++) {
+            assertThat(res[i], is(C10N.get(Messages.class, locales.get(i)).orderShipped(42, "Tokyo")));
+        }
+    }
+
+    @Test
+    public void argumentsAreFilteredOnceForAllLocales() {
+        final AtomicInteger filterCalls = new AtomicInteger();
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                install(new DefaultC10NAnnotations());
+                bindFilter(new C10NFilter<String>() {
+                    @Override
+                    public Object apply(String arg) {
+                        filterCalls.incrementAndGet();
+                        return "東京".equals(arg) ? "Tokyo" : arg;
+                    }
+                }, String.class);
+            }
+        });
+        String[] res = factory.renderAll(Messages.class, locales, m -> m.orderShipped(1, "東京"));
+        assertThat(res[1], is("Order 1 was shipped to Tokyo"));
+        assertThat(filterCalls.get(), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void renderingFunctionMustCallAMethod() {
+        C10N.configure(new DefaultC10NAnnotations());
+        C10N.renderAll(Messages.class, locales, m -> "nothing");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void renderingFunctionMustNotCallMoreThanOneMethod() {
+        C10N.configure(new DefaultC10NAnnotations());
+        C10N.renderAll(Messages.class, locales, m -> m.orderShipped(1, "a") + m.orderShipped(2, "b"));
+    }
+
+    @C10NMessages
+    public interface Messages {
+        @En("Order {0} was shipped to {1}")
+        @Ja("注文{0}は{1}に発送されました")
+        String orderShipped(int orderId, String destination);
+    }
+}
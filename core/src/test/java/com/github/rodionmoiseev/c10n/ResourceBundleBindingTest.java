@@ -121,6 +121,51 @@ public class ResourceBundleBindingTest {
         assertThat(labels.argGreeting("C10N"), is("こんにちはC10N!"));
     }
 
+    @Test
+    public void jsonBundleBinding() {
+        C10N.configure(new C10NConfigBase() {
+            @Override
+            public void configure() {
+                bindJsonBundle("com.github.rodionmoiseev.c10n.testBundles.JsonBundle");
+            }
+        });
+        Labels labels = C10N.get(Labels.class);
+        assertThat(labels.greeting(), is("Hello, JSON!"));
+        assertThat(labels.argGreeting("C10N"), is("Hello, C10N!"));
+
+        Locale.setDefault(Locale.JAPANESE);
+        assertThat(labels.greeting(), is("こんにちはJSON!"));
+        assertThat(labels.argGreeting("C10N"), is("Hello, C10N!"));
+    }
+
+    @Test
+    public void yamlBundleBinding() {
+        C10N.configure(new C10NConfigBase() {
+            @Override
+            public void configure() {
+                bindYamlBundle("com.github.rodionmoiseev.c10n.testBundles.YamlBundle");
+            }
+        });
+        Labels labels = C10N.get(Labels.class);
+        assertThat(labels.greeting(), is("Hello, YAML!"));
+        assertThat(labels.argGreeting("C10N"), is("Hello, C10N!"));
+
+        Locale.setDefault(Locale.JAPANESE);
+        assertThat(labels.greeting(), is("こんにちはYAML!"));
+        assertThat(labels.argGreeting("C10N"), is("Hello, C10N!"));
+    }
+
+    @Test(expected = C10NConfigException.class)
+    public void oneBaseNameCannotBeBoundInTwoFormats() {
+        C10N.configure(new C10NConfigBase() {
+            @Override
+            public void configure() {
+                bindBundle("com.github.rodionmoiseev.c10n.testBundles.JsonBundle");
+                bindJsonBundle("com.github.rodionmoiseev.c10n.testBundles.JsonBundle");
+            }
+        });
+    }
+
     interface Labels {
 
         String greeting();
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ScopedLocaleTest {
+    private static final int JAVA_VERSION = Runtime.version().feature();
+
+    @Test
+    public void scopedValueIsUsedWhereTheApiIsFinal() {
+        if (JAVA_VERSION >= 25) {
+            assertThat(ScopedLocale.isScopedValue(), is(true));
+        } else if (JAVA_VERSION < 21) {
+            assertThat(ScopedLocale.isScopedValue(), is(false));
+        }
+    }
+
+    @Test
+    public void localeIsOnlyBoundWithinTheCall() throws Exception {
+        assertThat(ScopedLocale.get(), is(nullValue()));
+        assertThat(ScopedLocale.call(Locale.JAPANESE, ScopedLocale::get), is(Locale.JAPANESE));
+        assertThat(ScopedLocale.get(), is(nullValue()));
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TranslationSourceTest {
+    private static final String LABELS = "com.github.rodionmoiseev.c10n.TranslationSourceTest.Labels.";
+
+    @Rule
+    public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
+
+    private final CountingSource source = new CountingSource();
+
+    @Test
+    public void keysOfAnInterfaceAreFetchedInOneRoundTrip() {
+        source.put(Locale.JAPANESE, LABELS + "greeting", "こんにちは")
+                .put(Locale.JAPANESE, LABELS + "argGreeting_String", "こんにちは{0}")
+                .put(Locale.ROOT, LABELS + "farewell", "bye");
+        Labels labels = factory().get(Labels.class, Locale.JAPANESE);
+        assertThat(labels.greeting(), is("こんにちは"));
+        assertThat(labels.argGreeting("c10n"), is("こんにちはc10n"));
+        assertThat(labels.farewell(), is("bye"));
+        assertThat(labels.greeting(), is("こんにちは"));
+
+        //one batch for ja, one for root
+        assertThat(source.lookupAllCalls, is(2));
+        assertThat(source.lookupCalls, is(0));
+    }
+
+    @Test
+    public void changedTranslationsAreRefetched() {
+        source.put(Locale.JAPANESE, LABELS + "greeting", "こんにちは");
+        Labels labels = factory().get(Labels.class, Locale.JAPANESE);
+        assertThat(labels.greeting(), is("こんにちは"));
+
+        source.put(Locale.JAPANESE, LABELS + "greeting", "やあ");
+        assertThat(labels.greeting(), is("やあ"));
+        assertThat(source.lookupCalls, is(1));
+        assertThat(labels.greeting(), is("やあ"));
+        assertThat(source.lookupCalls, is(1));
+
+        source.remove(Locale.JAPANESE, LABELS + "greeting");
+        assertThat(labels.greeting(), is("Labels.greeting"));
+    }
+
+    @Test
+    public void loadLocaleAsyncLoadsAllTranslations() {
+        source.put(Locale.JAPANESE, LABELS + "greeting", "こんにちは");
+        C10NMsgFactory factory = factory();
+        factory.loadLocaleAsync(Locale.JAPANESE).join();
+        assertThat(source.loadAllCalls, is(2));
+
+        assertThat(factory.get(Labels.class, Locale.JAPANESE).greeting(), is("こんにちは"));
+        assertThat(factory.get(Labels.class, Locale.JAPANESE).farewell(), is("Labels.farewell"));
+        assertThat(source.lookupAllCalls, is(0));
+        assertThat(source.lookupCalls, is(0));
+    }
+
+    @Test
+    public void translationsChangedWhileLoadingAllAreNotCachedStale() {
+        source.put(Locale.JAPANESE, LABELS + "greeting", "こんにちは");
+        source.duringLoadAll = () -> {
+            source.duringLoadAll = null;
+            source.put(Locale.JAPANESE, LABELS + "greeting", "やあ");
+        };
+        C10NMsgFactory factory = factory();
+        factory.loadLocaleAsync(Locale.JAPANESE).join();
+
+        assertThat(factory.get(Labels.class, Locale.JAPANESE).greeting(), is("やあ"));
+    }
+
+    @Test
+    public void translationsChangedWhileFetchingAreNotCachedStale() {
+        source.put(Locale.JAPANESE, LABELS + "greeting", "こんにちは");
+        source.duringLookupAll = () -> {
+            source.duringLookupAll = null;
+            source.put(Locale.JAPANESE, LABELS + "greeting", "やあ");
+        };
+        Labels labels = factory().get(Labels.class, Locale.JAPANESE);
+        assertThat(labels.greeting(), is("やあ"));
+        assertThat(labels.greeting(), is("やあ"));
+
+        source.duringLookup = () -> {
+            source.duringLookup = null;
+            source.put(Locale.JAPANESE, LABELS + "greeting", "おはよう");
+        };
+        source.put(Locale.JAPANESE, LABELS + "greeting", "よう");
+        labels.greeting();
+        assertThat(labels.greeting(), is("おはよう"));
+    }
+
+    @Test
+    public void sourcesCanBeRestrictedToInterfaces() {
+        source.put(Locale.ROOT, LABELS + "greeting", "hi");
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindSource(source).to(Buttons.class);
+            }
+        });
+        assertThat(factory.get(Labels.class).greeting(), is("Labels.greeting"));
+        assertThat(source.lookupAllCalls, is(0));
+    }
+
+    private C10NMsgFactory factory() {
+        return C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindSource(source);
+            }
+        });
+    }
+
+    interface Labels {
+        String greeting();
+
+        String argGreeting(String who);
+
+        String farewell();
+    }
+
+    interface Buttons {
+        String ok();
+    }
+
+    private static final class CountingSource extends InMemoryTranslationSource {
+        int loadAllCalls = 0;
+        int lookupCalls = 0;
+        int lookupAllCalls = 0;
+        //run after the translations are read by loadAll, lookup and lookupAll
+        volatile Runnable duringLoadAll = null;
+        volatile Runnable duringLookup = null;
+        volatile Runnable duringLookupAll = null;
+
+        @Override
+        public Map<String, String> loadAll(Locale locale) {
+            loadAllCalls++;
+            Map<String, String> res = new HashMap<>(super.loadAll(locale));
+            runHook(duringLoadAll);
+            return res;
+        }
+
+        @Override
+        public String lookup(String key, Locale locale) {
+            lookupCalls++;
+            String res = super.lookup(key, locale);
+            runHook(duringLookup);
+            return res;
+        }
+
+        @Override
+        public Map<String, String> lookupAll(Set<String> keys, Locale locale) {
+            lookupAllCalls++;
+            Map<String, String> res = new HashMap<>(super.lookupAll(keys, locale));
+            runHook(duringLookupAll);
+            return res;
+        }
+
+        private static void runHook(Runnable hook) {
+            if (null != hook) {
+                hook.run();
+            }
+        }
+
+        @Override
+        public CountingSource put(Locale locale, String key, String value) {
+            super.put(locale, key, value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package com.github.rodionmoiseev.c10n;
+
+import com.github.rodionmoiseev.c10n.share.BundleWatcher;
+import com.github.rodionmoiseev.c10n.share.EncodedResourceControl;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class WatchedBundlesTest {
+    private static final String BILLING = "com.github.rodionmoiseev.c10n.testBundles.partitioned.billing";
+
+    @Test
+    public void bundlesAreNotValidatedUntilTheWatcherGenerationChanges() throws Exception {
+        try (BundleWatcher watcher = BundleWatcher.create()) {
+            WatchedBundles bundles = new WatchedBundles(watcher);
+            CountingControl control = new CountingControl(watcher);
+            ResourceBundle bundle = bundles.get(BILLING, Locale.JAPANESE, control);
+            int lookups = control.lookups;
+
+            assertThat(bundles.get(BILLING, Locale.JAPANESE, control), is(sameInstance(bundle)));
+            assertThat(bundles.get(BILLING, Locale.JAPANESE, control), is(sameInstance(bundle)));
+            assertThat(control.lookups, is(lookups));
+        }
+    }
+
+    @Test
+    public void missingBundlesAreRemembered() throws Exception {
+        try (BundleWatcher watcher = BundleWatcher.create()) {
+            WatchedBundles bundles = new WatchedBundles(watcher);
+            CountingControl control = new CountingControl(watcher);
+            assertThat(bundles.get(BILLING + ".missing", Locale.JAPANESE, control), is(nullValue()));
+            int lookups = control.lookups;
+
+            assertThat(bundles.get(BILLING + ".missing", Locale.JAPANESE, control), is(nullValue()));
+            assertThat(control.lookups, is(lookups));
+        }
+    }
+
+    private static final class CountingControl extends EncodedResourceControl {
+        int lookups = 0;
+
+        CountingControl(BundleWatcher watcher) {
+            super("UTF-8", watcher);
+        }
+
+        @Override
+        public List<Locale> getCandidateLocales(String baseName, Locale locale) {
+            lookups++;
+            return super.getCandidateLocales(baseName, locale);
+        }
+    }
+}
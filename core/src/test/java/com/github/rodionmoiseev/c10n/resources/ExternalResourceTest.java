@@ -32,6 +32,7 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -39,6 +40,7 @@ import org.junit.rules.TestRule;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -226,6 +228,46 @@ public class ExternalResourceTest {
         assertThat(C10N.get(CustomTest.class).externalResource(), is("hello, external world!"));
     }
 
+    @Test
+    public void externalResourcesAreReadOnFirstUse() throws IOException {
+        C10N.configure(new DefaultC10NAnnotations());
+        ExtMessages msg = C10N.get(ExtMessages.class);
+
+        File englishText = new File(tmp.dir, "english.txt");
+        FileUtils.writeStringToFile(englishText, "written after proxy creation");
+
+        Locale.setDefault(Locale.ENGLISH);
+        assertThat(msg.fromTextFile("substitute"), is("written after proxy creation"));
+    }
+
+    @Test
+    public void modifiedExternalFilesAreReReadByNewProxies() throws IOException {
+        C10N.configure(new DefaultC10NAnnotations());
+        Locale.setDefault(Locale.ENGLISH);
+        File englishText = new File(tmp.dir, "english.txt");
+        FileUtils.writeStringToFile(englishText, "first");
+        assertThat(C10N.get(ExtMessages.class).fromTextFile("substitute"), is("first"));
+
+        FileUtils.writeStringToFile(englishText, "second version");
+        assertThat(C10N.get(ExtMessages.class).fromTextFile("substitute"), is("second version"));
+    }
+
+    @Test
+    public void readerMethodsStreamRawResources() throws IOException {
+        C10N.configure(new DefaultC10NAnnotations());
+        Locale.setDefault(Locale.ENGLISH);
+        File englishText = new File(tmp.dir, "english.txt");
+        FileUtils.writeStringToFile(englishText, "{long} terms" + NL + "and conditions");
+
+        ReaderMessages msg = C10N.get(ReaderMessages.class);
+        try (Reader reader = msg.terms()) {
+            assertThat(IOUtils.toString(reader), is("{long} terms" + NL + "and conditions"));
+        }
+        try (Reader reader = msg.greeting("c10n")) {
+            assertThat(IOUtils.toString(reader), is("hello, c10n"));
+        }
+    }
+
     private HttpServer serveTextOverHttp(final String text, String path, int port) throws IOException {
         HttpServer httpServer = HttpServer.create(new InetSocketAddress(port), 0);
         HttpHandler handler = new HttpHandler() {
@@ -252,6 +294,14 @@ public class ExternalResourceTest {
         String normalText();
     }
 
+    interface ReaderMessages {
+        @En(extRes = "file:///${java.io.tmpdir}/ExtResTest/english.txt", raw = true)
+        Reader terms();
+
+        @En("hello, {0}")
+        Reader greeting(String who);
+    }
+
     interface HttpMessages {
         @En(extRes = "http://localhost:50800/english.txt")
         String textOverHttp();
@@ -26,6 +26,6 @@ import org.junit.runners.Suite;
  * @author rodion
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses(LocaleMappingTest.class)
+@Suite.SuiteClasses({LocaleMappingTest.class, BundleWatcherTest.class, C10NPropertiesBundleTest.class, BundleFormatTest.class})
 public class AllTests {
 }
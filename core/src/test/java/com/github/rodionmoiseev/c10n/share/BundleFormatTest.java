@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n.share;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BundleFormatTest {
+    @Test
+    public void jsonObjectsAreFlattenedIntoDottedKeys() throws IOException {
+        C10NPropertiesBundle bundle = BundleFormat.JSON.parse(new StringReader("{\n" +
+                "  \"com.example\": {\n" +
+                "    \"Messages\": {\n" +
+                "      \"greeting\": \"Hello, {0}!\",\n" +
+                "      \"escaped\": \"tab\\tquote\\\" \\u3042\",\n" +
+                "      \"count\": -1.5e3,\n" +
+                "      \"flag\": true,\n" +
+                "      \"missing\": null,\n" +
+                "      \"list\": [\"a\", {\"b\": \"c\"}],\n" +
+                "      \"empty\": {}\n" +
+                "    }\n" +
+                "  },\n" +
+                "  \"top\": \"level\"\n" +
+                "}"));
+        assertThat(bundle.lookup("com.example.Messages.greeting"), is("Hello, {0}!"));
+        assertThat(bundle.lookup("com.example.Messages.escaped"), is("tab\tquote\" あ"));
+        assertThat(bundle.lookup("com.example.Messages.count"), is("-1.5e3"));
+        assertThat(bundle.lookup("com.example.Messages.flag"), is("true"));
+        assertThat(bundle.lookup("com.example.Messages.list.0"), is("a"));
+        assertThat(bundle.lookup("com.example.Messages.list.1.b"), is("c"));
+        assertThat(bundle.lookup("top"), is("level"));
+        assertThat(bundle.keySet().size(), is(7));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void malformedJsonIsRejected() throws IOException {
+        BundleFormat.JSON.parse(new StringReader("{\"a\": \"b\" \"c\": \"d\"}"));
+    }
+
+    @Test
+    public void yamlMappingsAreFlattenedIntoDottedKeys() throws IOException {
+        C10NPropertiesBundle bundle = BundleFormat.YAML.parse(new StringReader("# comment\n" +
+                "---\n" +
+                "com.example:\n" +
+                "  Messages:\n" +
+                "    greeting: Hello, {0}!   # trailing comment\n" +
+                "    quoted: \"tab\\tquote\\\" #not a comment\"\n" +
+                "    single: 'it''s'\n" +
+                "    missing: ~\n" +
+                "\n" +
+                "    literal: |\n" +
+                "      line one\n" +
+                "        indented\n" +
+                "\n" +
+                "      line three\n" +
+                "    folded: >-\n" +
+                "      folded\n" +
+                "      text\n" +
+                "  Other:\n" +
+                "    \"quoted key\": value\n" +
+                "top: level\n"));
+        assertThat(bundle.lookup("com.example.Messages.greeting"), is("Hello, {0}!"));
+        assertThat(bundle.lookup("com.example.Messages.quoted"), is("tab\tquote\" #not a comment"));
+        assertThat(bundle.lookup("com.example.Messages.single"), is("it's"));
+        assertThat(bundle.lookup("com.example.Messages.literal"), is("line one\n  indented\n\nline three\n"));
+        assertThat(bundle.lookup("com.example.Messages.folded"), is("folded text"));
+        assertThat(bundle.lookup("com.example.Other.quoted key"), is("value"));
+        assertThat(bundle.lookup("top"), is("level"));
+        Set<String> keys = new HashSet<>(bundle.keySet());
+        assertThat(keys.size(), is(7));
+    }
+
+    @Test
+    public void yamlFoldedBlankLinesBecomeNewlines() throws IOException {
+        C10NPropertiesBundle bundle = BundleFormat.YAML.parse(new StringReader("one: >\n" +
+                "  first\n" +
+                "  line\n" +
+                "\n" +
+                "  second\n" +
+                "two: >-\n" +
+                "  a\n" +
+                "\n" +
+                "\n" +
+                "  b\n"));
+        assertThat(bundle.lookup("one"), is("first line\nsecond\n"));
+        assertThat(bundle.lookup("two"), is("a\n\nb"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void yamlSequencesAreRejected() throws IOException {
+        BundleFormat.YAML.parse(new StringReader("list:\n  - a\n  - b\n"));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n.share;
+
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import com.github.rodionmoiseev.c10n.test.utils.UsingTmpDir;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class BundleWatcherTest {
+    @Rule
+    public UsingTmpDir tmp = RuleUtils.tmpDir(BundleWatcherTest.class);
+
+    private BundleWatcher watcher;
+    private ClassLoader loader;
+
+    @Before
+    public void setUp() throws Exception {
+        watcher = BundleWatcher.create();
+        loader = new URLClassLoader(new URL[]{tmp.dir.toURI().toURL()}, null);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        watcher.close();
+    }
+
+    @Test
+    public void modifiedBundleFileIsReloaded() throws Exception {
+        write("Messages_en.properties", "greeting=hello");
+        assertThat(bundle(Locale.ENGLISH, watcher).getString("greeting"), is("hello"));
+
+        write("Messages_en.properties", "greeting=hello again");
+        assertThat(awaitValue(Locale.ENGLISH, "hello again"), is("hello again"));
+    }
+
+    @Test
+    public void bundlesOfUnmodifiedFilesAreKept() throws Exception {
+        write("Messages_en.properties", "greeting=hello");
+        write("Messages_ja.properties", "greeting=konnichiwa");
+        ResourceBundle en = bundle(Locale.ENGLISH, watcher);
+        ResourceBundle ja = bundle(Locale.JAPANESE, watcher);
+
+        write("Messages_en.properties", "greeting=hello again");
+        awaitValue(Locale.ENGLISH, "hello again");
+        assertThat(bundle(Locale.ENGLISH, watcher), is(not(sameInstance(en))));
+        assertThat(bundle(Locale.JAPANESE, watcher), is(sameInstance(ja)));
+    }
+
+    @Test
+    public void bundlesAreNotReloadedWithoutWatcher() throws Exception {
+        write("Messages_en.properties", "greeting=hello");
+        ResourceBundle en = bundle(Locale.ENGLISH, null);
+
+        write("Messages_en.properties", "greeting=hello again");
+        Thread.sleep(200);
+        assertThat(bundle(Locale.ENGLISH, null), is(sameInstance(en)));
+        assertThat(bundle(Locale.ENGLISH, null).getString("greeting"), is("hello"));
+    }
+
+    @Test
+    public void changesMadeWhileReadingAreNotMissed() throws Exception {
+        write("Messages_en.properties", "greeting=hello");
+        long version = watcher.version(loader, "Messages_en.properties");
+        long generation = watcher.generation();
+        //modified after the version was taken, but before the file was marked as read
+        write("Messages_en.properties", "greeting=hello again");
+        watcher.track(loader, "Messages_en.properties", version);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!watcher.isModified(loader, "Messages_en.properties") && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(watcher.isModified(loader, "Messages_en.properties"), is(true));
+        assertThat(watcher.generation() == generation, is(false));
+    }
+
+    private ResourceBundle bundle(Locale locale, BundleWatcher watcher) {
+        return ResourceBundle.getBundle("Messages", locale, loader, new EncodedResourceControl("UTF-8", watcher));
+    }
+
+    private String awaitValue(Locale locale, String expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String value;
+        do {
+            value = bundle(locale, watcher).getString("greeting");
+            if (expected.equals(value)) {
+                break;
+            }
+            Thread.sleep(20);
+        } while (System.nanoTime() < deadline);
+        return value;
+    }
+
+    private void write(String fileName, String contents) throws IOException {
+        Path file = tmp.dir.toPath().resolve(fileName);
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+    }
+}
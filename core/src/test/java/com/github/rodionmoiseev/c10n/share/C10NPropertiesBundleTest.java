@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n.share;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class C10NPropertiesBundleTest {
+    private static final String CONTENTS = "# comment\n" +
+            "! another comment \\\n" +
+            "plain=value\n" +
+            "  indented : spaced value  \n" +
+            "whitespaceSeparated   value\n" +
+            "empty=\n" +
+            "noValue\n" +
+            "escaped\\=key\\:with\\ spaces=v\n" +
+            "escapes=tab\\tnew\\nline\\u3042\\\\\\q\n" +
+            "continued=first \\\n" +
+            "          second \\\r\n" +
+            "\tthird\n" +
+            "\r\n" +
+            "windows=crlf\r\n" +
+            "mac=cr\r" +
+            "dup=first\n" +
+            "dup=second\n" +
+            "=emptyKey\n" +
+            "last=no newline at end";
+
+    @Test
+    public void parsesTheSameAsProperties() throws IOException {
+        Properties expected = new Properties();
+        expected.load(new StringReader(CONTENTS));
+        C10NPropertiesBundle bundle = C10NPropertiesBundle.parse(new StringReader(CONTENTS));
+
+        assertThat(bundle.keySet(), is(expected.stringPropertyNames()));
+        for (String key : expected.stringPropertyNames()) {
+            assertThat(key, bundle.getString(key), is(expected.getProperty(key)));
+        }
+        assertThat(bundle.lookup("continued"), is("first second third"));
+        assertThat(bundle.lookup("dup"), is("second"));
+        assertThat(bundle.lookup("unknown"), is(nullValue()));
+    }
+
+    @Test
+    public void largeBundlesAreFullyIndexed() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            sb.append("com.example.Messages.msg").append(i).append('=').append("value ").append(i).append('\n');
+        }
+        C10NPropertiesBundle bundle = C10NPropertiesBundle.parse(new StringReader(sb.toString()));
+        assertThat(bundle.keySet().size(), is(10000));
+        for (int i = 0; i < 10000; i++) {
+            assertThat(bundle.getString("com.example.Messages.msg" + i), is("value " + i));
+        }
+    }
+
+    @Test
+    public void parentBundleIsConsulted() throws IOException {
+        EncodedResourceControl control = new EncodedResourceControl("UTF-8");
+        ResourceBundle bundle = ResourceBundle.getBundle("com.github.rodionmoiseev.c10n.testBundles.TestBundle",
+                Locale.JAPANESE, control);
+        assertThat(bundle.getString("com.github.rodionmoiseev.c10n.ResourceBundleBindingTest.Buttons.ok"), is("はい"));
+        assertThat(bundle.getString("com.myCompany.msg"), is("en"));
+        assertThat(bundle.containsKey("com.myCompany.msg"), is(true));
+        Set<String> keys = new HashSet<>(Collections.list(bundle.getKeys()));
+        assertThat(keys.contains("com.myCompany.msg"), is(true));
+        assertThat(keys.contains("com.github.rodionmoiseev.c10n.ResourceBundleBindingTest.Buttons.ok"), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void malformedUnicodeEscapeIsRejected() throws IOException {
+        C10NPropertiesBundle.parse(new StringReader("key=\\u12g4"));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n.share.catalog;
+
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import com.github.rodionmoiseev.c10n.test.utils.UsingTmpDir;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class C10NCatalogTest {
+    @Rule
+    public UsingTmpDir tmp = RuleUtils.tmpDir(C10NCatalogTest.class);
+
+    @Test
+    public void everyKeyIsFoundInLargeCatalogs() throws IOException {
+        C10NCatalogWriter writer = new C10NCatalogWriter();
+        for (int i = 0; i < 5000; i++) {
+            writer.put(Locale.ROOT, "com.example.Messages.msg" + i, "root " + i);
+            if (i % 2 == 0) {
+                writer.put(Locale.JAPANESE, "com.example.Messages.msg" + i, "ja " + i);
+            }
+        }
+        C10NCatalog catalog = write(writer);
+        for (int i = 0; i < 5000; i++) {
+            assertThat(catalog.get("com.example.Messages.msg" + i, Locale.ROOT), is("root " + i));
+            assertThat(catalog.get("com.example.Messages.msg" + i, Locale.JAPANESE),
+                    is(i % 2 == 0 ? "ja " + i : null));
+        }
+        assertThat(catalog.get("com.example.Messages.unknown", Locale.ROOT), is(nullValue()));
+        assertThat(catalog.get("com.example.Messages.msg1", Locale.FRENCH), is(nullValue()));
+    }
+
+    @Test
+    public void bundlesFallBackToParentLocales() throws IOException {
+        C10NCatalog catalog = write(new C10NCatalogWriter()
+                .put(Locale.ROOT, "greeting", "Hello")
+                .put(Locale.ROOT, "bye", "Bye")
+                .put(Locale.JAPANESE, "greeting", "こんにちは")
+                .put(Locale.JAPAN, "bye", "さようなら"));
+
+        ResourceBundle jaJP = catalog.getBundle(Locale.JAPAN);
+        assertThat(jaJP.getString("greeting"), is("こんにちは"));
+        assertThat(jaJP.getString("bye"), is("さようなら"));
+        assertThat(jaJP.containsKey("unknown"), is(false));
+
+        ResourceBundle ja = catalog.getBundle(Locale.JAPANESE);
+        assertThat(ja.getString("greeting"), is("こんにちは"));
+        assertThat(ja.getString("bye"), is("Bye"));
+
+        ResourceBundle fr = catalog.getBundle(Locale.FRENCH);
+        assertThat(fr.getString("greeting"), is("Hello"));
+        assertThat(fr.keySet().size(), is(2));
+    }
+
+    @Test
+    public void emptyCatalog() throws IOException {
+        C10NCatalog catalog = write(new C10NCatalogWriter());
+        assertThat(catalog.get("any", Locale.ROOT), is(nullValue()));
+        assertThat(catalog.getBundle(Locale.ENGLISH).containsKey("any"), is(false));
+    }
+
+    @Test
+    public void templatesArePreParsedAndFormatLikeMessageFormat() throws IOException {
+        String[] templates = {
+                "plain text",
+                "Hello, {0}!",
+                "{1} before {0}, {0} again",
+                "It''s '{0}' quoted, '{'braces'}' and {0}",
+                "{0,number} / {0,number,integer} / {0,number,percent} / {0,number,#.##}",
+                "{1,date,short} at {1,time,short} ({1,date,yyyy-MM-dd})",
+                "untyped {0} and {1}",
+                "missing {2}"
+        };
+        C10NCatalogWriter writer = new C10NCatalogWriter();
+        for (int i = 0; i < templates.length; i++) {
+            writer.put(Locale.ROOT, "msg" + i, templates[i]);
+        }
+        ResourceBundle bundle = write(writer).getBundle(Locale.ENGLISH);
+        Object[] args = {12345.678, new Date(1234567890000L)};
+        for (int i = 0; i < templates.length; i++) {
+            assertThat(templates[i],
+                    C10NCatalog.getCompiledMessage(bundle, "msg" + i).format(args),
+                    is(MessageFormat.format(templates[i], args)));
+        }
+        assertThat(C10NCatalog.getCompiledMessage(bundle, "msg1").format((Object) null),
+                is("Hello, null!"));
+    }
+
+    @Test
+    public void templatesFollowTheParentChain() throws IOException {
+        ResourceBundle ja = write(new C10NCatalogWriter()
+                .put(Locale.ROOT, "greeting", "Hello, {0}")
+                .put(Locale.JAPANESE, "bye", "さようなら、{0}"))
+                .getBundle(Locale.JAPAN);
+        assertThat(C10NCatalog.getCompiledMessage(ja, "greeting").format("a"), is("Hello, a"));
+        assertThat(C10NCatalog.getCompiledMessage(ja, "bye").format("b"), is("さようなら、b"));
+        assertThat(C10NCatalog.getCompiledMessage(ja, "unknown"), is(nullValue()));
+    }
+
+    @Test
+    public void unsupportedTemplatesAreLeftToTheFormatter() throws IOException {
+        ResourceBundle bundle = write(new C10NCatalogWriter()
+                .put(Locale.ROOT, "choice", "{0,choice,0#none|1#one|1<many}")
+                .put(Locale.ROOT, "plain", "text"))
+                .getBundle(Locale.ROOT);
+        assertThat(C10NCatalog.getCompiledMessage(bundle, "choice"), is(nullValue()));
+        assertThat(bundle.getString("choice"), is("{0,choice,0#none|1#one|1<many}"));
+        assertThat(C10NCatalog.getCompiledMessage(bundle, "plain").format(), is("text"));
+    }
+
+    @Test(expected = IOException.class)
+    public void nonCatalogFilesAreRejected() throws IOException {
+        Path file = new File(tmp.dir, "not-a-catalog.c10n").toPath();
+        Files.write(file, "com.example.key=value".getBytes("UTF-8"));
+        C10NCatalog.open(file);
+    }
+
+    private C10NCatalog write(C10NCatalogWriter writer) throws IOException {
+        Path file = new File(tmp.dir, "test.c10n").toPath();
+        writer.write(file);
+        return C10NCatalog.open(file);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n.share.gettext;
+
+import com.github.rodionmoiseev.c10n.C10N;
+import com.github.rodionmoiseev.c10n.C10NConfigBase;
+import com.github.rodionmoiseev.c10n.C10NMsgFactory;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class GettextCatalogTest {
+    private static final String LABELS = "com.github.rodionmoiseev.c10n.share.gettext.GettextCatalogTest.Labels.";
+
+    @Test
+    public void messagesAreFoundThroughTheEmbeddedHashTable() throws Exception {
+        MoFile mo = MoFile.open(resource("ja/LC_MESSAGES/messages.mo"));
+        assertThat(mo.getCharset(), is(StandardCharsets.UTF_8));
+        for (int i = 0; i < 300; i++) {
+            assertThat(mo.get("com.example.Messages.msg" + i), is("ja " + i));
+        }
+        assertThat(mo.get(LABELS + "greeting"), is("こんにちは、gettext!"));
+        assertThat(mo.get("com.example.Messages.msg300"), is(nullValue()));
+        assertThat(mo.get(""), is(nullValue()));
+        assertThat(mo.keySet().size(), is(303));
+    }
+
+    @Test
+    public void pluralEntriesResolveToTheFirstForm() throws Exception {
+        MoFile mo = MoFile.open(resource("ja/LC_MESSAGES/messages.mo"));
+        assertThat(mo.get("apple"), is("りんご"));
+        assertThat(mo.get("apples"), is(nullValue()));
+        assertThat(mo.keySet().contains("apple"), is(true));
+    }
+
+    @Test
+    public void bigEndianFilesWithoutHashTableAreSearched() throws Exception {
+        MoFile mo = MoFile.open(resource("nohash_be.mo"), 0);
+        for (int i = 0; i < 50; i++) {
+            assertThat(mo.get(String.format("key%02d", i)), is("value " + i));
+        }
+        assertThat(mo.get("key50"), is(nullValue()));
+        assertThat(mo.get("a"), is(nullValue()));
+    }
+
+    @Test
+    public void cachedLookupsReturnTheSameValues() throws Exception {
+        MoFile mo = MoFile.open(resource("ja/LC_MESSAGES/messages.mo"), 4);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 20; i++) {
+                assertThat(mo.get("com.example.Messages.msg" + i), is("ja " + i));
+                assertThat(mo.get("unknown" + i), is(nullValue()));
+            }
+        }
+    }
+
+    @Test
+    public void localeTreeIsOpenedWithFallback() throws Exception {
+        GettextCatalog catalog = GettextCatalog.open(localeDir(), "messages");
+        assertThat(catalog.getLocales().size(), is(2));
+        ResourceBundle bundle = catalog.getBundle(Locale.JAPAN);
+        assertThat(bundle.getString(LABELS + "greeting"), is("こんにちは、gettext!"));
+        assertThat(bundle.containsKey(LABELS + "unknown"), is(false));
+        assertThat(catalog.getBundle(Locale.FRENCH).containsKey(LABELS + "greeting"), is(false));
+    }
+
+    @Test
+    public void posixLocaleNamesAreParsed() {
+        assertThat(GettextCatalog.parseLocale("ja"), is(Locale.JAPANESE));
+        assertThat(GettextCatalog.parseLocale("pt_BR"), is(new Locale("pt", "BR")));
+        assertThat(GettextCatalog.parseLocale("ja_JP.UTF-8"), is(Locale.JAPAN));
+        assertThat(GettextCatalog.parseLocale("sr_RS@latin"), is(new Locale("sr", "RS")));
+        assertThat(GettextCatalog.parseLocale("C"), is(Locale.ROOT));
+    }
+
+    @Test
+    public void gettextCatalogsCanBeBoundToConfiguration() throws Exception {
+        Path localeDir = localeDir();
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindGettext(localeDir, "messages");
+            }
+        });
+        assertThat(factory.get(Labels.class, Locale.JAPANESE).greeting(), is("こんにちは、gettext!"));
+        assertThat(factory.get(Labels.class, Locale.JAPANESE).argGreeting("c10n"), is("こんにちはc10n!"));
+        assertThat(factory.get(Labels.class, Locale.ENGLISH).argGreeting("c10n"), is("Hello, c10n!"));
+    }
+
+    @Test
+    public void singleMoFileCanBeBoundForLocale() throws Exception {
+        Path moFile = resource("en/LC_MESSAGES/messages.mo");
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindGettext(moFile, Locale.ENGLISH);
+            }
+        });
+        assertThat(factory.get(Labels.class, Locale.UK).greeting(), is("Hello, gettext!"));
+    }
+
+    private static Path localeDir() throws Exception {
+        return resource("nohash_be.mo").getParent();
+    }
+
+    private static Path resource(String name) throws Exception {
+        return Paths.get(GettextCatalogTest.class.getResource(name).toURI());
+    }
+
+    interface Labels {
+        String greeting();
+
+        String argGreeting(String who);
+    }
+}
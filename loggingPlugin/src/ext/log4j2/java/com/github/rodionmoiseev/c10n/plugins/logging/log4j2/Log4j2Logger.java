@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugins.logging.log4j2;
+
+import com.github.rodionmoiseev.c10n.InvocationDetails;
+import com.github.rodionmoiseev.c10n.plugins.logging.BoundLogger;
+import com.github.rodionmoiseev.c10n.plugins.logging.LoggerImplementation;
+import com.github.rodionmoiseev.c10n.plugins.logging.LoggingLevel;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Logger implementation based on Log4j2.
+ *
+ * Loggers and levels are looked up once per c10n method, and messages for
+ * disabled levels are never resolved. Messages are resolved on the logging
+ * thread, with the locale and argument values of the call (as with the other
+ * logger implementations), and passed to Log4j2 as plain strings, so in
+ * garbage-free mode Log4j2 wraps them in its own reusable message objects.
+ *
+ * @author rodion
+ */
+@SuppressWarnings("WeakerAccess")//rationale: public API
+public class Log4j2Logger implements LoggerImplementation {
+    @Override
+    public void log(String logger, LoggingLevel level, String message, Throwable cause, InvocationDetails details) {
+        LogManager.getLogger(logger).log(toLog4jLevel(level), message, cause);
+    }
+
+    @Override
+    public boolean isLoggable(String logger, LoggingLevel level) {
+        return LogManager.getLogger(logger).isEnabled(toLog4jLevel(level));
+    }
+
+    @Override
+    public BoundLogger bind(String logger, LoggingLevel level) {
+        Logger lgr = LogManager.getLogger(logger);
+        Level lvl = toLog4jLevel(level);
+        return new BoundLogger() {
+            @Override
+            public boolean isLoggable() {
+                return lgr.isEnabled(lvl);
+            }
+
+            @Override
+            public void log(String message, Throwable cause, InvocationDetails details) {
+                lgr.log(lvl, message, cause);
+            }
+        };
+    }
+
+    @Override
+    public boolean isLevelEnabled(LoggingLevel level) {
+        return LogManager.getRootLogger().isEnabled(toLog4jLevel(level));
+    }
+
+    private static Level toLog4jLevel(LoggingLevel level) {
+        switch (level) {
+            case TRACE:
+                return Level.TRACE;
+            case DEBUG:
+                return Level.DEBUG;
+            case INFO:
+                return Level.INFO;
+            case WARN:
+                return Level.WARN;
+            default:
+                return Level.ERROR;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugins.logging.slf4j;
+
+import com.github.rodionmoiseev.c10n.InvocationDetails;
+import com.github.rodionmoiseev.c10n.plugins.logging.BoundLogger;
+import com.github.rodionmoiseev.c10n.plugins.logging.LoggerImplementation;
+import com.github.rodionmoiseev.c10n.plugins.logging.LoggingLevel;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logger implementation based on SLF4J.
+ *
+ * Loggers are looked up once per c10n method, and messages for disabled
+ * levels are never resolved.
+ *
+ * @author rodion
+ */
+@SuppressWarnings("WeakerAccess")//rationale: public API
+public class Slf4jLogger implements LoggerImplementation {
+    private final ILoggerFactory loggerFactory;
+
+    /**
+     * Uses the logger factory of the SLF4J binding found on the classpath.
+     */
+    public Slf4jLogger() {
+        this(LoggerFactory.getILoggerFactory());
+    }
+
+    /**
+     * @param loggerFactory factory to look up loggers from (not null)
+     */
+    public Slf4jLogger(ILoggerFactory loggerFactory) {
+        this.loggerFactory = loggerFactory;
+    }
+
+    @Override
+    public void log(String logger, LoggingLevel level, String message, Throwable cause, InvocationDetails details) {
+        log(loggerFactory.getLogger(logger), level, message, cause);
+    }
+
+    @Override
+    public boolean isLoggable(String logger, LoggingLevel level) {
+        return isEnabled(loggerFactory.getLogger(logger), level);
+    }
+
+    @Override
+    public BoundLogger bind(String logger, LoggingLevel level) {
+        Logger lgr = loggerFactory.getLogger(logger);
+        return new BoundLogger() {
+            @Override
+            public boolean isLoggable() {
+                return isEnabled(lgr, level);
+            }
+
+            @Override
+            public void log(String message, Throwable cause, InvocationDetails details) {
+                Slf4jLogger.log(lgr, level, message, cause);
+            }
+        };
+    }
+
+    @Override
+    public boolean isLevelEnabled(LoggingLevel level) {
+        return isEnabled(loggerFactory.getLogger(Logger.ROOT_LOGGER_NAME), level);
+    }
+
+    private static boolean isEnabled(Logger lgr, LoggingLevel level) {
+        switch (level) {
+            case TRACE:
+                return lgr.isTraceEnabled();
+            case DEBUG:
+                return lgr.isDebugEnabled();
+            case INFO:
+                return lgr.isInfoEnabled();
+            case WARN:
+                return lgr.isWarnEnabled();
+            default:
+                return lgr.isErrorEnabled();
+        }
+    }
+
+    private static void log(Logger lgr, LoggingLevel level, String message, Throwable cause) {
+        switch (level) {
+            case TRACE:
+                lgr.trace(message, cause);
+                break;
+            case DEBUG:
+                lgr.debug(message, cause);
+                break;
+            case INFO:
+                lgr.info(message, cause);
+                break;
+            case WARN:
+                lgr.warn(message, cause);
+                break;
+            default:
+                lgr.error(message, cause);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+import com.github.rodionmoiseev.c10n.InvocationDetails;
+import com.github.rodionmoiseev.c10n.share.utils.Preconditions;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logger implementation writing log events to another logger implementation
+ * on a background thread, so that logging threads do not wait for log I/O.
+ *
+ * Log events are captured into a preallocated ring buffer, and written to the
+ * delegate in batches by a single daemon thread, in the order they were logged.
+ * The consumer thread waits for events according to the {@link WaitStrategy}, and
+ * events logged when the buffer is full are handled according to the {@link Overflow}
+ * policy:
+ * <pre><code>
+ *   installPlugin(new LoggingPlugin(LoggingLevel.INFO,
+ *           new AsyncLogger(new JavaLoggingUtilLogger(), 8192,
+ *                   AsyncLogger.WaitStrategy.BLOCKING, AsyncLogger.Overflow.BLOCK)));
+ * </code></pre>
+ *
+ * Level checks are answered by the delegate on the logging thread. Call {@link #close()}
+ * to write out pending events and stop the background thread. Events logged after that
+ * are written to the delegate directly.
+ *
+ * @author rodion
+ */
+public class AsyncLogger implements LoggerImplementation, AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long SLEEP_NANOS = 100_000L;
+    //sequence claimed by the consumer thread on exit, events are then written directly
+    private static final long CLOSED = -1L;
+
+    private final LoggerImplementation delegate;
+    private final WaitStrategy waitStrategy;
+    private final Overflow overflow;
+    private final Slot[] slots;
+    private final int mask;
+    //next sequence to be claimed by a logging thread
+    private final AtomicLong next = new AtomicLong();
+    //all sequences below have been written, and their slots can be reused
+    private volatile long consumed = 0L;
+    private volatile boolean consumerWaiting = false;
+    private volatile boolean closed = false;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread consumer;
+
+    /**
+     * How the background thread waits for new log events.
+     */
+    public enum WaitStrategy {
+        /**
+         * The thread is parked until an event is logged. Lowest CPU usage,
+         * but logging threads have to wake it up.
+         */
+        BLOCKING,
+        /**
+         * The thread polls for events, sleeping briefly in between.
+         */
+        SLEEPING,
+        /**
+         * The thread polls for events, yielding in between. Lowest latency,
+         * but keeps one core busy.
+         */
+        YIELDING
+    }
+
+    /**
+     * What happens to log events when the ring buffer is full.
+     */
+    public enum Overflow {
+        /**
+         * Events are discarded, the logging thread never waits.
+         */
+        DROP,
+        /**
+         * The logging thread waits until there is space in the ring buffer.
+         */
+        BLOCK,
+        /**
+         * The logging thread writes the event to the delegate itself.
+         * Events may then be written out of order.
+         */
+        CALLER_RUNS
+    }
+
+    /**
+     * Writes events to the given delegate, with up to 1024 events buffered.
+     * Events are dropped when the buffer is full.
+     *
+     * @param delegate logger implementation to write events to (not null)
+     */
+    public AsyncLogger(LoggerImplementation delegate) {
+        this(delegate, DEFAULT_CAPACITY, WaitStrategy.BLOCKING, Overflow.DROP);
+    }
+
+    /**
+     * @param delegate     logger implementation to write events to (not null)
+     * @param capacity     maximum number of buffered events, rounded up to the next power of two (positive)
+     * @param waitStrategy how the background thread waits for events (not null)
+     * @param overflow     what to do with events when the buffer is full (not null)
+     */
+    public AsyncLogger(LoggerImplementation delegate, int capacity, WaitStrategy waitStrategy, Overflow overflow) {
+        Preconditions.assertNotNull(delegate, "delegate");
+        Preconditions.assertNotNull(waitStrategy, "waitStrategy");
+        Preconditions.assertNotNull(overflow, "overflow");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.delegate = delegate;
+        this.waitStrategy = waitStrategy;
+        this.overflow = overflow;
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.consumer = new Thread(this::consume, "c10n-async-logger");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void log(String logger, LoggingLevel level, String message, Throwable cause, InvocationDetails details) {
+        enqueue(delegate.bind(logger, level), message, cause, details, 0L);
+    }
+
+    @Override
+    public boolean isLoggable(String logger, LoggingLevel level) {
+        return delegate.isLoggable(logger, level);
+    }
+
+    @Override
+    public BoundLogger bind(String logger, LoggingLevel level) {
+        return async(delegate.bind(logger, level));
+    }
+
+    @Override
+    public BoundLogger bind(String logger, LoggingLevel level, Class<?> c10nInterface, Method method) {
+        return async(delegate.bind(logger, level, c10nInterface, method));
+    }
+
+    @Override
+    public boolean isLevelEnabled(LoggingLevel level) {
+        return delegate.isLevelEnabled(level);
+    }
+
+    /**
+     * @return number of events dropped because the ring buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes out all pending events, and stops the background thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BoundLogger async(BoundLogger target) {
+        return new BoundLogger() {
+            @Override
+            public boolean isLoggable() {
+                return target.isLoggable();
+            }
+
+            @Override
+            public void log(String message, Throwable cause, InvocationDetails details) {
+                enqueue(target, message, cause, details, 0L);
+            }
+
+            @Override
+            public boolean needsMessage() {
+                return target.needsMessage();
+            }
+
+            @Override
+            public void logSuppressed(long count) {
+                enqueue(target, null, null, null, count);
+            }
+        };
+    }
+
+    private void enqueue(BoundLogger target, String message, Throwable cause, InvocationDetails details,
+                         long suppressed) {
+        long seq;
+        while (true) {
+            seq = next.get();
+            if (seq == CLOSED) {
+                write(target, message, cause, details, suppressed);
+                return;
+            }
+            if (seq - consumed >= slots.length) {
+                if (overflow == Overflow.DROP) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                if (overflow == Overflow.CALLER_RUNS) {
+                    write(target, message, cause, details, suppressed);
+                    return;
+                }
+                LockSupport.parkNanos(SLEEP_NANOS);
+                continue;
+            }
+            if (next.compareAndSet(seq, seq + 1)) {
+                break;
+            }
+        }
+        Slot slot = slots[(int) (seq & mask)];
+        slot.target = target;
+        slot.message = message;
+        slot.cause = cause;
+        slot.details = details;
+        slot.suppressed = suppressed;
+        //publishes the event to the consumer thread
+        slot.sequence = seq;
+        if (consumerWaiting) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void consume() {
+        long seq = 0L;
+        while (true) {
+            Slot slot = slots[(int) (seq & mask)];
+            if (slot.sequence != seq) {
+                if (closed && next.compareAndSet(seq, CLOSED)) {
+                    return;
+                }
+                await(seq);
+                continue;
+            }
+            //drain all published events, releasing each slot once its event is written
+            do {
+                write(slot.target, slot.message, slot.cause, slot.details, slot.suppressed);
+                slot.clear();
+                consumed = ++seq;
+                slot = slots[(int) (seq & mask)];
+            } while (slot.sequence == seq);
+        }
+    }
+
+    private void await(long seq) {
+        switch (waitStrategy) {
+            case BLOCKING:
+                consumerWaiting = true;
+                //re-check, in case the event was published before the flag was set
+                if (slots[(int) (seq & mask)].sequence != seq && !closed) {
+                    LockSupport.park(this);
+                }
+                consumerWaiting = false;
+                break;
+            case SLEEPING:
+                LockSupport.parkNanos(this, SLEEP_NANOS);
+                break;
+            default:
+                Thread.yield();
+        }
+    }
+
+    private static void write(BoundLogger target, String message, Throwable cause, InvocationDetails details,
+                              long suppressed) {
+        try {
+            if (suppressed > 0) {
+                target.logSuppressed(suppressed);
+            } else {
+                target.log(message, cause, details);
+            }
+        } catch (Throwable e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    private static final class Slot {
+        volatile long sequence = -1L;
+        BoundLogger target;
+        String message;
+        Throwable cause;
+        InvocationDetails details;
+        //non-zero for summaries of events suppressed by RateLimit
+        long suppressed;
+
+        void clear() {
+            target = null;
+            message = null;
+            cause = null;
+            details = null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+import com.github.rodionmoiseev.c10n.InvocationDetails;
+
+/**
+ * A logger bound to a logger name and logging level, resolved once
+ * per c10n method by {@link LoggerImplementation#bind(String, LoggingLevel, Class, java.lang.reflect.Method)}.
+ */
+public interface BoundLogger {
+    /**
+     * Checks whether events would currently be logged by this logger.
+     *
+     * @return {@code false} if events would be discarded, {@code true} otherwise
+     */
+    boolean isLoggable();
+
+    /**
+     * Log an event with the bound logger name and logging level.
+     *
+     * @param message the message to be logged with all the argument placeholders resolved (not null)
+     * @param cause   the exception associated with the logging event (maybe null)
+     * @param details c10n method invocation details
+     */
+    void log(String message, Throwable cause, InvocationDetails details);
+
+    /**
+     * Checks whether this logger uses the resolved message text. When it does not,
+     * the message is not resolved, and {@link #log(String, Throwable, InvocationDetails)}
+     * receives a {@code null} message.
+     *
+     * @return {@code true} (default) if the message text should be resolved
+     */
+    default boolean needsMessage() {
+        return true;
+    }
+
+    /**
+     * Log a summary of the events suppressed by {@link RateLimit} before the event
+     * about to be logged. The summary is a separate event, not tied to any invocation.
+     * The default implementation logs the text "Suppressed N similar messages",
+     * with {@code null} invocation details.
+     *
+     * @param count number of suppressed events (positive)
+     */
+    default void logSuppressed(long count) {
+        log(LogEvent.suppressedMessage(count), null, null);
+    }
+}
@@ -51,6 +51,29 @@ public class JavaLoggingUtilLogger implements LoggerImplementation {
         );
     }
 
+    @Override
+    public boolean isLoggable(String logger, LoggingLevel level) {
+        return Logger.getLogger(logger).isLoggable(levelMapping.getOrDefault(level, Level.ALL));
+    }
+
+    @Override
+    public BoundLogger bind(String logger, LoggingLevel level) {
+        //getLogger() locks the log manager, so only look the logger up once
+        Logger lgr = Logger.getLogger(logger);
+        Level lvl = levelMapping.getOrDefault(level, Level.ALL);
+        return new BoundLogger() {
+            @Override
+            public boolean isLoggable() {
+                return lgr.isLoggable(lvl);
+            }
+
+            @Override
+            public void log(String message, Throwable cause, InvocationDetails details) {
+                lgr.log(lvl, message, cause);
+            }
+        };
+    }
+
     @Override
     public boolean isLevelEnabled(LoggingLevel level) {
         return java.util.logging.Logger.getGlobal().isLoggable(levelMapping.getOrDefault(level, Level.ALL));
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Encodes log events as one line of JSON each, in UTF-8:
+ * <pre><code>
+ *   {"time":1445000000000,"level":"WARN","logger":"com.example.Log","key":"com.example.Log.failed",
+ *    "message":"Failed for rodion","args":{"user":"rodion"},"cause":"java.io.IOException: broken"}
+ * </code></pre>
+ *
+ * Numbers and booleans are written as JSON literals, other arguments as strings.
+ * The {@code message} field is omitted when the message was not resolved.
+ * Summaries of events suppressed by {@link RateLimit} carry the number of
+ * suppressed events in a {@code suppressed} field, and no arguments.
+ *
+ * @author rodion
+ */
+public class JsonLogEventEncoder implements LogEventEncoder {
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    @Override
+    public void encode(LogEvent event, LogEventBuffer buffer) {
+        ascii(buffer, "{\"time\":");
+        ascii(buffer, Long.toString(event.getTimestamp()));
+        ascii(buffer, ",\"level\":\"");
+        ascii(buffer, event.getLevel().name());
+        ascii(buffer, "\",\"logger\":");
+        string(buffer, event.getLogger());
+        if (null != event.getKey()) {
+            ascii(buffer, ",\"key\":");
+            string(buffer, event.getKey());
+        }
+        if (null != event.getMessage()) {
+            ascii(buffer, ",\"message\":");
+            string(buffer, event.getMessage());
+        }
+        if (event.getSuppressed() > 0) {
+            ascii(buffer, ",\"suppressed\":");
+            ascii(buffer, Long.toString(event.getSuppressed()));
+        }
+        ascii(buffer, ",\"args\":{");
+        String[] names = event.getArgumentNames();
+        Object[] args = event.getArguments();
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                buffer.write(',');
+            }
+            string(buffer, names[i]);
+            buffer.write(':');
+            value(buffer, args[i]);
+        }
+        buffer.write('}');
+        if (null != event.getCause()) {
+            ascii(buffer, ",\"cause\":");
+            string(buffer, event.getCause().toString());
+        }
+        buffer.write('}');
+        buffer.write('\n');
+    }
+
+    private static void value(LogEventBuffer buffer, Object value) {
+        if (null == value) {
+            ascii(buffer, "null");
+        } else if (value instanceof Boolean
+                || value instanceof Integer
+                || value instanceof Long
+                || value instanceof Short
+                || value instanceof Byte
+                || value instanceof BigInteger
+                || value instanceof BigDecimal) {
+            ascii(buffer, value.toString());
+        } else if ((value instanceof Double || value instanceof Float)
+                && Double.isFinite(((Number) value).doubleValue())) {
+            ascii(buffer, value.toString());
+        } else {
+            string(buffer, String.valueOf(value));
+        }
+    }
+
+    private static void ascii(LogEventBuffer buffer, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            buffer.write(s.charAt(i));
+        }
+    }
+
+    /*
+     * Writes a quoted and escaped JSON string, encoded as UTF-8
+     */
+    private static void string(LogEventBuffer buffer, String s) {
+        buffer.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.write('\\');
+                buffer.write(c);
+            } else if (c == '\n') {
+                buffer.write('\\');
+                buffer.write('n');
+            } else if (c == '\r') {
+                buffer.write('\\');
+                buffer.write('r');
+            } else if (c == '\t') {
+                buffer.write('\\');
+                buffer.write('t');
+            } else if (c < 0x20) {
+                ascii(buffer, "\\u00");
+                buffer.write(HEX[c >> 4]);
+                buffer.write(HEX[c & 0xf]);
+            } else if (c < 0x80) {
+                buffer.write(c);
+            } else if (c < 0x800) {
+                buffer.write(0xc0 | (c >> 6));
+                buffer.write(0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < s.length()
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buffer.write(0xf0 | (cp >> 18));
+                buffer.write(0x80 | ((cp >> 12) & 0x3f));
+                buffer.write(0x80 | ((cp >> 6) & 0x3f));
+                buffer.write(0x80 | (cp & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                //unpaired surrogate
+                buffer.write('?');
+            } else {
+                buffer.write(0xe0 | (c >> 12));
+                buffer.write(0x80 | ((c >> 6) & 0x3f));
+                buffer.write(0x80 | (c & 0x3f));
+            }
+        }
+        buffer.write('"');
+    }
+}
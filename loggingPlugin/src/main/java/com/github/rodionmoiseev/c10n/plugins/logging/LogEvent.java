@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+/**
+ * A structured log event, as passed to a {@link LogEventEncoder} by the {@link StructuredLogger}.
+ *
+ * @author rodion
+ */
+public final class LogEvent {
+    private final long timestamp;
+    private final String logger;
+    private final LoggingLevel level;
+    private final String key;
+    private final String[] argumentNames;
+    private final Object[] arguments;
+    private final String message;
+    private final Throwable cause;
+    private final long suppressed;
+
+    LogEvent(long timestamp, String logger, LoggingLevel level, String key,
+             String[] argumentNames, Object[] arguments, String message, Throwable cause, long suppressed) {
+        this.timestamp = timestamp;
+        this.logger = logger;
+        this.level = level;
+        this.key = key;
+        this.argumentNames = argumentNames;
+        this.arguments = arguments;
+        this.message = message;
+        this.cause = cause;
+        this.suppressed = suppressed;
+    }
+
+    static String suppressedMessage(long count) {
+        return "Suppressed " + count + " similar messages";
+    }
+
+    /**
+     * @return time of the event, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return logger name (not null)
+     */
+    public String getLogger() {
+        return logger;
+    }
+
+    /**
+     * @return logging level (not null)
+     */
+    public LoggingLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * @return c10n key of the invoked method, without the global key prefix (maybe null)
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Names of the method arguments, taken from the {@link com.github.rodionmoiseev.c10n.formatters.NamedArg}
+     * annotation, or the parameter name when compiled with {@code -parameters}, or the argument index.
+     *
+     * @return argument names, one per argument (not null)
+     */
+    public String[] getArgumentNames() {
+        return argumentNames;
+    }
+
+    /**
+     * @return raw argument values, one per argument name (not null)
+     */
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    /**
+     * @return resolved message text, or {@code null} if the message was not resolved
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the exception associated with the event (maybe null)
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+
+    /**
+     * Summary events report the number of events of the same c10n method suppressed
+     * by {@link RateLimit}. They have no arguments and no cause.
+     *
+     * @return number of suppressed events for summary events, {@code 0} otherwise
+     */
+    public long getSuppressed() {
+        return suppressed;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that {@link LogEventEncoder}s encode log events into.
+ *
+ * Unlike {@link java.io.ByteArrayOutputStream}, writes are not synchronized,
+ * since each buffer is only used by one thread at a time.
+ *
+ * @author rodion
+ */
+public final class LogEventBuffer {
+    private byte[] bytes;
+    private int size = 0;
+
+    /**
+     * @param initialCapacity initial size of the buffer, in bytes (not negative)
+     */
+    public LogEventBuffer(int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+
+    /**
+     * Appends one byte.
+     *
+     * @param b the byte to append, as the lower 8 bits of the int
+     */
+    public void write(int b) {
+        if (size == bytes.length) {
+            grow(size + 1);
+        }
+        bytes[size++] = (byte) b;
+    }
+
+    /**
+     * Appends a range of bytes.
+     *
+     * @param b   bytes to append (not null)
+     * @param off index of the first byte to append
+     * @param len number of bytes to append
+     */
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + b.length);
+        }
+        if (size + len > bytes.length) {
+            grow(size + len);
+        }
+        System.arraycopy(b, off, bytes, size, len);
+        size += len;
+    }
+
+    /**
+     * @return number of bytes written so far
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return copy of the bytes written so far
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    private void grow(int minCapacity) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, minCapacity));
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+/**
+ * Encodes structured log events into bytes, for the {@link StructuredLogger}.
+ *
+ * @author rodion
+ * @see JsonLogEventEncoder
+ */
+public interface LogEventEncoder {
+    /**
+     * Appends the encoded event to the buffer. The buffer is reused between
+     * events of the same thread, and is empty when this method is called.
+     *
+     * @param event  event to encode (not null)
+     * @param buffer buffer to write the encoded event to (not null)
+     */
+    void encode(LogEvent event, LogEventBuffer buffer);
+}
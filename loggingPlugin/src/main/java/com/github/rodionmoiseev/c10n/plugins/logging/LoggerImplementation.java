@@ -18,6 +18,8 @@ package com.github.rodionmoiseev.c10n.plugins.logging;
 
 import com.github.rodionmoiseev.c10n.InvocationDetails;
 
+import java.lang.reflect.Method;
+
 /**
  * The actual implementation of logging using a
  * logging framework of choice, or a custom implementation.
@@ -34,4 +36,62 @@ public interface LoggerImplementation extends LoggingBase {
      * @param details c10n method invocation details
      */
     void log(String logger, LoggingLevel level, String message, Throwable cause, InvocationDetails details);
+
+    /**
+     * Checks whether an event with the given level would be logged by the given logger.
+     * This method is invoked before the c10n message is resolved, so that messages
+     * for disabled levels are never formatted.
+     *
+     * By default, all events are assumed loggable.
+     *
+     * @param logger the logger name to be used, derived from the {@link Logger} annotation (not null)
+     * @param level  the logging level to be used, derived from the {@link Level} annotation (not null)
+     * @return {@code false} if the event would be discarded, {@code true} otherwise
+     */
+    default boolean isLoggable(String logger, LoggingLevel level) {
+        return true;
+    }
+
+    /**
+     * Binds to the given logger and logging level. This method is invoked
+     * once per c10n method, and the result is cached by the logging plugin,
+     * so implementations should resolve the underlying logger objects here.
+     *
+     * By default, the bound logger delegates to {@link #isLoggable(String, LoggingLevel)}
+     * and {@link #log(String, LoggingLevel, String, Throwable, InvocationDetails)}.
+     *
+     * @param logger the logger name to be used, derived from the {@link Logger} annotation (not null)
+     * @param level  the logging level to be used, derived from the {@link Level} annotation (not null)
+     * @return logger bound to the given name and level (not null)
+     */
+    default BoundLogger bind(String logger, LoggingLevel level) {
+        LoggerImplementation implementation = this;
+        return new BoundLogger() {
+            @Override
+            public boolean isLoggable() {
+                return implementation.isLoggable(logger, level);
+            }
+
+            @Override
+            public void log(String message, Throwable cause, InvocationDetails details) {
+                implementation.log(logger, level, message, cause, details);
+            }
+        };
+    }
+
+    /**
+     * Binds to the given logger and logging level for the given c10n method. This
+     * is the method invoked by the logging plugin, once per c10n method.
+     *
+     * By default, delegates to {@link #bind(String, LoggingLevel)}.
+     *
+     * @param logger        the logger name to be used, derived from the {@link Logger} annotation (not null)
+     * @param level         the logging level to be used, derived from the {@link Level} annotation (not null)
+     * @param c10nInterface the c10n interface the method is invoked on (not null)
+     * @param method        the c10n method to log events for (not null)
+     * @return logger bound to the given name, level and method (not null)
+     */
+    default BoundLogger bind(String logger, LoggingLevel level, Class<?> c10nInterface, Method method) {
+        return bind(logger, level);
+    }
 }
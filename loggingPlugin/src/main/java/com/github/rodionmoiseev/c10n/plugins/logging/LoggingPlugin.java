@@ -23,7 +23,10 @@ import com.github.rodionmoiseev.c10n.plugin.PluginResult;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 /**
  * Created by rodexion on 2015/10/10.
@@ -31,6 +34,17 @@ import java.util.function.Function;
 public class LoggingPlugin implements C10NPlugin {
     private final LoggingLevel defaultLoggingLevel;
     private final LoggerImplementation implementation;
+    //clock of the rate limiters
+    private final LongSupplier nanoTime;
+    //loggers bound per method, held by the c10n interface so that class loaders are not pinned
+    private final ClassValue<ConcurrentMap<Method, LogSite>> logSites = new ClassValue<ConcurrentMap<Method, LogSite>>() {
+        @Override
+        protected ConcurrentMap<Method, LogSite> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    //rate limited log site admitted by beforeResolve(), and not yet logged by format()
+    private final ThreadLocal<LogSite> admitted = new ThreadLocal<>();
 
     /**
      * Configures an instance of the logging plugin.
@@ -51,24 +65,59 @@ public class LoggingPlugin implements C10NPlugin {
      * @param implementation      logger implementation to use for actual logging
      */
     public LoggingPlugin(LoggingLevel defaultLoggingLevel, LoggerImplementation implementation) {
+        this(defaultLoggingLevel, implementation, System::nanoTime);
+    }
+
+    LoggingPlugin(LoggingLevel defaultLoggingLevel, LoggerImplementation implementation, LongSupplier nanoTime) {
         this.defaultLoggingLevel = defaultLoggingLevel;
         this.implementation = implementation;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Only interfaces annotated with {@link Logger} are handled by this plugin.
+     */
+    @Override
+    public boolean appliesTo(Class<?> c10nInterface, Method method) {
+        return null != c10nInterface.getAnnotation(Logger.class);
+    }
+
+    /**
+     * Skips resolution of messages the logger implementation would discard,
+     * or does not need the text of, and messages suppressed by {@link RateLimit}.
+     */
+    @Override
+    public PluginResult beforeResolve(InvocationDetails invocationDetails) {
+        LogSite site = logSiteFor(invocationDetails.getC10nInterface(), invocationDetails.getMethod());
+        if (!site.logs()) {
+            return null;
+        }
+        if (!admit(site)) {
+            return PluginResult.last(null);
+        }
+        if (!site.logger.needsMessage()) {
+            site.logger.log(null, getCauseOrNull(invocationDetails.getMethodArguments()), invocationDetails);
+            return PluginResult.last(null);
+        }
+        if (null != site.limiter) {
+            admitted.set(site);
+        }
+        return null;
     }
 
     @Override
     public PluginResult format(String resolvedMessage,
                                Object resolvedReturnValue,
                                InvocationDetails invocationDetails) {
-        Class<?> c10nInterface = invocationDetails.getC10nInterface();
-        //Determine if the plugin should be applied
-        //by checking if the @Logger annotation is present
-        if (null == c10nInterface.getAnnotation(Logger.class)) {
+        Method method = invocationDetails.getMethod();
+        LogSite site = logSiteFor(invocationDetails.getC10nInterface(), method);
+        //Factories not honouring appliesTo() may still pass other interfaces
+        if (!site.applies) {
             return PluginResult.passOn(resolvedReturnValue);
         }
 
-        Method method = invocationDetails.getMethod();
         Object[] methodArgs = invocationDetails.getMethodArguments();
-        if (method.getDeclaringClass().equals(LoggingBase.class)) {
+        if (!site.logs()) {
             try {
                 return PluginResult.last(method.invoke(implementation, methodArgs));
             } catch (IllegalAccessException | InvocationTargetException e) {
@@ -77,9 +126,62 @@ public class LoggingPlugin implements C10NPlugin {
             }
         }
 
+        //rate limits also apply to callers not going through beforeResolve()
+        if (null != site.limiter && !takeAdmission(site) && !admit(site)) {
+            return PluginResult.last(null);
+        }
+        site.logger.log(
+                String.valueOf(resolvedMessage),
+                getCauseOrNull(methodArgs),
+                invocationDetails);
+        return PluginResult.last(null);
+    }
 
-        LoggingLevel level = get(c10nInterface, method, Level.class, defaultLoggingLevel, Level::value);
-        String loggerName = get(c10nInterface, method, Logger.class, c10nInterface.getName(),
+    private boolean admit(LogSite site) {
+        if (!site.logger.isLoggable()) {
+            return false;
+        }
+        if (null != site.limiter) {
+            if (!site.limiter.tryAcquire()) {
+                return false;
+            }
+            long suppressed = site.limiter.takeSuppressed();
+            if (suppressed > 0) {
+                site.logger.logSuppressed(suppressed);
+            }
+        }
+        return true;
+    }
+
+    private boolean takeAdmission(LogSite site) {
+        if (admitted.get() != site) {
+            return false;
+        }
+        admitted.remove();
+        return true;
+    }
+
+    private LogSite logSiteFor(Class<?> c10nInterface, Method method) {
+        return logSites.get(c10nInterface).computeIfAbsent(method, m -> {
+            if (!appliesTo(c10nInterface, m)) {
+                return new LogSite(false, null, null);
+            }
+            if (m.getDeclaringClass().equals(LoggingBase.class)) {
+                //delegated to the logger implementation as is
+                return new LogSite(true, null, null);
+            }
+            BoundLogger logger = implementation.bind(loggerNameOf(c10nInterface, m), levelOf(c10nInterface, m), c10nInterface, m);
+            RateLimit rateLimit = get(c10nInterface, m, RateLimit.class, null, Function.identity());
+            return new LogSite(true, logger, null != rateLimit ? new RateLimiter(rateLimit, nanoTime) : null);
+        });
+    }
+
+    private LoggingLevel levelOf(Class<?> c10nInterface, Method method) {
+        return get(c10nInterface, method, Level.class, defaultLoggingLevel, Level::value);
+    }
+
+    private static String loggerNameOf(Class<?> c10nInterface, Method method) {
+        return get(c10nInterface, method, Logger.class, c10nInterface.getName(),
                 (logger) -> {
                     if (!logger.name().equals(Logger.NO_LOGGER_NAME)) {
                         return logger.name();
@@ -89,12 +191,6 @@ public class LoggingPlugin implements C10NPlugin {
                     }
                     return c10nInterface.getName();
                 });
-        implementation.log(loggerName,
-                level,
-                String.valueOf(resolvedMessage),
-                getCauseOrNull(methodArgs),
-                invocationDetails);
-        return PluginResult.last(null);
     }
 
     private Throwable getCauseOrNull(Object[] methodArgs) {
@@ -123,4 +219,22 @@ public class LoggingPlugin implements C10NPlugin {
         }
         return defaultValue;
     }
+
+    private static final class LogSite {
+        //whether the interface is handled by this plugin at all
+        final boolean applies;
+        //null for methods not logging a message
+        final BoundLogger logger;
+        final RateLimiter limiter;
+
+        LogSite(boolean applies, BoundLogger logger, RateLimiter limiter) {
+            this.applies = applies;
+            this.logger = logger;
+            this.limiter = limiter;
+        }
+
+        boolean logs() {
+            return null != logger;
+        }
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the rate of log events for a method (or all methods of the interface,
+ * each one counted separately).
+ * <p>
+ * Up to {@link #value()} events are logged per {@link #period()}, in bursts of at most
+ * that many events. Further events are suppressed, without resolving the message,
+ * except for every {@link #sampleEvery()}-th suppressed event, if set. The number of
+ * suppressed events is logged as a separate summary event (see
+ * {@link BoundLogger#logSuppressed(long)}), before the next event that gets through.
+ * If no further event gets through, the number suppressed in the last burst is never logged.
+ * <p>
+ * Limits are checked before messages are resolved, and again when they are logged
+ * for callers that did not go through
+ * {@link com.github.rodionmoiseev.c10n.plugin.C10NPlugin#beforeResolve(com.github.rodionmoiseev.c10n.InvocationDetails)}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Documented
+public @interface RateLimit {
+    /**
+     * @return maximum number of events per period
+     */
+    int value();
+
+    long period() default 1;
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    /**
+     * @return log every n-th suppressed event, or 0 to log none
+     */
+    int sampleEvery() default 0;
+}
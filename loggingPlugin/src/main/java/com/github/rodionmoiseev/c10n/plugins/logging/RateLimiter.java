@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket for one {@link RateLimit}ed method.
+ *
+ * The bucket is kept as the theoretical arrival time of the next event
+ * (generic cell rate algorithm), so that acquiring a permit is a single
+ * compare-and-set.
+ *
+ * @author rodion
+ */
+final class RateLimiter {
+    private final long interval;
+    private final long burst;
+    private final long sampleEvery;
+    private final LongSupplier nanoTime;
+    private final AtomicLong arrival;
+    private final AtomicLong suppressed = new AtomicLong();
+    private final AtomicLong sampled = new AtomicLong();
+
+    RateLimiter(RateLimit limit, LongSupplier nanoTime) {
+        long period = limit.unit().toNanos(limit.period());
+        int permits = Math.max(1, limit.value());
+        this.interval = Math.max(1L, period / permits);
+        //the first `permits` events of a burst get through
+        this.burst = interval * (permits - 1);
+        this.sampleEvery = Math.max(0, limit.sampleEvery());
+        this.nanoTime = nanoTime;
+        this.arrival = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * @return {@code true} if the event should be logged, {@code false} if it is suppressed
+     */
+    boolean tryAcquire() {
+        long now = nanoTime.getAsLong();
+        while (true) {
+            long tat = arrival.get();
+            long start = tat - now > 0 ? tat : now;
+            if (start - now > burst) {
+                if (sampleEvery > 0 && sampled.incrementAndGet() % sampleEvery == 0) {
+                    return true;
+                }
+                suppressed.incrementAndGet();
+                return false;
+            }
+            if (arrival.compareAndSet(tat, start + interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return number of events suppressed since the last call
+     */
+    long takeSuppressed() {
+        return suppressed.get() > 0 ? suppressed.getAndSet(0) : 0;
+    }
+}
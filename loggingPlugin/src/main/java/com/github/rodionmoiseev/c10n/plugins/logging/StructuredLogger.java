@@ -0,0 +1,210 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+import com.github.rodionmoiseev.c10n.InvocationDetails;
+import com.github.rodionmoiseev.c10n.formatters.NamedArg;
+import com.github.rodionmoiseev.c10n.share.utils.Preconditions;
+import com.github.rodionmoiseev.c10n.share.utils.ReflectionUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+/**
+ * Logger implementation writing structured log events, instead of formatted text.
+ *
+ * Each event holds the c10n key of the invoked method, the argument names and raw
+ * argument values, and optionally the resolved message text. Events are encoded by a
+ * {@link LogEventEncoder} (JSON by default) into a buffer reused by each thread,
+ * and written to the output stream. Each thread logging through the logger keeps
+ * its buffer (of up to 64 KiB) for as long as the logger is reachable, so pooled
+ * threads retain one buffer per logger:
+ * <pre><code>
+ *   installPlugin(new LoggingPlugin(LoggingLevel.INFO,
+ *           new StructuredLogger(out, LoggingLevel.INFO, new JsonLogEventEncoder(), false)));
+ * </code></pre>
+ *
+ * The output stream is not flushed after each event, unless requested with
+ * {@link #StructuredLogger(OutputStream, LoggingLevel, LogEventEncoder, boolean, boolean)}.
+ * Flushing buffered streams is otherwise up to their owner.
+ *
+ * When the message text is not included, messages are not resolved at all.
+ * Keys and argument names are resolved once per c10n method. Note that keys do not
+ * include the global key prefix of the c10n configuration.
+ *
+ * @author rodion
+ */
+public class StructuredLogger implements LoggerImplementation {
+    //larger buffers are not kept for reuse
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final String[] NO_NAMES = new String[0];
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final OutputStream out;
+    private final LoggingLevel threshold;
+    private final LogEventEncoder encoder;
+    private final boolean includeMessage;
+    private final boolean autoFlush;
+    //buffer of each thread, taken out while in use
+    private final ThreadLocal<LogEventBuffer> buffers = new ThreadLocal<>();
+
+    /**
+     * Writes JSON events of level {@link LoggingLevel#INFO} and above, including message text,
+     * and flushes the stream after each event.
+     *
+     * @param out stream to write events to (not null)
+     */
+    public StructuredLogger(OutputStream out) {
+        this(out, LoggingLevel.INFO, new JsonLogEventEncoder(), true, true);
+    }
+
+    /**
+     * @param out            stream to write events to (not null)
+     * @param threshold      the most verbose logging level to write (not null)
+     * @param encoder        encoder for the events (not null)
+     * @param includeMessage whether to resolve and include the message text in events
+     */
+    public StructuredLogger(OutputStream out, LoggingLevel threshold, LogEventEncoder encoder, boolean includeMessage) {
+        this(out, threshold, encoder, includeMessage, false);
+    }
+
+    /**
+     * @param out            stream to write events to (not null)
+     * @param threshold      the most verbose logging level to write (not null)
+     * @param encoder        encoder for the events (not null)
+     * @param includeMessage whether to resolve and include the message text in events
+     * @param autoFlush      whether to flush the stream after each event
+     */
+    public StructuredLogger(OutputStream out, LoggingLevel threshold, LogEventEncoder encoder,
+                            boolean includeMessage, boolean autoFlush) {
+        Preconditions.assertNotNull(out, "out");
+        Preconditions.assertNotNull(threshold, "threshold");
+        Preconditions.assertNotNull(encoder, "encoder");
+        this.out = out;
+        this.threshold = threshold;
+        this.encoder = encoder;
+        this.includeMessage = includeMessage;
+        this.autoFlush = autoFlush;
+    }
+
+    @Override
+    public void log(String logger, LoggingLevel level, String message, Throwable cause, InvocationDetails details) {
+        Method method = null != details ? details.getMethod() : null;
+        write(logger, level, null != method ? keyOf(method) : null,
+                null != method ? argumentNamesOf(method) : NO_NAMES, message, cause, details);
+    }
+
+    @Override
+    public boolean isLoggable(String logger, LoggingLevel level) {
+        return isLevelEnabled(level);
+    }
+
+    @Override
+    public BoundLogger bind(String logger, LoggingLevel level, Class<?> c10nInterface, Method method) {
+        boolean loggable = isLevelEnabled(level);
+        String key = keyOf(method);
+        String[] argumentNames = argumentNamesOf(method);
+        return new BoundLogger() {
+            @Override
+            public boolean isLoggable() {
+                return loggable;
+            }
+
+            @Override
+            public void log(String message, Throwable cause, InvocationDetails details) {
+                write(logger, level, key, argumentNames, message, cause, details);
+            }
+
+            @Override
+            public boolean needsMessage() {
+                return includeMessage;
+            }
+
+            @Override
+            public void logSuppressed(long count) {
+                write(new LogEvent(System.currentTimeMillis(), logger, level, key, NO_NAMES, NO_ARGS,
+                        includeMessage ? LogEvent.suppressedMessage(count) : null, null, count));
+            }
+        };
+    }
+
+    @Override
+    public boolean isLevelEnabled(LoggingLevel level) {
+        return level.ordinal() <= threshold.ordinal();
+    }
+
+    private void write(String logger, LoggingLevel level, String key, String[] argumentNames,
+                       String message, Throwable cause, InvocationDetails details) {
+        Object[] args = null != details && null != details.getMethodArguments()
+                ? details.getMethodArguments() : NO_ARGS;
+        if (args.length != argumentNames.length) {
+            argumentNames = NO_NAMES;
+            args = NO_ARGS;
+        }
+        write(new LogEvent(System.currentTimeMillis(), logger, level, key,
+                argumentNames, args, includeMessage ? message : null, cause, 0L));
+    }
+
+    private void write(LogEvent event) {
+        LogEventBuffer buffer = buffers.get();
+        if (null == buffer) {
+            //first use, or a reentrant call (e.g. an argument logging while being encoded)
+            buffer = new LogEventBuffer(512);
+        } else {
+            buffers.set(null);
+            buffer.reset();
+        }
+        try {
+            encoder.encode(event, buffer);
+            synchronized (out) {
+                buffer.writeTo(out);
+                if (autoFlush) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        } finally {
+            if (buffer.size() <= MAX_RETAINED_BUFFER) {
+                buffers.set(buffer);
+            }
+        }
+    }
+
+    private static String keyOf(Method method) {
+        return ReflectionUtils.getC10NKey("", method);
+    }
+
+    private static String[] argumentNamesOf(Method method) {
+        Parameter[] params = method.getParameters();
+        Annotation[][] paramAnnotations = method.getParameterAnnotations();
+        String[] names = new String[params.length];
+        for (int i = 0; i < params.length; i++) {
+            names[i] = params[i].isNamePresent() ? params[i].getName() : String.valueOf(i);
+            for (Annotation annotation : paramAnnotations[i]) {
+                if (annotation instanceof NamedArg) {
+                    names[i] = ((NamedArg) annotation).value();
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -28,9 +28,14 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({JavaLoggingUtilLoggerTest.class,
+@Suite.SuiteClasses({AsyncLoggerTest.class,
+        JavaLoggingUtilLoggerTest.class,
         LoggingPluginIntegrationTest.class,
-        LoggingPluginTest.class
+        LoggingPluginTest.class,
+        RateLimiterTest.class,
+        StructuredLoggerTest.class,
+        com.github.rodionmoiseev.c10n.plugins.logging.log4j2.AllTests.class,
+        com.github.rodionmoiseev.c10n.plugins.logging.slf4j.AllTests.class
 })
 public class AllTests {
 }
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+import com.github.rodionmoiseev.c10n.InvocationDetails;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author rodion
+ */
+public class AsyncLoggerTest {
+    @Test
+    public void eventsAreWrittenInOrderOnTheBackgroundThread() {
+        RecordingLogger delegate = new RecordingLogger();
+        List<String> expected = new ArrayList<>();
+        try (AsyncLogger logger = new AsyncLogger(delegate, 16,
+                AsyncLogger.WaitStrategy.BLOCKING, AsyncLogger.Overflow.BLOCK)) {
+            BoundLogger bound = logger.bind("test", LoggingLevel.INFO);
+            for (int i = 0; i < 100; i++) {
+                bound.log("message " + i, null, null);
+                expected.add("test:INFO:message " + i);
+            }
+        }
+        assertThat(delegate.events, is(expected));
+        assertThat(delegate.threads, is(Collections.singleton("c10n-async-logger")));
+    }
+
+    @Test
+    public void eventsFromManyThreadsAreAllWritten() throws Exception {
+        for (AsyncLogger.WaitStrategy waitStrategy : AsyncLogger.WaitStrategy.values()) {
+            RecordingLogger delegate = new RecordingLogger();
+            AsyncLogger logger = new AsyncLogger(delegate, 8, waitStrategy, AsyncLogger.Overflow.BLOCK);
+            BoundLogger bound = logger.bind("test", LoggingLevel.DEBUG);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        bound.log("message", null, null);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            logger.close();
+            assertThat(waitStrategy.name(), delegate.events.size(), is(2000));
+        }
+    }
+
+    @Test
+    public void eventsAreDroppedWhenTheBufferIsFull() throws Exception {
+        RecordingLogger delegate = new RecordingLogger();
+        AsyncLogger logger = new AsyncLogger(delegate, 2,
+                AsyncLogger.WaitStrategy.BLOCKING, AsyncLogger.Overflow.DROP);
+        BoundLogger bound = logger.bind("test", LoggingLevel.INFO);
+        bound.log("blocks", null, null);
+        assertThat(delegate.writing.await(5, TimeUnit.SECONDS), is(true));
+        //the event being written still holds its slot
+        bound.log("buffered", null, null);
+        bound.log("dropped", null, null);
+        delegate.release.countDown();
+        logger.close();
+
+        assertThat(logger.getDroppedCount(), is(1L));
+        assertThat(delegate.events, is(Arrays.asList("test:INFO:blocks", "test:INFO:buffered")));
+    }
+
+    @Test
+    public void slotsAreReleasedAsEventsAreWritten() throws Exception {
+        RecordingLogger delegate = new RecordingLogger();
+        AsyncLogger logger = new AsyncLogger(delegate, 2,
+                AsyncLogger.WaitStrategy.BLOCKING, AsyncLogger.Overflow.DROP);
+        BoundLogger bound = logger.bind("test", LoggingLevel.INFO);
+        bound.log("blocks", null, null);
+        assertThat(delegate.writing.await(5, TimeUnit.SECONDS), is(true));
+        bound.log("blocks again", null, null);
+        delegate.release.countDown();
+        //written in the same batch as "blocks", whose slot is free by now
+        assertThat(delegate.writingAgain.await(5, TimeUnit.SECONDS), is(true));
+        bound.log("buffered", null, null);
+        bound.log("dropped", null, null);
+        delegate.releaseAgain.countDown();
+        logger.close();
+
+        assertThat(logger.getDroppedCount(), is(1L));
+        assertThat(delegate.events, is(Arrays.asList(
+                "test:INFO:blocks", "test:INFO:blocks again", "test:INFO:buffered")));
+    }
+
+    @Test
+    public void callerWritesEventsWhenTheBufferIsFull() throws Exception {
+        RecordingLogger delegate = new RecordingLogger();
+        AsyncLogger logger = new AsyncLogger(delegate, 1,
+                AsyncLogger.WaitStrategy.SLEEPING, AsyncLogger.Overflow.CALLER_RUNS);
+        BoundLogger bound = logger.bind("test", LoggingLevel.INFO);
+        bound.log("blocks", null, null);
+        assertThat(delegate.writing.await(5, TimeUnit.SECONDS), is(true));
+        bound.log("caller", null, null);
+        assertThat(delegate.events, is(Collections.singletonList("test:INFO:caller")));
+        delegate.release.countDown();
+        logger.close();
+
+        assertThat(logger.getDroppedCount(), is(0L));
+        assertThat(delegate.events, is(Arrays.asList("test:INFO:caller", "test:INFO:blocks")));
+    }
+
+    @Test
+    public void eventsLoggedAfterCloseAreWrittenDirectly() {
+        RecordingLogger delegate = new RecordingLogger();
+        AsyncLogger logger = new AsyncLogger(delegate);
+        logger.close();
+        logger.log("test", LoggingLevel.WARN, "after close", null, null);
+
+        assertThat(delegate.events, is(Collections.singletonList("test:WARN:after close")));
+    }
+
+    private static final class RecordingLogger implements LoggerImplementation {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch writingAgain = new CountDownLatch(1);
+        final CountDownLatch releaseAgain = new CountDownLatch(1);
+
+        @Override
+        public void log(String logger, LoggingLevel level, String message, Throwable cause, InvocationDetails details) {
+            if ("blocks".equals(message)) {
+                block(writing, release);
+            } else if ("blocks again".equals(message)) {
+                block(writingAgain, releaseAgain);
+            }
+            events.add(logger + ":" + level + ":" + message);
+            threads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public boolean isLevelEnabled(LoggingLevel level) {
+            return true;
+        }
+
+        private static void block(CountDownLatch writing, CountDownLatch release) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
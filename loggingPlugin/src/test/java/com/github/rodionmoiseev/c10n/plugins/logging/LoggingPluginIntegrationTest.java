@@ -34,8 +34,12 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 /**
@@ -49,6 +53,7 @@ public class LoggingPluginIntegrationTest {
     public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
 
     private final String logger = LoggingPluginIntegrationTest.class.getName();
+    private final AtomicLong now = new AtomicLong(1000L);
 
     @Rule
     public LoggingTestUtils.TmpLoggingHandler log = LoggingTestUtils.tmpLoggingHandler(LoggingPluginIntegrationTest.class.getName());
@@ -63,6 +68,18 @@ public class LoggingPluginIntegrationTest {
         @En("Error message: {user}")
         @Level(LoggingLevel.ERROR)
         void error(String user);
+
+        @En("Debug message: {0}")
+        @Level(LoggingLevel.DEBUG)
+        void debug(Object value);
+
+        @En("Storm message: {0}")
+        @RateLimit(value = 2, period = 1, unit = TimeUnit.HOURS)
+        void storm(Object value);
+
+        @En("Burst message")
+        @RateLimit(value = 1, period = 500, unit = TimeUnit.MILLISECONDS)
+        void burst();
     }
 
     @Test
@@ -90,12 +107,75 @@ public class LoggingPluginIntegrationTest {
 
     }
 
+    @Test
+    public void messagesForDisabledLevelsAreNotFormatted() throws Exception {
+        setupLoggingPlugin();
+        java.util.logging.Logger.getLogger(logger).setLevel(java.util.logging.Level.INFO);
+        AtomicInteger formatted = new AtomicInteger();
+        Object value = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "value";
+            }
+        };
+
+        LoggingForIntegrationTest lg = C10N.get(LoggingForIntegrationTest.class);
+        lg.debug(value);
+        assertThat(log.getLastLog(), is(nullValue()));
+        assertThat(formatted.get(), is(0));
+
+        java.util.logging.Logger.getLogger(logger).setLevel(java.util.logging.Level.ALL);
+        lg.debug(value);
+        assertThat(log.getLastLog(),
+                is(new Log(logger, "Debug message: value", java.util.logging.Level.FINE, null)));
+        assertThat(formatted.get(), is(1));
+    }
+
+    @Test
+    public void rateLimitedMessagesAreSuppressedWithoutFormatting() throws Exception {
+        setupLoggingPlugin();
+        AtomicInteger formatted = new AtomicInteger();
+        Object value = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "value";
+            }
+        };
+
+        LoggingForIntegrationTest lg = C10N.get(LoggingForIntegrationTest.class);
+        for (int i = 0; i < 100; i++) {
+            lg.storm(value);
+        }
+        assertThat(log.getLogs().size(), is(2));
+        assertThat(formatted.get(), is(2));
+    }
+
+    @Test
+    public void numberOfSuppressedMessagesIsLoggedWithTheNextMessage() {
+        setupLoggingPlugin();
+
+        LoggingForIntegrationTest lg = C10N.get(LoggingForIntegrationTest.class);
+        for (int i = 0; i < 5; i++) {
+            lg.burst();
+        }
+        assertThat(log.getLogs().size(), is(1));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        lg.burst();
+        assertThat(log.getLogs().size(), is(3));
+        assertThat(log.getLogs().get(1),
+                is(new Log(logger, "Suppressed 4 similar messages", java.util.logging.Level.INFO, null)));
+        assertThat(log.getLastLog(),
+                is(new Log(logger, "Burst message", java.util.logging.Level.INFO, null)));
+    }
+
     private void setupLoggingPlugin() {
         C10N.configure(new C10NConfigBase() {
             @Override
             protected void configure() {
                 install(new DefaultC10NAnnotations());
-                installPlugin(new LoggingPlugin(LoggingLevel.INFO, new JavaLoggingUtilLogger()));
+                installPlugin(new LoggingPlugin(LoggingLevel.INFO, new JavaLoggingUtilLogger(), now::get));
                 setMessageFormatter(new ExtendedMessageFormatter());
             }
         });
@@ -29,6 +29,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
@@ -71,6 +72,13 @@ public class LoggingPluginTest {
     public interface WithUtils extends LoggingBase {
     }
 
+    @C10NMessages
+    @Logger
+    public interface RateLimited {
+        @RateLimit(value = 2, period = 1, unit = TimeUnit.HOURS)
+        void limited();
+    }
+
     @C10NMessages
     public interface UnrelatedC10NMessageBundle {
         @En("noArg")
@@ -82,7 +90,7 @@ public class LoggingPluginTest {
 
     @Test
     public void loggingRequestsInterruptThePluginPipeline() throws Exception {
-        LoggerImplementation logger = Mockito.mock(LoggerImplementation.class);
+        LoggerImplementation logger = mockLogger();
         LoggingPlugin plugin = new LoggingPlugin(LoggingLevel.INFO, logger);
         PluginResult res = plugin.format("test message", "test message",
                 new InvocationDetails(null,
@@ -94,7 +102,7 @@ public class LoggingPluginTest {
 
     @Test
     public void classDeclarationsAreTakenIntoAccountUnlessOveriddenOnMethod() throws Exception {
-        LoggerImplementation logger = Mockito.mock(LoggerImplementation.class);
+        LoggerImplementation logger = mockLogger();
         LoggingPlugin plugin = new LoggingPlugin(LoggingLevel.INFO, logger);
 
         check(plugin, "test message", LoggingMessagesWithClassDecls.class, "usesClassLogger", null,
@@ -106,7 +114,7 @@ public class LoggingPluginTest {
 
     @Test
     public void defaultDeclarationsAreUsedUnlessOveriddenOnMethod() throws Exception {
-        LoggerImplementation logger = Mockito.mock(LoggerImplementation.class);
+        LoggerImplementation logger = mockLogger();
         LoggingPlugin plugin = new LoggingPlugin(LoggingLevel.INFO, logger);
 
         check(plugin, "test message", LoggingMessagesWithoutClassDecls.class, "defaultLogger", null,
@@ -118,7 +126,7 @@ public class LoggingPluginTest {
 
     @Test
     public void methodArgumentsArePassedInsideInvocationDetails() throws Exception {
-        LoggerImplementation logger = Mockito.mock(LoggerImplementation.class);
+        LoggerImplementation logger = mockLogger();
         LoggingPlugin plugin = new LoggingPlugin(LoggingLevel.INFO, logger);
         Method withArgMethod = TestUtil.method(LoggingMessagesWithClassDecls.class, "withArg");
         Object[] args = {"rodion"};
@@ -129,7 +137,7 @@ public class LoggingPluginTest {
 
     @Test
     public void lastThrowableArgumentIsTreatedAsCause() throws Exception {
-        LoggerImplementation logger = Mockito.mock(LoggerImplementation.class);
+        LoggerImplementation logger = mockLogger();
         LoggingPlugin plugin = new LoggingPlugin(LoggingLevel.INFO, logger);
         Object[] args = {"rodion", new AnException("intentional")};
 
@@ -139,7 +147,7 @@ public class LoggingPluginTest {
 
     @Test
     public void unrelatedC10NMessageClassesAreNotPassedThroughThePlugin() {
-        LoggerImplementation logger = Mockito.mock(LoggerImplementation.class);
+        LoggerImplementation logger = mockLogger();
         LoggingPlugin plugin = new LoggingPlugin(LoggingLevel.INFO, logger);
         PluginResult res = plugin.format("noArg", "noArg",
                 new InvocationDetails(null,
@@ -153,7 +161,7 @@ public class LoggingPluginTest {
 
     @Test
     public void extendingLoggerBaseGainsAccessToUnderlyingLoggerFunctionality() throws Exception {
-        LoggerImplementation logger = Mockito.mock(LoggerImplementation.class);
+        LoggerImplementation logger = mockLogger();
         when(logger.isDebugEnabled()).thenReturn(true);
         when(logger.isLevelEnabled(any(LoggingLevel.class))).thenReturn(false);
         LoggingPlugin plugin = new LoggingPlugin(LoggingLevel.INFO, logger);
@@ -176,6 +184,95 @@ public class LoggingPluginTest {
         verify(logger).isLevelEnabled(LoggingLevel.ERROR);
     }
 
+    @Test
+    public void resolutionIsSkippedForEventsTheLoggerWouldDiscard() throws Exception {
+        LoggerImplementation logger = mockLogger();
+        when(logger.isLoggable("methodLogger", LoggingLevel.TRACE)).thenReturn(false);
+        when(logger.isLoggable(LoggingPluginTest.class.getName(), LoggingLevel.ERROR)).thenReturn(true);
+        LoggingPlugin plugin = new LoggingPlugin(LoggingLevel.INFO, logger);
+
+        PluginResult res = plugin.beforeResolve(new InvocationDetails(null,
+                LoggingMessagesWithClassDecls.class,
+                TestUtil.method(LoggingMessagesWithClassDecls.class, "usesMethodLogger"),
+                null));
+        assertThat(res.isInterrupt(), is(equalTo(true)));
+        assertThat(res.getValue(), is(equalTo(null)));
+
+        PluginResult res2 = plugin.beforeResolve(new InvocationDetails(null,
+                LoggingMessagesWithClassDecls.class,
+                TestUtil.method(LoggingMessagesWithClassDecls.class, "usesClassLogger"),
+                null));
+        assertThat(res2, is(equalTo(null)));
+        verify(logger, never()).log(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void loggersAreBoundOncePerMethod() throws Exception {
+        LoggerImplementation logger = mockLogger();
+        LoggingPlugin plugin = new LoggingPlugin(LoggingLevel.INFO, logger);
+        InvocationDetails details = new InvocationDetails(null,
+                LoggingMessagesWithClassDecls.class,
+                TestUtil.method(LoggingMessagesWithClassDecls.class, "usesClassLogger"),
+                null);
+
+        plugin.beforeResolve(details);
+        plugin.format("first", "first", details);
+        plugin.beforeResolve(details);
+        plugin.format("second", "second", details);
+
+        verify(logger, times(1)).bind(LoggingPluginTest.class.getName(), LoggingLevel.ERROR);
+        verify(logger).log(LoggingPluginTest.class.getName(), LoggingLevel.ERROR, "first", null, details);
+        verify(logger).log(LoggingPluginTest.class.getName(), LoggingLevel.ERROR, "second", null, details);
+    }
+
+    @Test
+    public void appliesToIsCheckedOncePerMethod() throws Exception {
+        LoggingPlugin plugin = spy(new LoggingPlugin(LoggingLevel.INFO, mockLogger()));
+        InvocationDetails details = new InvocationDetails(null,
+                LoggingMessagesWithClassDecls.class,
+                TestUtil.method(LoggingMessagesWithClassDecls.class, "usesClassLogger"),
+                null);
+        InvocationDetails unrelated = new InvocationDetails(null,
+                UnrelatedC10NMessageBundle.class,
+                TestUtil.method(UnrelatedC10NMessageBundle.class, "noArg"),
+                null);
+
+        for (int i = 0; i < 3; i++) {
+            plugin.beforeResolve(details);
+            plugin.format("msg", "msg", details);
+            plugin.beforeResolve(unrelated);
+            plugin.format("noArg", "noArg", unrelated);
+        }
+
+        verify(plugin, times(1)).appliesTo(details.getC10nInterface(), details.getMethod());
+        verify(plugin, times(1)).appliesTo(unrelated.getC10nInterface(), unrelated.getMethod());
+    }
+
+    @Test
+    public void rateLimitsApplyWithoutBeforeResolve() throws Exception {
+        LoggerImplementation logger = mockLogger();
+        LoggingPlugin plugin = new LoggingPlugin(LoggingLevel.INFO, logger);
+        InvocationDetails details = new InvocationDetails(null,
+                RateLimited.class,
+                TestUtil.method(RateLimited.class, "limited"),
+                null);
+
+        assertThat(plugin.beforeResolve(details), is(equalTo(null)));
+        plugin.format("first", null, details);
+        for (int i = 0; i < 3; i++) {
+            plugin.format("direct", null, details);
+        }
+
+        verify(logger).log(RateLimited.class.getName(), LoggingLevel.INFO, "first", null, details);
+        verify(logger, times(1)).log(RateLimited.class.getName(), LoggingLevel.INFO, "direct", null, details);
+        assertThat(plugin.beforeResolve(details).isInterrupt(), is(true));
+    }
+
+    private static LoggerImplementation mockLogger() {
+        //default methods (bound loggers) delegate to the spied ones
+        return Mockito.spy(new NoopLogger());
+    }
+
     private void check(LoggingPlugin plugin, String message, Class<?> c10nClass, String methodName, Object[] args,
                        LoggerImplementation logger, String loggerName, LoggingLevel level) {
         check(plugin, message, c10nClass, methodName, args, null, logger, loggerName, level);
@@ -198,6 +295,17 @@ public class LoggingPluginTest {
         );
     }
 
+    private static class NoopLogger implements LoggerImplementation {
+        @Override
+        public void log(String logger, LoggingLevel level, String message, Throwable cause, InvocationDetails details) {
+        }
+
+        @Override
+        public boolean isLevelEnabled(LoggingLevel level) {
+            return false;
+        }
+    }
+
     private static final class AnException extends Exception {
         AnException(String message) {
             super(message);
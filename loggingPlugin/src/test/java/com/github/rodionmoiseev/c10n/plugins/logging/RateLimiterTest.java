@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author rodion
+ */
+public class RateLimiterTest {
+    private final AtomicLong now = new AtomicLong(1000L);
+
+    @RateLimit(value = 3, period = 1, unit = TimeUnit.SECONDS)
+    private interface ThreePerSecond {
+    }
+
+    @RateLimit(value = 1, period = 1, unit = TimeUnit.HOURS, sampleEvery = 10)
+    private interface OnePerHourSampled {
+    }
+
+    @Test
+    public void burstOfPermitsIsAllowedThenEventsAreSuppressed() {
+        RateLimiter limiter = limiter(ThreePerSecond.class);
+        assertThat(acquired(limiter, 10), is(3));
+        assertThat(limiter.takeSuppressed(), is(7L));
+        assertThat(limiter.takeSuppressed(), is(0L));
+    }
+
+    @Test
+    public void permitsAreRefilledOverTime() {
+        RateLimiter limiter = limiter(ThreePerSecond.class);
+        assertThat(acquired(limiter, 10), is(3));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(334));
+        assertThat(acquired(limiter, 10), is(1));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(acquired(limiter, 10), is(3));
+    }
+
+    @Test
+    public void everyNthSuppressedEventIsSampled() {
+        RateLimiter limiter = limiter(OnePerHourSampled.class);
+        assertThat(acquired(limiter, 101), is(11));
+        assertThat(limiter.takeSuppressed(), is(90L));
+    }
+
+    private RateLimiter limiter(Class<?> annotated) {
+        return new RateLimiter(annotated.getAnnotation(RateLimit.class), now::get);
+    }
+
+    private static int acquired(RateLimiter limiter, int attempts) {
+        int acquired = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire()) {
+                acquired++;
+            }
+        }
+        return acquired;
+    }
+}
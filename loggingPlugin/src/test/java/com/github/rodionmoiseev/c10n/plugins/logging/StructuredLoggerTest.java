@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n.plugins.logging;
+
+import com.github.rodionmoiseev.c10n.C10N;
+import com.github.rodionmoiseev.c10n.C10NConfigBase;
+import com.github.rodionmoiseev.c10n.C10NKey;
+import com.github.rodionmoiseev.c10n.C10NMessages;
+import com.github.rodionmoiseev.c10n.annotations.DefaultC10NAnnotations;
+import com.github.rodionmoiseev.c10n.annotations.En;
+import com.github.rodionmoiseev.c10n.formatters.NamedArg;
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author rodion
+ */
+public class StructuredLoggerTest {
+    @Rule
+    public TestRule tmpC10N = RuleUtils.tmpC10NConfiguration();
+    @Rule
+    public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @C10NMessages
+    @C10NKey("log")
+    @Logger(name = "structured")
+    public interface StructuredMessages {
+        @En("Failed for {0} ({1})")
+        @C10NKey("failed")
+        @Level(LoggingLevel.WARN)
+        void failed(@NamedArg("user") Object user, @NamedArg("attempt") int attempt, Throwable cause);
+
+        @En("Details")
+        @C10NKey("details")
+        @Level(LoggingLevel.DEBUG)
+        void details();
+
+        @En("Limited {0}")
+        @C10NKey("limited")
+        @RateLimit(value = 1, period = 1, unit = TimeUnit.HOURS, sampleEvery = 3)
+        void limited(@NamedArg("n") int n);
+    }
+
+    @Test
+    public void eventsAreWrittenAsJsonWithKeysAndRawArguments() {
+        configure(true);
+        Exception cause = new Exception("broken");
+
+        C10N.get(StructuredMessages.class).failed("rodion", 3, cause);
+
+        assertThat(written().replaceFirst("\"time\":\\d+", "\"time\":0"),
+                is("{\"time\":0,\"level\":\"WARN\",\"logger\":\"structured\",\"key\":\"log.failed\"," +
+                        "\"message\":\"Failed for rodion (3)\"," +
+                        "\"args\":{\"user\":\"rodion\",\"attempt\":3,\"cause\":\"java.lang.Exception: broken\"}," +
+                        "\"cause\":\"java.lang.Exception: broken\"}\n"));
+    }
+
+    @Test
+    public void messagesAreNotResolvedWhenTheTextIsNotIncluded() {
+        AtomicInteger formatted = new AtomicInteger();
+        Object user = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "rodion";
+            }
+        };
+
+        configure(false);
+        C10N.get(StructuredMessages.class).failed(user, 1, null);
+        assertThat(written().contains("\"message\""), is(false));
+        //formatted for the "user" field only
+        assertThat(formatted.get(), is(1));
+
+        out.reset();
+        configure(true);
+        C10N.get(StructuredMessages.class).failed(user, 1, null);
+        assertThat(written().contains("\"message\":\"Failed for rodion (1)\""), is(true));
+        assertThat(formatted.get(), is(3));
+    }
+
+    @Test
+    public void eventsLoggedWhileEncodingDoNotOverwriteTheOuterEvent() {
+        AtomicInteger formatted = new AtomicInteger();
+        Object user = new Object() {
+            @Override
+            public String toString() {
+                if (formatted.incrementAndGet() == 1) {
+                    C10N.get(StructuredMessages.class).failed("inner", 2, null);
+                }
+                return "outer";
+            }
+        };
+
+        configure(false);
+        C10N.get(StructuredMessages.class).failed(user, 1, null);
+        String[] lines = written().split("\n");
+        assertThat(lines.length, is(2));
+        assertThat(lines[0].contains("\"args\":{\"user\":\"inner\",\"attempt\":2,\"cause\":null}"), is(true));
+        assertThat(lines[1].replaceFirst("\"time\":\\d+", "\"time\":0"),
+                is("{\"time\":0,\"level\":\"WARN\",\"logger\":\"structured\",\"key\":\"log.failed\"," +
+                        "\"args\":{\"user\":\"outer\",\"attempt\":1,\"cause\":null}}"));
+    }
+
+    @Test
+    public void eventsBelowTheThresholdAreNotWritten() {
+        configure(true);
+        C10N.get(StructuredMessages.class).details();
+        assertThat(out.size(), is(0));
+    }
+
+    @Test
+    public void suppressedEventsAreSummarisedInTheirOwnEvent() {
+        configure(false);
+        StructuredMessages msg = C10N.get(StructuredMessages.class);
+        for (int i = 1; i <= 4; i++) {
+            msg.limited(i);
+        }
+        assertThat(written().replaceAll("\"time\":\\d+", "\"time\":0").split("\n"), is(new String[]{
+                "{\"time\":0,\"level\":\"INFO\",\"logger\":\"structured\",\"key\":\"log.limited\",\"args\":{\"n\":1}}",
+                "{\"time\":0,\"level\":\"INFO\",\"logger\":\"structured\",\"key\":\"log.limited\",\"suppressed\":2,\"args\":{}}",
+                "{\"time\":0,\"level\":\"INFO\",\"logger\":\"structured\",\"key\":\"log.limited\",\"args\":{\"n\":4}}"
+        }));
+
+        out.reset();
+        configure(true);
+        msg = C10N.get(StructuredMessages.class);
+        for (int i = 1; i <= 4; i++) {
+            msg.limited(i);
+        }
+        assertThat(written().replaceAll("\"time\":\\d+", "\"time\":0").split("\n")[1],
+                is("{\"time\":0,\"level\":\"INFO\",\"logger\":\"structured\",\"key\":\"log.limited\"," +
+                        "\"message\":\"Suppressed 2 similar messages\",\"suppressed\":2,\"args\":{}}"));
+    }
+
+    @Test
+    public void stringsAreEscapedAndEncodedAsUtf8() {
+        LogEventBuffer buffer = new LogEventBuffer(4);
+        new JsonLogEventEncoder().encode(new LogEvent(1L, "lo\"g", LoggingLevel.INFO, null,
+                new String[]{"text"}, new Object[]{"a\\b\n\u0001 日本 😀"},
+                null, null, 0L), buffer);
+
+        assertThat(new String(buffer.toByteArray(), StandardCharsets.UTF_8),
+                is("{\"time\":1,\"level\":\"INFO\",\"logger\":\"lo\\\"g\"," +
+                        "\"args\":{\"text\":\"a\\\\b\\n\\u0001 日本 😀\"}}\n"));
+    }
+
+    @Test
+    public void theStreamIsOnlyFlushedWhenRequested() {
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream flushCounting = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+        StructuredLogger logger = new StructuredLogger(flushCounting, LoggingLevel.INFO,
+                new JsonLogEventEncoder(), true);
+        logger.log("structured", LoggingLevel.INFO, "one", null, null);
+        assertThat(flushes.get(), is(0));
+
+        logger = new StructuredLogger(flushCounting, LoggingLevel.INFO, new JsonLogEventEncoder(), true, true);
+        logger.log("structured", LoggingLevel.INFO, "two", null, null);
+        assertThat(flushes.get(), is(1));
+        assertThat(flushCounting.size() > 0, is(true));
+    }
+
+    private String written() {
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private void configure(boolean includeMessage) {
+        C10N.configure(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                install(new DefaultC10NAnnotations());
+                installPlugin(new LoggingPlugin(LoggingLevel.INFO,
+                        new StructuredLogger(out, LoggingLevel.INFO, new JsonLogEventEncoder(), includeMessage)));
+            }
+        });
+    }
+}
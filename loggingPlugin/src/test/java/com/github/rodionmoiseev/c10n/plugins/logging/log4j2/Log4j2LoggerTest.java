@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n.plugins.logging.log4j2;
+
+import com.github.rodionmoiseev.c10n.C10N;
+import com.github.rodionmoiseev.c10n.C10NConfigBase;
+import com.github.rodionmoiseev.c10n.C10NMessages;
+import com.github.rodionmoiseev.c10n.annotations.DefaultC10NAnnotations;
+import com.github.rodionmoiseev.c10n.annotations.En;
+import com.github.rodionmoiseev.c10n.plugins.logging.BoundLogger;
+import com.github.rodionmoiseev.c10n.plugins.logging.Level;
+import com.github.rodionmoiseev.c10n.plugins.logging.Logger;
+import com.github.rodionmoiseev.c10n.plugins.logging.LoggingLevel;
+import com.github.rodionmoiseev.c10n.plugins.logging.LoggingPlugin;
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author rodion
+ */
+public class Log4j2LoggerTest {
+    private static final String LOGGER = "log4j2";
+
+    @Rule
+    public TestRule tmpC10N = RuleUtils.tmpC10NConfiguration();
+    @Rule
+    public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
+
+    private final RecordingAppender appender = new RecordingAppender();
+
+    @C10NMessages
+    @Logger(name = LOGGER)
+    public interface Log4j2Messages {
+        @En("Hello {0}")
+        void info(Object user);
+
+        @En("Failed for {0}")
+        @Level(LoggingLevel.ERROR)
+        void error(String user, Throwable cause);
+
+        @En("Debug {0}")
+        @Level(LoggingLevel.DEBUG)
+        void debug(Object value);
+    }
+
+    @Before
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        Configuration config = context.getConfiguration();
+        appender.start();
+        config.addAppender(appender);
+        LoggerConfig loggerConfig = new LoggerConfig(LOGGER, org.apache.logging.log4j.Level.INFO, false);
+        loggerConfig.addAppender(appender, null, null);
+        config.addLogger(LOGGER, loggerConfig);
+        context.updateLoggers();
+
+        C10N.configure(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                install(new DefaultC10NAnnotations());
+                installPlugin(new LoggingPlugin(LoggingLevel.INFO, new Log4j2Logger()));
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        context.getConfiguration().removeLogger(LOGGER);
+        context.updateLoggers();
+        appender.stop();
+    }
+
+    @Test
+    public void messagesAreLoggedWithTheMappedLevelAndCause() {
+        Exception cause = new Exception("intentional");
+
+        Log4j2Messages msg = C10N.get(Log4j2Messages.class);
+        msg.info("rodion");
+        msg.error("rodion", cause);
+
+        assertThat(appender.events.size(), is(2));
+        LogEvent info = appender.events.get(0);
+        assertThat(info.getLoggerName(), is(LOGGER));
+        assertThat(info.getLevel(), is(org.apache.logging.log4j.Level.INFO));
+        assertThat(info.getMessage().getFormattedMessage(), is("Hello rodion"));
+        assertThat(info.getThrown(), is(nullValue()));
+        LogEvent error = appender.events.get(1);
+        assertThat(error.getLevel(), is(org.apache.logging.log4j.Level.ERROR));
+        assertThat(error.getMessage().getFormattedMessage(), is("Failed for rodion"));
+        assertThat(error.getThrown(), is((Throwable) cause));
+    }
+
+    @Test
+    public void messagesAreResolvedOnTheLoggingThread() {
+        AtomicInteger formatted = new AtomicInteger();
+        Object user = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "rodion";
+            }
+        };
+
+        C10N.get(Log4j2Messages.class).info(user);
+        assertThat(appender.events.size(), is(1));
+        assertThat(formatted.get(), is(1));
+
+        LogEvent event = appender.events.get(0);
+        assertThat(event.getMessage().getFormattedMessage(), is("Hello rodion"));
+        assertThat(event.getMessage().getFormattedMessage(), is("Hello rodion"));
+        assertThat(formatted.get(), is(1));
+    }
+
+    @Test
+    public void disabledLevelsAreNotResolvedNorLogged() {
+        AtomicInteger formatted = new AtomicInteger();
+        Object value = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "value";
+            }
+        };
+
+        C10N.get(Log4j2Messages.class).debug(value);
+
+        assertThat(appender.events.size(), is(0));
+        assertThat(formatted.get(), is(0));
+        Log4j2Logger logger = new Log4j2Logger();
+        assertThat(logger.isLoggable(LOGGER, LoggingLevel.DEBUG), is(false));
+        assertThat(logger.isLoggable(LOGGER, LoggingLevel.INFO), is(true));
+    }
+
+    @Test
+    public void boundLoggersLogWithTheBoundNameAndLevel() {
+        Exception cause = new Exception("intentional");
+        BoundLogger warn = new Log4j2Logger().bind(LOGGER, LoggingLevel.WARN);
+        BoundLogger debug = new Log4j2Logger().bind(LOGGER, LoggingLevel.DEBUG);
+        assertThat(warn.isLoggable(), is(true));
+        assertThat(debug.isLoggable(), is(false));
+
+        warn.log("resolved text", cause, null);
+        warn.logSuppressed(3);
+
+        assertThat(appender.events.size(), is(2));
+        assertThat(appender.events.get(0).getLevel(), is(org.apache.logging.log4j.Level.WARN));
+        assertThat(appender.events.get(0).getMessage().getFormattedMessage(), is("resolved text"));
+        assertThat(appender.events.get(0).getThrown(), is((Throwable) cause));
+        assertThat(appender.events.get(1).getMessage().getFormattedMessage(),
+                is("Suppressed 3 similar messages"));
+    }
+
+    private static final class RecordingAppender extends AbstractAppender {
+        final List<LogEvent> events = new CopyOnWriteArrayList<>();
+
+        RecordingAppender() {
+            super("c10n-log4j2-test", null, null, true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            events.add(event.toImmutable());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n.plugins.logging.slf4j;
+
+import com.github.rodionmoiseev.c10n.C10N;
+import com.github.rodionmoiseev.c10n.C10NConfigBase;
+import com.github.rodionmoiseev.c10n.C10NMessages;
+import com.github.rodionmoiseev.c10n.annotations.DefaultC10NAnnotations;
+import com.github.rodionmoiseev.c10n.annotations.En;
+import com.github.rodionmoiseev.c10n.plugins.logging.Level;
+import com.github.rodionmoiseev.c10n.plugins.logging.Logger;
+import com.github.rodionmoiseev.c10n.plugins.logging.LoggingLevel;
+import com.github.rodionmoiseev.c10n.plugins.logging.LoggingPlugin;
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.slf4j.ILoggerFactory;
+
+import java.util.Locale;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author rodion
+ */
+public class Slf4jLoggerTest {
+    @Rule
+    public TestRule tmpC10N = RuleUtils.tmpC10NConfiguration();
+    @Rule
+    public TestRule tmpLocale = RuleUtils.tmpLocale(Locale.ENGLISH);
+
+    private final ILoggerFactory loggerFactory = mock(ILoggerFactory.class);
+    private final org.slf4j.Logger logger = mock(org.slf4j.Logger.class);
+
+    @C10NMessages
+    @Logger(name = "slf4j")
+    public interface Slf4jMessages {
+        @En("Hello {0}")
+        void info(String user);
+
+        @En("Failed for {0}")
+        @Level(LoggingLevel.ERROR)
+        void error(String user, Throwable cause);
+
+        @En("Debug {0}")
+        @Level(LoggingLevel.DEBUG)
+        void debug(Object value);
+    }
+
+    @Before
+    public void setUp() {
+        when(loggerFactory.getLogger("slf4j")).thenReturn(logger);
+        C10N.configure(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                install(new DefaultC10NAnnotations());
+                installPlugin(new LoggingPlugin(LoggingLevel.INFO, new Slf4jLogger(loggerFactory)));
+            }
+        });
+    }
+
+    @Test
+    public void messagesAreLoggedWithTheMappedLevel() {
+        when(logger.isInfoEnabled()).thenReturn(true);
+        when(logger.isErrorEnabled()).thenReturn(true);
+        Exception cause = new Exception("intentional");
+
+        Slf4jMessages msg = C10N.get(Slf4jMessages.class);
+        msg.info("rodion");
+        msg.error("rodion", cause);
+
+        verify(logger).info("Hello rodion", (Throwable) null);
+        verify(logger).error("Failed for rodion", cause);
+    }
+
+    @Test
+    public void loggerIsLookedUpOncePerMethod() {
+        when(logger.isInfoEnabled()).thenReturn(true);
+
+        Slf4jMessages msg = C10N.get(Slf4jMessages.class);
+        msg.info("a");
+        msg.info("b");
+
+        verify(loggerFactory, times(1)).getLogger("slf4j");
+    }
+
+    @Test
+    public void disabledLevelsAreNotFormattedNorLogged() {
+        when(logger.isDebugEnabled()).thenReturn(false);
+
+        Slf4jMessages msg = C10N.get(Slf4jMessages.class);
+        msg.debug("value");
+
+        verify(logger).isDebugEnabled();
+        verifyNoMoreInteractions(logger);
+    }
+}
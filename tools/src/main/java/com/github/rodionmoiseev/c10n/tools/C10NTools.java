@@ -18,6 +18,8 @@ package com.github.rodionmoiseev.c10n.tools;
 
 import com.github.rodionmoiseev.c10n.C10N;
 import com.github.rodionmoiseev.c10n.ConfiguredC10NModule;
+import com.github.rodionmoiseev.c10n.tools.catalog.C10NCatalogCompiler;
+import com.github.rodionmoiseev.c10n.tools.catalog.CatalogModule;
 import com.github.rodionmoiseev.c10n.tools.inspector.C10NInspector;
 import com.github.rodionmoiseev.c10n.tools.inspector.DummyInstanceProvider;
 import com.github.rodionmoiseev.c10n.tools.inspector.InspectorModule;
@@ -79,6 +81,16 @@ public final class C10NTools {
         return new C10NInspectorBuilder();
     }
 
+    /**
+     * <p>Start a new catalog compiler builder
+     *
+     * @return catalog compiler builder instance.
+     * @see C10NCatalogCompiler
+     */
+    public static C10NCatalogCompilerBuilder catalogCompilerBuilder() {
+        return new C10NCatalogCompilerBuilder();
+    }
+
     /**
      * <p>{@link C10NInspector} instance builder
      */
@@ -148,4 +160,62 @@ public final class C10NTools {
                     fetchTranslations);
         }
     }
+
+    /**
+     * <p>{@link C10NCatalogCompiler} instance builder
+     */
+    public static final class C10NCatalogCompilerBuilder {
+        private ConfiguredC10NModule configuredModule = C10N.getRootConfiguredModule();
+        private Set<Locale> locales = null;
+        private DummyInstanceProvider dummyInstanceProvider = InspectorModule.defaultDummyInstanceProvider();
+
+        /**
+         * <p>Specify the C10N module to compile. Defaults to {@link com.github.rodionmoiseev.c10n.C10N#getRootConfiguredModule()}
+         *
+         * @param module c10n module to compile (not null)
+         * @return this builder instance
+         */
+        public C10NCatalogCompilerBuilder module(ConfiguredC10NModule module) {
+            assertNotNull(module, "module");
+            this.configuredModule = module;
+            return this;
+        }
+
+        /**
+         * <p>Specify the list of locales to compile. Defaults to all locales
+         * bound in the module.
+         *
+         * @param locales a list of locales to compile (not null)
+         * @return this builder instance
+         */
+        public C10NCatalogCompilerBuilder locales(Locale... locales) {
+            assertNotNull(locales, "locales");
+            this.locales = Set.of(locales);
+            return this;
+        }
+
+        /**
+         * <p>Specify the provider for dummy instances used to validate
+         * templates of parameterised methods
+         *
+         * @param dummyInstanceProvider provider for dummy instances for parameterised methods (not null)
+         * @return this builder instance
+         */
+        public C10NCatalogCompilerBuilder dummyInstanceProvider(DummyInstanceProvider dummyInstanceProvider) {
+            assertNotNull(dummyInstanceProvider, "dummyInstanceProvider");
+            this.dummyInstanceProvider = dummyInstanceProvider;
+            return this;
+        }
+
+        /**
+         * <p>Create catalog compiler instance based on configured values.
+         *
+         * @return catalog compiler instance (not null)
+         */
+        public C10NCatalogCompiler build() {
+            return CatalogModule.defaultCompiler(dummyInstanceProvider,
+                    configuredModule,
+                    locales != null ? locales : configuredModule.getAllBoundLocales());
+        }
+    }
 }
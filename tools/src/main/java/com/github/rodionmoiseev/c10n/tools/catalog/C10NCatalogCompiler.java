@@ -0,0 +1,44 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.tools.catalog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * <p>Compiles c10n interfaces, their annotations and all bound resource
+ * bundles into a single binary catalog, loadable at runtime with
+ * {@link com.github.rodionmoiseev.c10n.C10NConfigBase#bindCatalog(java.nio.file.Path)}.
+ *
+ * @author rodion
+ * @see com.github.rodionmoiseev.c10n.tools.C10NTools#catalogCompilerBuilder()
+ */
+public interface C10NCatalogCompiler {
+    /**
+     * <p>Resolve and validate all translations of c10n interfaces found
+     * under the given package prefixes, and write them to the catalog file.
+     * Packages are searched recursively.
+     *
+     * @param catalogFile     catalog file to write to (not null)
+     * @param packagePrefixes list of packages to search under
+     * @return number of translations written to the catalog
+     * @throws IOException                   if the catalog file could not be written
+     * @throws C10NCatalogCompilerException if any of the translations failed validation.
+     *                                       Nothing is written in this case.
+     */
+    int compile(Path catalogFile, String... packagePrefixes) throws IOException;
+}
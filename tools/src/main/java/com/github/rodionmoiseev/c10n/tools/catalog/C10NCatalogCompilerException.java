@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.tools.catalog;
+
+import com.github.rodionmoiseev.c10n.C10NException;
+
+import java.util.List;
+
+/**
+ * <p>Thrown when one or more translations could not be compiled into a catalog.
+ *
+ * @author rodion
+ */
+public class C10NCatalogCompilerException extends C10NException {
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> problems;
+
+    C10NCatalogCompilerException(List<String> problems) {
+        super(problems.size() + " problem(s) found while compiling c10n catalog:"
+                + System.lineSeparator() + "  "
+                + String.join(System.lineSeparator() + "  ", problems));
+        this.problems = List.copyOf(problems);
+    }
+
+    /**
+     * <p>All problems detected during compilation
+     *
+     * @return list of problem descriptions (not null)
+     */
+    public List<String> getProblems() {
+        return problems;
+    }
+}
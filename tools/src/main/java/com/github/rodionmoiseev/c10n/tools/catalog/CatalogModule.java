@@ -0,0 +1,35 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.tools.catalog;
+
+import com.github.rodionmoiseev.c10n.ConfiguredC10NModule;
+import com.github.rodionmoiseev.c10n.tools.inspector.DummyInstanceProvider;
+import com.github.rodionmoiseev.c10n.tools.search.SearchModule;
+
+import java.util.Locale;
+import java.util.Set;
+
+public class CatalogModule {
+    public static C10NCatalogCompiler defaultCompiler(DummyInstanceProvider dummyInstanceProvider,
+                                                      ConfiguredC10NModule configuredC10NModule,
+                                                      Set<Locale> locales) {
+        return new DefaultC10NCatalogCompiler(SearchModule.reflectionsSearch(),
+                configuredC10NModule,
+                dummyInstanceProvider,
+                locales);
+    }
+}
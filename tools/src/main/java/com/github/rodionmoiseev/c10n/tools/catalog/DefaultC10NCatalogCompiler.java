@@ -0,0 +1,178 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.tools.catalog;
+
+import com.github.rodionmoiseev.c10n.C10NMessages;
+import com.github.rodionmoiseev.c10n.ConfiguredC10NModule;
+import com.github.rodionmoiseev.c10n.formatters.MessageFormatter;
+import com.github.rodionmoiseev.c10n.share.Constants;
+import com.github.rodionmoiseev.c10n.share.catalog.C10NCatalogWriter;
+import com.github.rodionmoiseev.c10n.share.utils.ReflectionUtils;
+import com.github.rodionmoiseev.c10n.tools.inspector.DummyInstanceProvider;
+import com.github.rodionmoiseev.c10n.tools.search.C10NInterfaceSearch;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.*;
+
+import static com.github.rodionmoiseev.c10n.share.utils.Preconditions.assertNotNull;
+
+/**
+ * <p>Resolves translations the same way the runtime proxy does: bundle values
+ * take precedence over annotation values, and bundle keys are generated using
+ * {@link ReflectionUtils#getC10NKey(String, Method)}.
+ *
+ * <p>Only statically resolvable translations are compiled. Raw annotation values,
+ * as well as <code>extRes</code> and <code>intRes</code> resources (which may
+ * depend on runtime system properties), are left for the runtime to resolve
+ * from annotations.
+ *
+ * @author rodion
+ */
+class DefaultC10NCatalogCompiler implements C10NCatalogCompiler {
+    private final C10NInterfaceSearch c10NInterfaceSearch;
+    private final ConfiguredC10NModule configuredC10NModule;
+    private final DummyInstanceProvider dummyInstanceProvider;
+    private final Set<Locale> locales;
+
+    DefaultC10NCatalogCompiler(C10NInterfaceSearch c10NInterfaceSearch,
+                               ConfiguredC10NModule configuredC10NModule,
+                               DummyInstanceProvider dummyInstanceProvider,
+                               Set<Locale> locales) {
+        this.c10NInterfaceSearch = c10NInterfaceSearch;
+        this.configuredC10NModule = configuredC10NModule;
+        this.dummyInstanceProvider = dummyInstanceProvider;
+        this.locales = locales;
+    }
+
+    @Override
+    public int compile(Path catalogFile, String... packagePrefixes) throws IOException {
+        assertNotNull(catalogFile, "catalogFile");
+        Map<Locale, Map<String, String>> translations = new LinkedHashMap<>();
+        List<String> problems = new ArrayList<>();
+
+        Set<Class<?>> c10nInterfaces = c10NInterfaceSearch.find(C10NMessages.class, packagePrefixes);
+        for (Class<?> c10nInterface : c10nInterfaces) {
+            Map<Class<? extends Annotation>, Set<Locale>> annotationBindings =
+                    configuredC10NModule.getAnnotationBindings(c10nInterface);
+            for (Locale locale : locales) {
+                List<ResourceBundle> bundles = configuredC10NModule.getBundleBindings(c10nInterface, locale);
+                Map<String, String> translationsForLocale =
+                        translations.computeIfAbsent(locale, l -> new TreeMap<>());
+                for (Method method : c10nInterface.getMethods()) {
+                    String key = ReflectionUtils.getC10NKey(configuredC10NModule.getKeyPrefix(), method);
+                    String template = findTemplate(bundles, annotationBindings, c10nInterface, method, key, locale);
+                    if (null == template) {
+                        continue;
+                    }
+                    String problem = validate(c10nInterface, method, template, locale);
+                    if (null != problem) {
+                        problems.add(describe(method, key, locale) + ": " + problem);
+                        continue;
+                    }
+                    String existing = translationsForLocale.putIfAbsent(key, template);
+                    if (null != existing && !existing.equals(template)) {
+                        problems.add(describe(method, key, locale)
+                                + ": conflicting translations for the same key ('"
+                                + existing + "' and '" + template + "')");
+                    }
+                }
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            throw new C10NCatalogCompilerException(problems);
+        }
+
+        C10NCatalogWriter writer = new C10NCatalogWriter();
+        int count = 0;
+        for (Map.Entry<Locale, Map<String, String>> entry : translations.entrySet()) {
+            writer.putAll(entry.getKey(), entry.getValue());
+            count += entry.getValue().size();
+        }
+        writer.write(catalogFile);
+        return count;
+    }
+
+    private static String findTemplate(List<ResourceBundle> bundles,
+                                       Map<Class<? extends Annotation>, Set<Locale>> annotationBindings,
+                                       Class<?> c10nInterface,
+                                       Method method,
+                                       String key,
+                                       Locale locale) {
+        for (ResourceBundle bundle : bundles) {
+            if (bundle.containsKey(key)) {
+                return bundle.getString(key);
+            }
+        }
+        for (Map.Entry<Class<? extends Annotation>, Set<Locale>> entry : annotationBindings.entrySet()) {
+            if (!entry.getValue().contains(locale)) {
+                continue;
+            }
+            Class<? extends Annotation> annotationClass = entry.getKey();
+            Annotation a = method.getAnnotation(annotationClass);
+            if (null == a || extractAnnotationValue(annotationClass, "raw", a, false)) {
+                continue;
+            }
+            String value = String.valueOf(extractAnnotationValue(annotationClass, "value", a, Constants.UNDEF));
+            if (!value.equals(Constants.UNDEF)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Renders the template with dummy arguments through the configured
+     * message formatter, so that malformed templates are reported at
+     * build time rather than on first use.
+     */
+    private String validate(Class<?> c10nInterface, Method method, String template, Locale locale) {
+        Class<?>[] paramTypes = method.getParameterTypes();
+        Object[] args = new Object[paramTypes.length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = dummyInstanceProvider.getInstance(c10nInterface, method, paramTypes[i], i);
+        }
+        MessageFormatter formatter = configuredC10NModule.getMessageFormatter();
+        try {
+            formatter.format(method, template, locale, args);
+            return null;
+        } catch (RuntimeException e) {
+            return "invalid message template '" + template + "' (" + e + ")";
+        }
+    }
+
+    private static String describe(Method method, String key, Locale locale) {
+        return ReflectionUtils.getDefaultKey(method) + " [key='" + key + "', locale='" + locale + "']";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R extractAnnotationValue(Class<? extends Annotation> annotationClass, String method,
+                                                Annotation annotation, R defaultValue) {
+        try {
+            return (R) annotationClass.getMethod(method).invoke(annotation);
+        } catch (InvocationTargetException | NoSuchMethodException e) {
+            return defaultValue;
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to extract value of '" + method + "' from annotation" +
+                    "class " + annotationClass.getCanonicalName(), e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012 Rodion Moiseev (https://github.com/rodionmoiseev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rodionmoiseev.c10n.tools.catalog;
+
+import com.github.rodionmoiseev.c10n.C10N;
+import com.github.rodionmoiseev.c10n.C10NConfigBase;
+import com.github.rodionmoiseev.c10n.tools.C10NTools;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>Command line entry point for the c10n catalog compiler.
+ *
+ * <pre>
+ *  java -cp c10n-tools.jar:&lt;application classpath&gt; \
+ *      com.github.rodionmoiseev.c10n.tools.catalog.Main \
+ *      --config com.example.MyC10NConfig \
+ *      --out build/messages.c10n \
+ *      [--locale en --locale ja_JP ...] \
+ *      com.example.messages [more packages ...]
+ * </pre>
+ *
+ * <p>The configuration class must extend {@link C10NConfigBase} and have a
+ * public no-argument constructor. If no locales are given, all locales bound
+ * in the configuration are compiled.
+ *
+ * @author rodion
+ */
+public final class Main {
+    private Main() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String configClassName = null;
+        Path out = null;
+        List<Locale> locales = new ArrayList<>();
+        List<String> packages = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--config") && i + 1 < args.length) {
+                configClassName = args[++i];
+            } else if (arg.equals("--out") && i + 1 < args.length) {
+                out = Paths.get(args[++i]);
+            } else if (arg.equals("--locale") && i + 1 < args.length) {
+                locales.add(Locale.forLanguageTag(args[++i].replace('_', '-')));
+            } else if (arg.startsWith("--")) {
+                usage("unknown or incomplete option: " + arg);
+                return;
+            } else {
+                packages.add(arg);
+            }
+        }
+        if (null == configClassName || null == out || packages.isEmpty()) {
+            usage("--config, --out and at least one package are required");
+            return;
+        }
+
+        C10NConfigBase conf = (C10NConfigBase) Class.forName(configClassName)
+                .getDeclaredConstructor()
+                .newInstance();
+        C10NTools.C10NCatalogCompilerBuilder builder = C10NTools.catalogCompilerBuilder()
+                .module(C10N.configure(conf));
+        if (!locales.isEmpty()) {
+            builder.locales(locales.toArray(new Locale[0]));
+        }
+        try {
+            int count = builder.build().compile(out, packages.toArray(new String[0]));
+            System.out.println("c10n: compiled " + count + " translation(s) into " + out);
+        } catch (C10NCatalogCompilerException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void usage(String error) {
+        System.err.println("c10n: " + error);
+        System.err.println("usage: " + Main.class.getName()
+                + " --config <config class> --out <catalog file> [--locale <locale>]... <package>...");
+        System.exit(2);
+    }
+}
@@ -17,6 +17,8 @@
 package com.github.rodionmoiseev.c10n.tools.search;
 
 import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
 import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 import org.reflections.util.FilterBuilder;
@@ -31,7 +33,10 @@ import java.util.stream.Stream;
 class DefaultC10NInterfaceSearch implements C10NInterfaceSearch {
     @Override
     public Set<Class<?>> find(Class<? extends Annotation> annotationClass, String... packagePrefixes) {
+        //Object sub-types are kept, otherwise packages containing only
+        //standalone interfaces produce an empty store, and reflections fails
         return new Reflections(new ConfigurationBuilder()
+                .setScanners(new TypeAnnotationsScanner(), new SubTypesScanner(false))
                 .filterInputsBy(getPackageInputFilter(packagePrefixes))
                 .setUrls(getPackageURLs(packagePrefixes)))
                 .getTypesAnnotatedWith(annotationClass);
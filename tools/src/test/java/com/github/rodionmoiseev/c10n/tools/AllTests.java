@@ -28,6 +28,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
         com.github.rodionmoiseev.c10n.AllTests.class,
+        com.github.rodionmoiseev.c10n.tools.catalog.AllTests.class,
         com.github.rodionmoiseev.c10n.tools.inspector.AllTests.class,
         com.github.rodionmoiseev.c10n.tools.search.AllTests.class,
         C10NToolsTest.class
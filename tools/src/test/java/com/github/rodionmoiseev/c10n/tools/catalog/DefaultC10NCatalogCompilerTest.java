@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package com.github.rodionmoiseev.c10n.tools.catalog;
+
+import com.github.rodionmoiseev.c10n.C10N;
+import com.github.rodionmoiseev.c10n.C10NConfigBase;
+import com.github.rodionmoiseev.c10n.C10NMsgFactory;
+import com.github.rodionmoiseev.c10n.annotations.DefaultC10NAnnotations;
+import com.github.rodionmoiseev.c10n.share.catalog.C10NCatalog;
+import com.github.rodionmoiseev.c10n.test.utils.RuleUtils;
+import com.github.rodionmoiseev.c10n.tools.C10NTools;
+import com.github.rodionmoiseev.c10n.tools.catalog.test1.Messages;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author rodion
+ */
+public class DefaultC10NCatalogCompilerTest {
+    @Rule
+    public TestRule tmpC10N = RuleUtils.tmpC10NConfiguration();
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static final String test1 = "com.github.rodionmoiseev.c10n.tools.catalog.test1";
+    private static final String test2 = "com.github.rodionmoiseev.c10n.tools.catalog.test2";
+
+    @Test
+    public void bundleValuesTakePrecedenceOverAnnotations() throws Exception {
+        Path file = compile(test1);
+        C10NCatalog catalog = C10NCatalog.open(file);
+        assertThat(catalog.get("bundled", Locale.ENGLISH), is("[en]bundle"));
+        assertThat(catalog.get("bundled", Locale.JAPANESE), is("[ja]bundle"));
+    }
+
+    @Test
+    public void annotationValuesAreStoredUnderGeneratedKeys() throws Exception {
+        Path file = compile(test1);
+        String key = Messages.class.getName() + ".greeting_String";
+        C10NCatalog catalog = C10NCatalog.open(file);
+        assertThat(catalog.get(key, Locale.ENGLISH), is("Hello, {0}!"));
+        assertThat(catalog.get(key, Locale.JAPANESE), is("こんにちは、{0}!"));
+    }
+
+    @Test
+    public void rawAnnotationValuesAreLeftToRuntime() throws Exception {
+        Path file = compile(test1);
+        C10NCatalog catalog = C10NCatalog.open(file);
+        assertThat(catalog.get(Messages.class.getName() + ".raw", Locale.ENGLISH), is(nullValue()));
+    }
+
+    @Test
+    public void compiledCatalogTranslatesTheSameAsAnnotations() throws Exception {
+        final Path file = compile(test1);
+        C10NMsgFactory factory = C10N.createMsgFactory(new C10NConfigBase() {
+            @Override
+            protected void configure() {
+                bindCatalog(file);
+            }
+        });
+        Messages en = factory.get(Messages.class, Locale.ENGLISH);
+        assertThat(en.greeting("c10n"), is("Hello, c10n!"));
+        assertThat(en.bundled(), is("[en]bundle"));
+        assertThat(factory.get(Messages.class, Locale.JAPANESE).greeting("c10n"), is("こんにちは、c10n!"));
+    }
+
+    @Test
+    public void invalidTemplatesAreReportedAndNothingIsWritten() throws Exception {
+        Path file = tmp.getRoot().toPath().resolve("broken.c10n");
+        try {
+            compiler().compile(file, test2);
+            fail("compilation should have failed");
+        } catch (C10NCatalogCompilerException e) {
+            assertThat(e.getProblems().size(), is(1));
+            assertThat(e.getProblems().get(0), containsString("Unclosed {0"));
+        }
+        assertThat(Files.exists(file), is(false));
+    }
+
+    private Path compile(String packagePrefix) throws Exception {
+        Path file = tmp.getRoot().toPath().resolve("messages.c10n");
+        int count = compiler().compile(file, packagePrefix);
+        assertThat(count, is(4));
+        return file;
+    }
+
+    private static C10NCatalogCompiler compiler() {
+        return C10NTools.catalogCompilerBuilder()
+                .module(C10N.configure(new C10NConfigBase() {
+                    @Override
+                    protected void configure() {
+                        install(new DefaultC10NAnnotations());
+                        bindBundle("com.github.rodionmoiseev.c10n.tools.catalog.test1.Catalog");
+                    }
+                }))
+                .locales(Locale.ENGLISH, Locale.JAPANESE)
+                .build();
+    }
+}